@@ -0,0 +1,250 @@
+package store.buzzbook.authserver.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * stateless access token 모드에서 로그아웃되거나 재발급으로 폐기된 세션 uuid 를 메모리에 보관합니다.
+ * access token 은 Redis 조회 없이 Claims 만으로 응답하므로, 만료 전에 폐기된 토큰은 여기서만 걸러집니다.
+ *
+ * <p>폐기된 uuid 는 만료 시각별 구간으로 나눈 {@link TimeBucketedBloomFilter} 에 담아 폐기 수와 관계없이 메모리를 고정합니다.
+ * 대부분의 토큰은 filter 가 없다고 답하여 Redis 없이 통과하고, 있다고 답한 토큰만
+ * {@link SessionInvalidationPublisher} 가 기록해 두는 Redis sorted set 에서 실제로 폐기됐는지 확인합니다.
+ * 확인 결과는 잠시 보관하여 잘못된 양성인 토큰이 매번 Redis 를 거치지 않도록 합니다.
+ * WebFlux 에서는 {@link #isRevokedReactive} 로 Redis 확인을 event loop 밖에서 수행합니다.
+ *
+ * <p>다른 노드의 폐기는 {@link SessionInvalidationListener} 를 통해 바로 전달받고, 놓친 메시지는
+ * sync-interval 마다 sorted set 에서 마지막으로 읽은 이후의 항목만 읽어 채웁니다.
+ * 재시작한 노드는 아직 유효한 항목을 모두 읽어옵니다. 각 항목은 access token 의 최대 수명(retention)이 지나면 제거됩니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Component
+public class RevokedSessionRegistry {
+    public static final String REVOKED_KEY = "auth:session:revoked";
+
+    private static final byte[] REVOKED_KEY_BYTES = REVOKED_KEY.getBytes(StandardCharsets.UTF_8);
+    // 노드 간 시계 차이로 늦게 기록된 점수의 항목을 놓치지 않도록 마지막으로 읽은 점수보다 앞에서부터 읽음
+    private static final long SYNC_OVERLAP_MILLIS = 5_000;
+    private static final int CONFIRMED_MAXIMUM_SIZE = 10_000;
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final boolean enabled;
+    private final long retentionMillis;
+    private final Duration syncInterval;
+    private final TimeBucketedBloomFilter filter;
+    // filter 가 있다고 답한 uuid 를 확인한 결과, 이 노드에서 폐기한 uuid 는 Redis 에 기록되기 전에도 폐기로 답하도록 바로 넣음
+    private final Cache<UUID, Boolean> confirmed;
+    private volatile long syncedScore;
+    private ScheduledExecutorService scheduler;
+
+    public RevokedSessionRegistry(RedisConnectionFactory redisConnectionFactory,
+                                  @Value("${auth.access-token.revocation-filter.enabled:"
+                                          + "${auth.access-token.stateless:false}}") boolean enabled,
+                                  @Value("${auth.access-token.revocation-retention:30m}") Duration retention,
+                                  @Value("${auth.access-token.revocation-filter.buckets:6}") int buckets,
+                                  @Value("${auth.access-token.revocation-filter.expected-per-bucket:10000}")
+                                  long expectedPerBucket,
+                                  @Value("${auth.access-token.revocation-filter.fpp:0.01}") double fpp,
+                                  @Value("${auth.access-token.revocation-filter.sync-interval:10s}")
+                                  Duration syncInterval) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.enabled = enabled;
+        this.retentionMillis = retention.toMillis();
+        this.syncInterval = syncInterval;
+        this.filter = new TimeBucketedBloomFilter(retention, buckets, expectedPerBucket, fpp);
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(CONFIRMED_MAXIMUM_SIZE)
+                .expireAfterWrite(Duration.ofMillis(filter.bucketMillis()))
+                .build();
+    }
+
+    /**
+     * 재시작 전에 폐기된 세션 중 아직 access token 이 살아있을 수 있는 항목을 Redis 에서 읽어오고 주기적인 동기화 시작
+     */
+    @PostConstruct
+    void bootstrap() {
+        if (!enabled) {
+            return;
+        }
+        syncedScore = System.currentTimeMillis();
+        log.info("폐기된 세션 {}건을 불러왔습니다.", sync(syncedScore));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revoked-session-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, syncInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(() -> sync(syncedScore - SYNC_OVERLAP_MILLIS), intervalMillis,
+                intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 이 노드에서 세션을 폐기된 것으로 표시
+     */
+    public void revoke(String uuid) {
+        if (!enabled || uuid == null) {
+            return;
+        }
+        UUID key = parse(uuid);
+        if (key != null) {
+            long now = System.currentTimeMillis();
+            filter.put(key, now + retentionMillis, now);
+            confirmed.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * filter 가 없다고 답하면 Redis 없이 false, 있다고 답하면 Redis 에서 확인
+     */
+    public boolean isRevoked(String uuid) {
+        UUID key = candidate(uuid);
+        if (key == null) {
+            return false;
+        }
+        Boolean revoked = confirmed.getIfPresent(key);
+        return revoked != null ? revoked : confirmAndCache(key, uuid);
+    }
+
+    /**
+     * {@link #isRevoked} 의 논블로킹 버전, Redis 에서 확인해야 할 때만 boundedElastic 스레드에서 확인
+     */
+    public Mono<Boolean> isRevokedReactive(String uuid) {
+        UUID key = candidate(uuid);
+        if (key == null) {
+            return Mono.just(false);
+        }
+        Boolean revoked = confirmed.getIfPresent(key);
+        if (revoked != null) {
+            return Mono.just(revoked);
+        }
+        return Mono.fromCallable(() -> confirmAndCache(key, uuid)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * filter 가 있다고 답한 uuid, 폐기되지 않은 것이 확실하면 null
+     */
+    private UUID candidate(String uuid) {
+        if (!enabled || uuid == null) {
+            return null;
+        }
+        UUID key = parse(uuid);
+        return key != null && filter.mightContain(key, System.currentTimeMillis()) ? key : null;
+    }
+
+    private boolean confirmAndCache(UUID key, String uuid) {
+        Boolean revoked = confirm(uuid);
+        if (revoked != null) {
+            confirmed.put(key, revoked);
+        }
+        // Redis 에서 확인하지 못하면 폐기된 것으로 처리
+        return revoked == null || revoked;
+    }
+
+    /**
+     * 재시작한 노드가 읽어갈 수 있도록 폐기된 세션을 Redis 에 기록하고 오래된 항목은 정리
+     * 발행 스레드에서 무효화 메시지를 보낼 때 같은 커넥션으로 호출됩니다.
+     */
+    void persist(RedisConnection connection, List<String> uuids) {
+        if (!enabled || uuids.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        double expiresAt = now + retentionMillis;
+        Set<Tuple> tuples = new LinkedHashSet<>(uuids.size());
+        for (String uuid : uuids) {
+            tuples.add(new DefaultTuple(uuid.getBytes(StandardCharsets.UTF_8), expiresAt));
+        }
+        connection.zSetCommands().zAdd(REVOKED_KEY_BYTES, tuples);
+        connection.zSetCommands().zRemRangeByScore(REVOKED_KEY_BYTES, Range.closed(0d, (double) now));
+    }
+
+    /**
+     * sorted set 에서 만료 시각이 from 이후인 항목을 읽어 filter 에 추가하고 읽은 수를 반환
+     */
+    int sync(long from) {
+        long now = System.currentTimeMillis();
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            Set<Tuple> entries = connection.zSetCommands()
+                    .zRangeByScoreWithScores(REVOKED_KEY_BYTES, Range.closed((double) Math.max(from, now),
+                            Double.MAX_VALUE));
+            if (entries == null) {
+                return 0;
+            }
+            long maxScore = syncedScore;
+            for (Tuple entry : entries) {
+                UUID key = parse(new String(entry.getValue(), StandardCharsets.UTF_8));
+                long expiresAt = entry.getScore().longValue();
+                if (key != null) {
+                    filter.put(key, expiresAt, now);
+                    // 잘못된 양성으로 확인해 둔 uuid 가 그 뒤에 폐기됐으면 다시 확인하도록 제거
+                    confirmed.asMap().remove(key, Boolean.FALSE);
+                }
+                maxScore = Math.max(maxScore, expiresAt);
+            }
+            syncedScore = maxScore;
+            return entries.size();
+        } catch (Exception e) {
+            log.warn("폐기된 세션 목록을 불러오지 못했습니다.", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Redis 에 아직 유효한 폐기 기록이 있는지 확인, 확인하지 못하면 null
+     */
+    private Boolean confirm(String uuid) {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            Double expiresAt = connection.zSetCommands()
+                    .zScore(REVOKED_KEY_BYTES, uuid.getBytes(StandardCharsets.UTF_8));
+            return expiresAt != null && expiresAt > System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("세션 폐기 여부를 확인하지 못했습니다. {}", uuid, e);
+            return null;
+        }
+    }
+
+    private UUID parse(String uuid) {
+        try {
+            return UUID.fromString(uuid);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package store.buzzbook.authserver.cache;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.redis.SessionShards;
+
+/**
+ * 다른 노드가 발행한 세션 삭제 메시지를 받아 로컬 캐시에서 제거하고 폐기된 세션으로 기록합니다.
+ * 복제본에는 삭제가 아직 반영되지 않았을 수 있으므로 해당 세션은 잠시 primary 에서 읽도록 표시합니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionInvalidationListener implements MessageListener {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final SessionShards sessionShards;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String uuid : body.split(SessionInvalidationPublisher.DELIMITER)) {
+            if (!uuid.isEmpty()) {
+                verifiedTokenCache.evictSession(uuid);
+                revokedSessionRegistry.revoke(uuid);
+                sessionShards.forKey(uuid).written(uuid);
+            }
+        }
+        log.debug("세션 무효화 메시지 수신 {}", body);
+    }
+}
@@ -0,0 +1,124 @@
+package store.buzzbook.authserver.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 삭제된 세션 uuid 를 Redis 채널로 모아서 발행합니다.
+ * 다른 노드들은 {@link SessionInvalidationListener} 로 구독하여 로컬 캐시에서 해당 세션을 제거합니다.
+ * 발행은 flush-interval 마다 또는 batch-size 만큼 쌓였을 때 한 번에 이루어지므로,
+ * 다른 노드의 캐시가 오래된 값을 보여줄 수 있는 시간은 flush-interval 로 제한됩니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Component
+public class SessionInvalidationPublisher {
+    public static final String CHANNEL = "auth:session:invalidation";
+    public static final String DELIMITER = ",";
+
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+
+    public SessionInvalidationPublisher(RedisConnectionFactory redisConnectionFactory,
+                                        RevokedSessionRegistry revokedSessionRegistry,
+                                        @Value("${auth.invalidation.enabled:true}") boolean enabled,
+                                        @Value("${auth.invalidation.batch-size:100}") int batchSize,
+                                        @Value("${auth.invalidation.flush-interval:50ms}") Duration flushInterval) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.revokedSessionRegistry = revokedSessionRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            flush();
+        }
+    }
+
+    /**
+     * 세션 삭제를 이 노드의 폐기 목록에 바로 반영하고, 다른 노드에 알리도록 발행 대기열에 추가
+     */
+    public void publish(String uuid) {
+        revokedSessionRegistry.revoke(uuid);
+        if (!enabled || uuid == null) {
+            return;
+        }
+        pending.add(uuid);
+        int count = pendingCount.incrementAndGet();
+        // 종료 중에는 scheduler 가 더 이상 작업을 받지 않으므로 호출한 스레드에서 바로 발행
+        if (scheduler == null || scheduler.isShutdown()) {
+            flush();
+        } else if (count >= batchSize) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * 대기열에 쌓인 uuid 를 batch-size 단위로 묶어 발행
+     */
+    synchronized void flush() {
+        while (!pending.isEmpty()) {
+            List<String> batch = new ArrayList<>(Math.min(batchSize, pendingCount.get()));
+            String uuid;
+            while (batch.size() < batchSize && (uuid = pending.poll()) != null) {
+                batch.add(uuid);
+            }
+            pendingCount.addAndGet(-batch.size());
+            send(batch);
+        }
+    }
+
+    private void send(List<String> batch) {
+        byte[] message = String.join(DELIMITER, batch).getBytes(StandardCharsets.UTF_8);
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            revokedSessionRegistry.persist(connection, batch);
+            connection.publish(CHANNEL_BYTES, message);
+        } catch (Exception e) {
+            log.error("세션 무효화 메시지 발행 실패 {}건", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package store.buzzbook.authserver.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 만료 시각이 있는 UUID 를 담는 Bloom filter 입니다.
+ * 만료 시각을 bucket 길이 단위의 구간으로 나누어 구간마다 Bloom filter 를 두고, 구간이 지나면 통째로 비워 재사용합니다.
+ * 항목을 하나씩 지우지 않아도 retention 이 지나면 사라지므로 메모리가 폐기된 수와 관계없이 고정됩니다.
+ *
+ * <p>없다고 답하면 확실히 없고, 있다고 답하면 잘못된 양성일 수 있으므로 호출하는 쪽에서 확인해야 합니다.
+ * 항목은 만료 시각이 속한 구간이 끝날 때까지 남으므로 bucket 길이만큼 늦게 사라질 수 있습니다.
+ *
+ * @author 김성호
+ */
+final class TimeBucketedBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final long bits;
+    private final int hashes;
+
+    /**
+     * @param retention         항목이 유지되어야 하는 최대 시간
+     * @param bucketCount       구간 수, retention 을 bucketCount - 1 개로 나눈 길이가 구간 하나의 길이
+     * @param expectedPerBucket 구간 하나에 들어올 것으로 예상하는 항목 수
+     * @param fpp               예상 항목 수일 때의 잘못된 양성 비율
+     */
+    TimeBucketedBloomFilter(Duration retention, int bucketCount, long expectedPerBucket, double fpp) {
+        if (bucketCount < 2) {
+            throw new IllegalArgumentException("bucketCount 는 2 이상이어야 합니다.");
+        }
+        long n = Math.max(1, expectedPerBucket);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (LN2 * LN2));
+        this.bucketMillis = Math.max(1, ceilDiv(retention.toMillis(), bucketCount - 1));
+        this.bits = ceilDiv(Math.max(64, m), 64) * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket((int) (bits / 64));
+        }
+    }
+
+    /**
+     * expiresAt 까지 유지할 항목 추가, 이미 만료됐으면 무시
+     * retention 보다 먼 만료 시각은 가장 늦은 구간에 넣음
+     */
+    void put(UUID id, long expiresAt, long now) {
+        long current = now / bucketMillis;
+        long slot = expiresAt / bucketMillis;
+        if (slot < current) {
+            return;
+        }
+        slot = Math.min(slot, current + buckets.length - 1);
+        Bucket bucket = buckets[(int) Math.floorMod(slot, (long) buckets.length)];
+        if (bucket.slot != slot) {
+            bucket.roll(slot);
+        }
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits() ^ h1);
+        for (int i = 0; i < hashes; i++) {
+            bucket.set(index(h1, h2, i));
+        }
+    }
+
+    boolean mightContain(UUID id, long now) {
+        long current = now / bucketMillis;
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits() ^ h1);
+        for (Bucket bucket : buckets) {
+            long slot = bucket.slot;
+            if (slot >= current && slot < current + buckets.length && bucket.containsAll(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    private long index(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+    }
+
+    /**
+     * MurmurHash3 의 64비트 finalizer
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return (x + y - 1) / y;
+    }
+
+    private final class Bucket {
+        private final AtomicLongArray words;
+        private volatile long slot = Long.MIN_VALUE;
+
+        Bucket(int words) {
+            this.words = new AtomicLongArray(words);
+        }
+
+        /**
+         * 지난 구간의 항목을 비우고 새 구간으로 사용, 다른 스레드가 먼저 바꿨으면 그대로 둠
+         */
+        synchronized void roll(long newSlot) {
+            if (slot >= newSlot) {
+                return;
+            }
+            for (int i = 0; i < words.length(); i++) {
+                words.set(i, 0);
+            }
+            slot = newSlot;
+        }
+
+        void set(long index) {
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long value;
+            while (((value = words.get(word)) & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        boolean containsAll(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long index = index(h1, h2, i);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package store.buzzbook.authserver.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.dto.SessionRecord;
+
+/**
+ * 서명 검증이 끝난 access token 과 그 세션을 보관하는 로컬 캐시입니다.
+ * 토큰 원문 대신 SHA-256 digest 를 키로 사용하고, 토큰의 exp 와 설정된 TTL 중 먼저 도래하는 시점에 만료됩니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "verifiedToken";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Cache<String, Entry> cache;
+    // 세션 uuid 로 캐시 키를 찾기 위한 역색인 (로그아웃 시 evict 용)
+    private final Map<String, String> digestsBySession = new ConcurrentHashMap<>();
+    private final Counter invalidationCounter;
+
+    public VerifiedTokenCache(@Value("${auth.token-cache.enabled:true}") boolean enabled,
+                              @Value("${auth.token-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${auth.token-cache.ttl:60s}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .removalListener((String digest, Entry entry, RemovalCause cause) -> {
+                    if (entry != null && cause != RemovalCause.REPLACED) {
+                        digestsBySession.remove(entry.uuid(), digest);
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("auth.token.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("검증된 토큰 캐시 적중률")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("auth.token.cache.invalidations")
+                .description("로그아웃 등으로 세션이 삭제되어 캐시에서 제거된 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 보관된 세션을 반환, 없으면 null
+     */
+    public SessionRecord get(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(digest(token));
+        return entry == null ? null : entry.session();
+    }
+
+    /**
+     * 서명 검증이 끝난 토큰과 세션을 캐시에 저장, 이미 만료된 토큰은 저장하지 않음
+     */
+    public void put(String token, String uuid, Date expiration, SessionRecord session) {
+        if (!enabled || token == null || uuid == null || expiration == null || session == null) {
+            return;
+        }
+        long expiresAtMillis = expiration.getTime();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        String digest = digest(token);
+        digestsBySession.put(uuid, digest);
+        cache.put(digest, new Entry(uuid, session, expiresAtMillis));
+    }
+
+    /**
+     * 세션 uuid 에 해당하는 캐시 항목 제거
+     */
+    public void evictSession(String uuid) {
+        if (!enabled || uuid == null) {
+            return;
+        }
+        String digest = digestsBySession.remove(uuid);
+        if (digest != null) {
+            cache.invalidate(digest);
+            invalidationCounter.increment();
+            log.debug("세션 {} 의 토큰 캐시를 제거했습니다.", uuid);
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private record Entry(String uuid, SessionRecord session, long expiresAtMillis) {
+    }
+
+    private class EntryExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long untilTokenExpires = TimeUnit.MILLISECONDS.toNanos(entry.expiresAtMillis() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilTokenExpires));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package store.buzzbook.authserver.client;
+
+/**
+ * 휴면 해제 코드의 Dooray 전송 상태입니다.
+ *
+ * @author 김성호
+ */
+public enum DeliveryStatus {
+    QUEUED,
+    RETRYING,
+    SENT,
+    FAILED
+}
@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import store.buzzbook.authserver.dto.DoorayMessagePayload;
 
-@FeignClient(name = "doorayClient", url = "https://hook.dooray.com/services/3204376758577275363/3844281503041287963/rhI2AlZaT-SjIHz-Zu-BiQ")
+@FeignClient(name = "doorayClient", url = "${auth.dooray.url}")
 public interface DoorayClient {
 	@PostMapping
 	ResponseEntity<String> sendMessage(@RequestBody DoorayMessagePayload messagePayload);
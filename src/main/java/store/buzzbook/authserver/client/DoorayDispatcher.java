@@ -0,0 +1,539 @@
+package store.buzzbook.authserver.client;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.RedisStreamCommands.XPendingOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoConsumer;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.dto.DoorayMessagePayload;
+import store.buzzbook.authserver.redis.SessionShards;
+import store.buzzbook.authserver.service.RedisService;
+
+/**
+ * 휴면 해제 코드를 Redis Stream outbox 를 거쳐 요청 스레드 밖에서 Dooray 로 전송합니다.
+ * 토큰 해시 저장과 outbox 기록을 스크립트 하나로 처리하므로, 토큰을 만든 직후 프로세스가 죽어도
+ * 다른 노드가 같은 consumer group 으로 이어받아 전송합니다. (at-least-once)
+ *
+ * <ul>
+ *     <li>worker 마다 consumer 하나로 XREADGROUP 하여 batch 단위로 전송하고, 성공하면 XACK 후 XDEL</li>
+ *     <li>실패한 항목은 ack 하지 않고 두었다가 backoff 가 지나면 reclaim 이 XCLAIM 으로 가져가 재시도,
+ *     전달 횟수가 max-attempts 에 이르면 실패로 처리</li>
+ *     <li>다른 노드의 consumer 가 claim-idle 이상 붙잡고 있는 항목은 죽은 consumer 의 것으로 보고 가져옴</li>
+ *     <li>재시도할 수 있는 실패가 연속으로 쌓이면 회로를 열어 open-duration 동안 새 토큰을 받지 않고 전송도 멈춤,
+ *     이후 한 건을 시험 삼아 보내 성공하면 다시 닫음, 회로 때문에 보내지 못한 항목은 시도 횟수에 넣지 않음</li>
+ * </ul>
+ *
+ * <p>outbox 에는 토큰 해시 키만 기록하고 코드는 전송할 때 토큰 해시에서 읽으므로,
+ * 이미 만료되거나 사용된 토큰은 보내지 않고 정리합니다.
+ * 토큰별 전송 상태는 토큰 해시의 {@link RedisService#DORMANT_DELIVERY_KEY} 필드에 기록합니다.
+ *
+ * <p>휴면 토큰 해시를 여러 shard 에 나누어 두면 outbox 도 토큰 해시와 같은 shard 에 두어 한 스크립트로 기록하고,
+ * shard 마다 같은 수의 worker 와 reclaim 을 돌립니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Component
+public class DoorayDispatcher {
+    public static final String STREAM = "auth:dooray:outbox";
+    public static final String GROUP = "auth-api";
+    public static final String TOKEN_FIELD = "token";
+
+    private static final byte[] STREAM_BYTES = STREAM.getBytes(StandardCharsets.UTF_8);
+    private static final String BOT_ICON_IMAGE = "/static/images/buzz bee.png";
+    private static final int RECLAIM_BATCH = 100;
+
+    private final DoorayClient doorayClient;
+    private final SessionShards sessionShards;
+    private final List<Outbox> outboxes;
+    private final RedisScript<Long> createDormantTokenScript;
+    private final RedisScript<Long> recordDeliveryScript;
+    private final String consumerPrefix;
+    private final int workers;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration pollTimeout;
+    private final Duration reclaimInterval;
+    private final Duration claimIdle;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Timer sentTimer;
+    private final Timer clientErrorTimer;
+    private final Timer serverErrorTimer;
+    private final Timer errorTimer;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long openUntil;
+    private volatile boolean running;
+    private ExecutorService pollers;
+    private ScheduledExecutorService reclaimer;
+
+    public DoorayDispatcher(DoorayClient doorayClient,
+                            SessionShards sessionShards,
+                            @Qualifier("createDormantTokenScript") RedisScript<Long> createDormantTokenScript,
+                            @Qualifier("recordDeliveryScript") RedisScript<Long> recordDeliveryScript,
+                            @Value("${auth.dooray.consumer-name:}") String consumerName,
+                            @Value("${auth.dooray.workers:2}") int workers,
+                            @Value("${auth.dooray.batch-size:10}") int batchSize,
+                            @Value("${auth.dooray.queue-capacity:1000}") int queueCapacity,
+                            @Value("${auth.dooray.max-attempts:3}") int maxAttempts,
+                            @Value("${auth.dooray.backoff:500ms}") Duration backoff,
+                            @Value("${auth.dooray.max-backoff:5s}") Duration maxBackoff,
+                            @Value("${auth.dooray.poll-timeout:1s}") Duration pollTimeout,
+                            @Value("${auth.dooray.reclaim-interval:1s}") Duration reclaimInterval,
+                            @Value("${auth.dooray.claim-idle:60s}") Duration claimIdle,
+                            @Value("${auth.dooray.breaker.failure-threshold:5}") int failureThreshold,
+                            @Value("${auth.dooray.breaker.open-duration:30s}") Duration openDuration,
+                            MeterRegistry meterRegistry) {
+        this.doorayClient = doorayClient;
+        this.sessionShards = sessionShards;
+        this.outboxes = sessionShards.all().stream().map(shard -> new Outbox(shard.primary())).toList();
+        this.createDormantTokenScript = createDormantTokenScript;
+        this.recordDeliveryScript = recordDeliveryScript;
+        // 재시작한 노드가 이전 consumer 의 항목을 자기 것으로 오인하지 않도록 실행마다 다른 이름 사용
+        this.consumerPrefix = (consumerName.isEmpty() ? hostName() : consumerName) + ":"
+                + UUID.randomUUID().toString().substring(0, 8);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.pollTimeout = pollTimeout;
+        this.reclaimInterval = reclaimInterval;
+        this.claimIdle = claimIdle;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.sentTimer = sendTimer(meterRegistry, "2xx");
+        this.clientErrorTimer = sendTimer(meterRegistry, "4xx");
+        this.serverErrorTimer = sendTimer(meterRegistry, "5xx");
+        this.errorTimer = sendTimer(meterRegistry, "error");
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.dooray.send")
+                .description("Dooray 메시지 전송 소요 시간, 응답이 없으면 error")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        outboxes.forEach(this::createGroup);
+        running = true;
+        AtomicInteger sequence = new AtomicInteger();
+        pollers = Executors.newFixedThreadPool(workers * outboxes.size(), runnable -> {
+            Thread thread = new Thread(runnable, "dooray-dispatcher-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // consumer group 은 shard 의 stream 마다 따로이므로 shard 마다 같은 consumer 이름을 사용
+        for (Outbox outbox : outboxes) {
+            for (int i = 0; i < workers; i++) {
+                Consumer consumer = Consumer.from(GROUP, consumerPrefix + "-" + i);
+                pollers.execute(() -> poll(outbox, consumer));
+            }
+        }
+        reclaimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dooray-dispatcher-reclaim");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, reclaimInterval.toMillis());
+        reclaimer.scheduleWithFixedDelay(this::reclaim, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        // 처리 중이던 항목은 ack 하지 않았으므로 다른 노드가 claim-idle 후 이어받음
+        running = false;
+        reclaimer.shutdownNow();
+        pollers.shutdown();
+        try {
+            if (!pollers.awaitTermination(pollTimeout.toMillis() + 5000, TimeUnit.MILLISECONDS)) {
+                pollers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pollers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 토큰 해시 저장과 outbox 기록을 한 번에 수행, 회로가 열려 있거나 outbox 가 가득 차면 아무것도 저장하지 않음
+     *
+     * @return 저장했으면 true
+     */
+    @SuppressWarnings("unchecked")
+    public boolean dispatch(String token, Map<String, Object> fields, long ttlSeconds) {
+        if (isOpen()) {
+            log.warn("Dooray 회로가 열려 있어 전송 요청을 거절합니다. {}", token);
+            return false;
+        }
+        RedisTemplate<String, Object> redisTemplate = sessionShards.primary(token);
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getHashKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        List<byte[]> args = new ArrayList<>(3 + fields.size() * 2);
+        args.add(utf8(String.valueOf(ttlSeconds)));
+        args.add(utf8(String.valueOf(queueCapacity)));
+        args.add(utf8(TOKEN_FIELD));
+        fields.forEach((field, value) -> {
+            args.add(keySerializer.serialize(field));
+            args.add(valueSerializer.serialize(value));
+        });
+        Long created = redisTemplate.execute(createDormantTokenScript, RedisSerializer.byteArray(), null,
+                List.of(token, STREAM), args.toArray());
+        if (created == null || created == 0) {
+            log.warn("Dooray outbox 가 가득 찼습니다. {}", token);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 연속 실패로 회로가 열려 있는지 여부
+     */
+    public boolean isOpen() {
+        return consecutiveFailures.get() >= failureThreshold && System.currentTimeMillis() < openUntil;
+    }
+
+    private void poll(Outbox outbox, Consumer consumer) {
+        StreamReadOptions options = StreamReadOptions.empty().count(batchSize).block(pollTimeout);
+        while (running) {
+            try {
+                if (isOpen()) {
+                    Thread.sleep(Math.max(1, Math.min(pollTimeout.toMillis(), openUntil - System.currentTimeMillis())));
+                    continue;
+                }
+                List<ByteRecord> records = outbox.redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                        connection.streamCommands().xReadGroup(consumer, options,
+                                StreamOffset.create(STREAM_BYTES, ReadOffset.lastConsumed())));
+                if (records != null) {
+                    records.forEach(record -> process(outbox, record, 1));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Dooray outbox 읽기 실패 {}", consumer.getName(), e);
+                sleepQuietly(pollTimeout);
+            }
+        }
+    }
+
+    /**
+     * backoff 가 지난 이 노드의 실패 항목과 claim-idle 이 지난 그 밖의 항목을 가져와 다시 처리
+     */
+    void reclaim() {
+        outboxes.forEach(this::reclaim);
+    }
+
+    private void reclaim(Outbox outbox) {
+        if (isOpen()) {
+            return;
+        }
+        try {
+            PendingMessages pending = outbox.redisTemplate.execute((RedisCallback<PendingMessages>) connection ->
+                    connection.streamCommands().xPending(STREAM_BYTES, GROUP,
+                            XPendingOptions.range(Range.unbounded(), (long) RECLAIM_BATCH)));
+            if (pending == null) {
+                return;
+            }
+            String owner = consumerPrefix + "-0";
+            for (PendingMessage message : pending) {
+                boolean own = message.getConsumerName().startsWith(consumerPrefix + "-");
+                if (own && outbox.inFlight.contains(message.getId())) {
+                    continue;
+                }
+                Duration minIdle = own && outbox.awaitingRetry.contains(message.getId())
+                        ? Duration.ofMillis(backoff((int) message.getTotalDeliveryCount())) : claimIdle;
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                    continue;
+                }
+                // 다른 노드가 먼저 가져갔으면 idle 이 초기화되어 빈 결과
+                List<ByteRecord> claimed = outbox.redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                        connection.streamCommands().xClaim(STREAM_BYTES, GROUP, owner,
+                                XClaimOptions.minIdle(minIdle).ids(message.getId())));
+                if (claimed != null) {
+                    claimed.forEach(record -> process(outbox, record, message.getTotalDeliveryCount() + 1));
+                }
+            }
+            removeIdleConsumers(outbox);
+        } catch (RuntimeException e) {
+            log.warn("Dooray outbox reclaim 실패", e);
+        }
+    }
+
+    /**
+     * 처리할 항목이 없고 claim-idle 이상 쉬고 있는 다른 consumer 를 group 에서 제거
+     */
+    private void removeIdleConsumers(Outbox outbox) {
+        outbox.redisTemplate.execute((RedisCallback<Void>) connection -> {
+            for (XInfoConsumer info : connection.streamCommands().xInfoConsumers(STREAM_BYTES, GROUP)) {
+                if (info.pendingCount() == 0 && info.idleTimeMs() >= claimIdle.toMillis()
+                        && !info.consumerName().startsWith(consumerPrefix + "-")) {
+                    connection.streamCommands().xGroupDelConsumer(STREAM_BYTES,
+                            Consumer.from(GROUP, info.consumerName()));
+                }
+            }
+            return null;
+        });
+    }
+
+    private void process(Outbox outbox, ByteRecord record, long attempt) {
+        RecordId id = record.getId();
+        // byte[] 키는 내용으로 비교되지 않으므로 필드를 직접 찾음
+        String token = null;
+        for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+            if (TOKEN_FIELD.equals(new String(field.getKey(), StandardCharsets.UTF_8))) {
+                token = new String(field.getValue(), StandardCharsets.UTF_8);
+            }
+        }
+        if (token == null) {
+            complete(outbox, id);
+            return;
+        }
+        outbox.inFlight.add(id);
+        outbox.awaitingRetry.remove(id);
+        try {
+            deliver(outbox, id, token, attempt);
+        } finally {
+            outbox.inFlight.remove(id);
+        }
+    }
+
+    private void deliver(Outbox outbox, RecordId id, String token, long attempt) {
+        Object code = outbox.redisTemplate.opsForHash().get(token, RedisService.DORMANT_CODE_KEY);
+        if (code == null) {
+            log.debug("만료됐거나 이미 사용된 휴면 토큰이므로 전송하지 않습니다. {}", token);
+            complete(outbox, id);
+            return;
+        }
+        if (!allowRequest()) {
+            release(outbox, id, attempt - 1);
+            return;
+        }
+
+        int status = send(token, DoorayMessagePayload.builder()
+                .text(code.toString())
+                .botName(RedisService.AUTH_BOT_NAME)
+                .botIconImage(BOT_ICON_IMAGE)
+                .build());
+        if (status >= 200 && status < 300) {
+            onSuccess();
+            record(outbox, token, DeliveryStatus.SENT);
+            complete(outbox, id);
+        } else if (status < 0 || status >= 500 || status == 429) {
+            onFailure();
+            retryOrFail(outbox, id, token, attempt);
+        } else {
+            // 요청 자체가 잘못된 4xx 는 다시 보내도 같으므로 회로와 관계없이 바로 실패 처리
+            probing.set(false);
+            log.warn("Dooray 가 전송을 거절했습니다. status={} {}", status, token);
+            record(outbox, token, DeliveryStatus.FAILED);
+            complete(outbox, id);
+        }
+    }
+
+    private int send(String token, DoorayMessagePayload payload) {
+        long start = System.nanoTime();
+        int status = -1;
+        try {
+            ResponseEntity<String> response = doorayClient.sendMessage(payload);
+            status = response.getStatusCode().value();
+        } catch (FeignException e) {
+            // 연결 실패 등 응답이 없으면 status 가 음수
+            log.debug("Dooray 전송 실패 {} {}", token, e.getMessage());
+            status = e.status();
+        } catch (RuntimeException e) {
+            log.debug("Dooray 전송 실패 {} {}", token, e.getMessage());
+        } finally {
+            sendTimer(status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return status;
+    }
+
+    private Timer sendTimer(int status) {
+        if (status >= 200 && status < 300) {
+            return sentTimer;
+        }
+        if (status >= 400 && status < 500) {
+            return clientErrorTimer;
+        }
+        return status >= 500 ? serverErrorTimer : errorTimer;
+    }
+
+    /**
+     * 실패한 항목은 ack 하지 않고 남겨 두어 reclaim 이 backoff 후 다시 가져가도록 함
+     */
+    private void retryOrFail(Outbox outbox, RecordId id, String token, long attempt) {
+        if (attempt >= maxAttempts) {
+            log.warn("Dooray 전송을 {}회 시도했지만 실패했습니다. {}", attempt, token);
+            record(outbox, token, DeliveryStatus.FAILED);
+            complete(outbox, id);
+            return;
+        }
+        outbox.awaitingRetry.add(id);
+        record(outbox, token, DeliveryStatus.RETRYING);
+    }
+
+    /**
+     * 회로가 막아 보내지 못한 항목은 시도 횟수에 넣지 않도록 전달 횟수를 되돌려 두고 backoff 후 다시 가져감
+     */
+    private void release(Outbox outbox, RecordId id, long attempts) {
+        outbox.redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xClaim(STREAM_BYTES, GROUP, consumerPrefix + "-0",
+                        XClaimOptions.minIdle(Duration.ZERO).ids(id).retryCount(attempts)));
+        outbox.awaitingRetry.add(id);
+    }
+
+    private void complete(Outbox outbox, RecordId id) {
+        outbox.redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.streamCommands().xAck(STREAM_BYTES, GROUP, id);
+            connection.streamCommands().xDel(STREAM_BYTES, id);
+            return null;
+        });
+    }
+
+    /**
+     * attempt 번째 실패 후 기다릴 시간, backoff 부터 두 배씩 늘리되 max-backoff 를 넘지 않음
+     */
+    long backoff(int attempt) {
+        long delay = backoff.toMillis() << Math.min(Math.max(attempt, 1) - 1, 20);
+        return Math.min(delay, maxBackoff.toMillis());
+    }
+
+    /**
+     * 회로가 닫혀 있으면 허용, 열린 시간이 지났으면 한 건만 시험 삼아 허용
+     */
+    private boolean allowRequest() {
+        if (consecutiveFailures.get() < failureThreshold) {
+            return true;
+        }
+        if (System.currentTimeMillis() < openUntil) {
+            return false;
+        }
+        return probing.compareAndSet(false, true);
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        probing.set(false);
+    }
+
+    private void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openUntil = System.currentTimeMillis() + openDuration.toMillis();
+            probing.set(false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(Outbox outbox, String token, DeliveryStatus status) {
+        // 토큰 해시의 다른 필드와 같은 직렬화로 기록하여 opsForHash 로 그대로 읽을 수 있도록 함
+        RedisTemplate<String, Object> redisTemplate = outbox.redisTemplate;
+        byte[] field = ((RedisSerializer<String>) redisTemplate.getHashKeySerializer())
+                .serialize(RedisService.DORMANT_DELIVERY_KEY);
+        byte[] value = ((RedisSerializer<Object>) redisTemplate.getHashValueSerializer()).serialize(status.name());
+        try {
+            redisTemplate.execute(recordDeliveryScript, RedisSerializer.byteArray(), null, List.of(token), field,
+                    value);
+        } catch (RuntimeException e) {
+            log.warn("Dooray 전송 상태 기록 실패 {} {}", token, status, e);
+        }
+    }
+
+    private void createGroup(Outbox outbox) {
+        try {
+            // 0 부터 읽어 group 이 만들어지기 전에 기록된 항목도 전송
+            outbox.redisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.streamCommands().xGroupCreate(STREAM_BYTES, GROUP, ReadOffset.from("0"), true));
+        } catch (RedisSystemException e) {
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "auth-api";
+        }
+    }
+
+    /**
+     * shard 하나의 outbox stream 과 이 노드가 그 stream 에서 처리 중인 항목
+     * 항목 id 는 stream 안에서만 유일하므로 shard 마다 따로 관리
+     */
+    private static final class Outbox {
+        private final RedisTemplate<String, Object> redisTemplate;
+        private final Set<RecordId> inFlight = ConcurrentHashMap.newKeySet();
+        // 이 노드에서 실패하여 backoff 후 재시도할 항목, 읽기만 하고 아직 처리하지 않은 항목과 구분하기 위함
+        private final Set<RecordId> awaitingRetry = ConcurrentHashMap.newKeySet();
+
+        private Outbox(RedisTemplate<String, Object> redisTemplate) {
+            this.redisTemplate = redisTemplate;
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package store.buzzbook.authserver.config;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+import store.buzzbook.authserver.jwt.JwtSigningKey;
+
+/**
+ * access token, refresh token 의 서명 키 묶음을 설정합니다.
+ * access token 의 기본값은 기존과 같은 HS256 이고, ES256 을 사용하면 공개키가 {@code /.well-known/jwks.json} 으로 공개됩니다.
+ * 설정된 키는 각 키 묶음의 첫 키가 되며, 이후 키 교체는 공유 설정의 키 일정으로 합니다. ({@link JwtKeySchedule})
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Configuration
+public class JwtKeyConfig {
+
+    @Bean
+    public JwtKeyRing accessKeyRing(@Value("${auth.access-token.algorithm:HS256}") String algorithm,
+                                    @Value("${jwt.secret}") String secret,
+                                    @Value("${auth.access-token.key-id:}") String keyId,
+                                    @Value("${auth.access-token.ec.private-key:}") String privateKey,
+                                    @Value("${auth.access-token.ec.public-key:}") String publicKey,
+                                    @Value("${auth.access-token.key-overlap:30m}") Duration overlap) {
+        return new JwtKeyRing(accessTokenKey(algorithm, secret, nullIfBlank(keyId), privateKey, publicKey), overlap);
+    }
+
+    @Bean
+    public JwtKeyRing refreshKeyRing(@Value("${jwt.refresh}") String secret,
+                                     @Value("${auth.refresh-token.key-id:}") String keyId,
+                                     @Value("${auth.refresh-token.key-overlap:1d}") Duration overlap) {
+        return new JwtKeyRing(JwtSigningKey.hmac(nullIfBlank(keyId), secret), overlap);
+    }
+
+    private JwtSigningKey accessTokenKey(String algorithm, String secret, String keyId, String privateKey,
+                                         String publicKey) {
+        if ("HS256".equalsIgnoreCase(algorithm)) {
+            return JwtSigningKey.hmac(keyId, secret);
+        }
+        if (!"ES256".equalsIgnoreCase(algorithm)) {
+            throw new IllegalStateException("지원하지 않는 access token 서명 방식입니다: " + algorithm);
+        }
+        if (StringUtils.hasText(privateKey) && StringUtils.hasText(publicKey)) {
+            return JwtSigningKey.ec(keyId, privateKey, publicKey);
+        }
+        // 키가 없으면 노드마다 다른 키가 생기므로 로컬 개발 용도로만 사용
+        log.warn("ES256 키가 설정되지 않아 임시 키 쌍을 생성합니다. 재시작하거나 다른 노드에서는 토큰을 검증할 수 없습니다.");
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return JwtSigningKey.ec(keyId, generator.generateKeyPair());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("ES256 키 쌍을 생성할 수 없습니다.", e);
+        }
+    }
+
+    private String nullIfBlank(String value) {
+        return StringUtils.hasText(value) ? value : null;
+    }
+}
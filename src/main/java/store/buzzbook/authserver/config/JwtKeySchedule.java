@@ -0,0 +1,111 @@
+package store.buzzbook.authserver.config;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import lombok.Getter;
+import lombok.Setter;
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+import store.buzzbook.authserver.jwt.JwtSigningKey;
+
+/**
+ * 공유 설정({@code auth.access-token.keys}, {@code auth.refresh-token.keys})의 서명 키 일정을 키 묶음에 반영합니다.
+ * 시작할 때 한 번 반영하고, 설정이 다시 로드되면({@link EnvironmentChangeEvent}) 다시 반영합니다.
+ *
+ * <p>키 교체는 모든 노드가 받는 설정에 새 kid 와 전환 시각(activate-at)을 추가하여 합니다.
+ * 전환 시각은 설정이 모든 노드에 퍼지고, ES256 이라면 다른 서비스가 JWKS 를 다시 받아갈 만큼 뒤로 잡습니다.
+ * 키를 바로 제거해야 하면 retire-at 을 지정하거나 설정에서 빼면 됩니다.
+ *
+ * <pre>
+ * auth:
+ *   access-token:
+ *     keys:
+ *       - kid: access-2026-10
+ *         algorithm: ES256
+ *         private-key: ...
+ *         public-key: ...
+ *         activate-at: 2026-10-20T00:00:00Z
+ * </pre>
+ *
+ * @author 김성호
+ */
+@Component
+public class JwtKeySchedule {
+    static final String ACCESS_KEYS = "auth.access-token.keys";
+    static final String REFRESH_KEYS = "auth.refresh-token.keys";
+
+    private final Environment environment;
+    private final JwtKeyRing accessKeyRing;
+    private final JwtKeyRing refreshKeyRing;
+
+    public JwtKeySchedule(Environment environment,
+                          @Qualifier("accessKeyRing") JwtKeyRing accessKeyRing,
+                          @Qualifier("refreshKeyRing") JwtKeyRing refreshKeyRing) {
+        this.environment = environment;
+        this.accessKeyRing = accessKeyRing;
+        this.refreshKeyRing = refreshKeyRing;
+        apply();
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        Set<String> changed = event.getKeys();
+        if (changed.stream().anyMatch(key -> key.startsWith(ACCESS_KEYS) || key.startsWith(REFRESH_KEYS))) {
+            apply();
+        }
+    }
+
+    void apply() {
+        accessKeyRing.apply(scheduledKeys(ACCESS_KEYS));
+        refreshKeyRing.apply(scheduledKeys(REFRESH_KEYS));
+    }
+
+    private List<JwtKeyRing.ScheduledKey> scheduledKeys(String name) {
+        return Binder.get(environment)
+                .bind(name, Bindable.listOf(KeyProperties.class))
+                .orElse(List.of())
+                .stream()
+                .map(KeyProperties::toScheduledKey)
+                .toList();
+    }
+
+    /**
+     * 설정의 키 하나, kid 는 모든 노드에서 같아야 하므로 반드시 지정
+     */
+    @Getter
+    @Setter
+    public static class KeyProperties {
+        private String kid;
+        private String algorithm = "HS256";
+        private String secret;
+        private String privateKey;
+        private String publicKey;
+        private Instant activateAt;
+        private Instant retireAt;
+
+        JwtKeyRing.ScheduledKey toScheduledKey() {
+            if (!StringUtils.hasText(kid)) {
+                throw new IllegalStateException("설정의 서명 키에는 kid 가 필요합니다.");
+            }
+            JwtSigningKey key;
+            if ("HS256".equalsIgnoreCase(algorithm)) {
+                key = JwtSigningKey.hmac(kid, secret);
+            } else if ("ES256".equalsIgnoreCase(algorithm)) {
+                key = JwtSigningKey.ec(kid, privateKey, publicKey);
+            } else {
+                throw new IllegalStateException("지원하지 않는 서명 방식입니다: " + algorithm);
+            }
+            return new JwtKeyRing.ScheduledKey(key, activateAt, retireAt);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package store.buzzbook.authserver.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import store.buzzbook.authserver.redis.SessionShards;
+
+/**
+ * 리액티브 스택(spring.main.web-application-type=reactive)에서 사용하는 Redis 설정입니다.
+ * 세션 해시는 SessionCodec 으로 직접 바이트를 다루므로 값과 해시 필드는 byte[] 그대로 주고받습니다.
+ * 리액티브 세션 저장소는 기본 Redis 하나만 사용하므로 auth.redis.shard.nodes 와 함께 쓸 수 없습니다.
+ *
+ * @author 김성호
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRedisConfig {
+
+    @Bean
+    public ReactiveRedisTemplate<String, byte[]> sessionRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                     SessionShards sessionShards) {
+        if (sessionShards.all().size() > 1) {
+            // 블로킹 버전이 shard 에 쓴 세션을 기본 Redis 에서 찾지 못하므로 시작하지 않음
+            throw new IllegalStateException(
+                    "리액티브 스택에서는 auth.redis.shard.nodes 를 설정할 수 없습니다.");
+        }
+        RedisSerializationContext<String, byte[]> context = RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.string())
+                .value(RedisSerializer.byteArray())
+                .hashKey(RedisSerializer.byteArray())
+                .hashValue(RedisSerializer.byteArray())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
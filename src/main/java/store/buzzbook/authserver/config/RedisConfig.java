@@ -1,16 +1,34 @@
 package store.buzzbook.authserver.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisNode;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import io.lettuce.core.ReadFrom;
+import io.micrometer.core.instrument.MeterRegistry;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+
 @Configuration
 @EnableRedisRepositories
 public class RedisConfig {
@@ -24,17 +42,106 @@ public class RedisConfig {
     // @Value("${spring.data.redis.password}")
     // private String password;
 
+    // 조회를 보낼 복제본 host:port 목록과 복제본을 고르는 기준 (Lettuce ReadFrom 이름)
+    @Value("${auth.redis.replica.nodes:}")
+    private List<String> replicaNodes;
+
+    @Value("${auth.redis.replica.read-from:replicaPreferred}")
+    private String readFrom;
+
+    // 세션과 휴면 토큰 해시를 나누어 둘 Redis host:port 목록과 shard 마다 consistent hash 링에 둘 점의 수
+    @Value("${auth.redis.shard.nodes:}")
+    private List<String> shardNodes;
+
+    @Value("${auth.redis.shard.virtual-nodes:160}")
+    private int virtualNodes;
+
+    // LettuceConnectionFactory 는 ReactiveRedisConnectionFactory 이기도 하므로 리액티브 쪽도 같은 커넥션을 사용
+    // 쓰기, 스크립트, pub/sub, 스트림은 모두 이 primary 커넥션을 사용
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    @Primary
+    public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(host, port);
         // config.setPassword(password);
         return new LettuceConnectionFactory(config);
     }
 
+    /**
+     * 세션 조회용 master/replica 커넥션, auth.redis.replica.nodes 를 설정했을 때만 생성
+     * 읽기 명령은 read-from 기준으로 복제본에, 쓰기 명령은 primary 로 전달됨
+     */
+    @Bean
+    @ConditionalOnProperty("auth.redis.replica.nodes")
+    public LettuceConnectionFactory replicaConnectionFactory() {
+        RedisStaticMasterReplicaConfiguration config = new RedisStaticMasterReplicaConfiguration(host, port);
+        for (String node : replicaNodes) {
+            int separator = node.lastIndexOf(':');
+            config.node(node.substring(0, separator).trim(), Integer.parseInt(node.substring(separator + 1).trim()));
+        }
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .readFrom(ReadFrom.valueOf(readFrom))
+                .build();
+        return new LettuceConnectionFactory(config, clientConfig);
+    }
+
     @Bean
+    @Primary
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        return template(redisConnectionFactory);
+    }
+
+    @Bean
+    public SessionReadRouter sessionReadRouter(RedisTemplate<String, Object> redisTemplate,
+                                               @Qualifier("replicaConnectionFactory")
+                                               ObjectProvider<LettuceConnectionFactory> replicaConnectionFactory,
+                                               @Value("${auth.redis.replica.read-your-writes:2s}") Duration readYourWrites,
+                                               @Value("${auth.redis.replica.recent-writes-maximum-size:100000}")
+                                               long recentWritesMaximumSize,
+                                               MeterRegistry meterRegistry) {
+        LettuceConnectionFactory replica = replicaConnectionFactory.getIfAvailable();
+        if (replica == null) {
+            return SessionReadRouter.primaryOnly(redisTemplate, meterRegistry);
+        }
+        RedisTemplate<String, Object> replicaTemplate = template(replica);
+        replicaTemplate.afterPropertiesSet();
+        return new SessionReadRouter(redisTemplate, replicaTemplate, readYourWrites, recentWritesMaximumSize,
+                meterRegistry);
+    }
+
+    /**
+     * 세션, 휴면 토큰 해시를 나누어 둘 shard, auth.redis.shard.nodes 를 설정하지 않으면 기존 Redis 하나만 사용
+     * shard 마다 복제본을 따로 두는 구성은 지원하지 않으므로 복제본 설정과 함께 쓸 수 없음
+     */
+    @Bean
+    public SessionShards sessionShards(SessionReadRouter sessionReadRouter, MeterRegistry meterRegistry) {
+        if (shardNodes == null || shardNodes.isEmpty()) {
+            return SessionShards.single(sessionReadRouter);
+        }
+        if (sessionReadRouter.hasReplica()) {
+            throw new IllegalStateException(
+                    "auth.redis.shard.nodes 와 auth.redis.replica.nodes 는 함께 설정할 수 없습니다.");
+        }
+        Map<String, SessionReadRouter> shards = new LinkedHashMap<>();
+        List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+        for (String node : shardNodes) {
+            RedisNode redisNode = RedisNode.fromString(node.trim());
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                    new RedisStandaloneConfiguration(redisNode.getHost(), redisNode.getPort()));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            connectionFactories.add(connectionFactory);
+
+            RedisTemplate<String, Object> shardTemplate = template(connectionFactory);
+            shardTemplate.afterPropertiesSet();
+            // 링 위치는 shard 이름으로 정해지므로 모든 서버에 같은 host:port 로 설정
+            shards.put(node.trim(), SessionReadRouter.primaryOnly(shardTemplate, meterRegistry));
+        }
+        return new SessionShards(shards, virtualNodes, connectionFactories);
+    }
+
+    private static RedisTemplate<String, Object> template(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(redisConnectionFactory);
+        template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
@@ -0,0 +1,54 @@
+package store.buzzbook.authserver.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 여러 Redis 명령을 한 번의 왕복으로 처리하기 위한 Lua 스크립트 설정입니다.
+ *
+ * @author 김성호
+ */
+@Configuration
+public class RedisScriptConfig {
+
+    @Bean
+    public RedisScript<Long> saveSessionScript() {
+        return RedisScript.of(new ClassPathResource("scripts/save-session.lua"), Long.class);
+    }
+
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> rotateSessionScript() {
+        return RedisScript.of(new ClassPathResource("scripts/rotate-session.lua"), List.class);
+    }
+
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> takeSessionScript() {
+        return RedisScript.of(new ClassPathResource("scripts/take-session.lua"), List.class);
+    }
+
+    @Bean
+    public RedisScript<Long> createDormantTokenScript() {
+        return RedisScript.of(new ClassPathResource("scripts/create-dormant-token.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<Long> recordDeliveryScript() {
+        return RedisScript.of(new ClassPathResource("scripts/record-delivery.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisScript<byte[]> checkDormantTokenScript() {
+        return RedisScript.of(new ClassPathResource("scripts/check-dormant-token.lua"), byte[].class);
+    }
+
+    @Bean
+    public RedisScript<Long> limitActivationAttemptScript() {
+        return RedisScript.of(new ClassPathResource("scripts/limit-activation-attempt.lua"), Long.class);
+    }
+}
@@ -0,0 +1,64 @@
+package store.buzzbook.authserver.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+
+/**
+ * 애플리케이션 시작 시 Lua 스크립트를 Redis 에 미리 올려두어 첫 요청부터 EVALSHA 로 실행되게 합니다.
+ * shard 를 설정했다면 세션 스크립트가 실행되는 각 shard 의 primary 에도 올립니다.
+ * 로드에 실패해도 RedisTemplate 이 NOSCRIPT 응답을 받으면 EVAL 로 다시 실행하므로 시작은 계속 진행합니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisScriptLoader implements ApplicationRunner {
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final List<RedisScript<?>> scripts;
+    private final SessionShards sessionShards;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            load(connection);
+        } catch (Exception e) {
+            log.warn("Redis 스크립트 미리 로드 실패, 첫 실행 시 EVAL 로 대체됩니다.", e);
+        }
+        if (sessionShards.all().size() == 1) {
+            // shard 를 설정하지 않았으면 기본 Redis 가 유일한 shard
+            return;
+        }
+        for (SessionReadRouter shard : sessionShards.all()) {
+            try {
+                shard.primary().execute((RedisCallback<Void>) connection -> {
+                    load(connection);
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("shard 에 Redis 스크립트 미리 로드 실패, 첫 실행 시 EVAL 로 대체됩니다.", e);
+            }
+        }
+    }
+
+    private void load(RedisConnection connection) {
+        for (RedisScript<?> script : scripts) {
+            String sha = connection.scriptingCommands()
+                    .scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+            log.debug("Redis 스크립트 로드 완료 {}", sha);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package store.buzzbook.authserver.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import store.buzzbook.authserver.cache.SessionInvalidationListener;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+
+/**
+ * 노드 간 로컬 캐시 무효화를 위한 Redis pub/sub 구독 설정입니다.
+ *
+ * @author 김성호
+ */
+@Configuration
+@ConditionalOnProperty(name = "auth.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class SessionInvalidationConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       SessionInvalidationListener listener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(listener, new ChannelTopic(SessionInvalidationPublisher.CHANNEL));
+        return container;
+    }
+}
@@ -2,6 +2,8 @@ package store.buzzbook.authserver.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,17 +15,28 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import jakarta.servlet.http.HttpServletRequest;
+import store.buzzbook.authserver.client.DeliveryStatus;
 import store.buzzbook.authserver.dto.AuthDTO;
 import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
 import store.buzzbook.authserver.jwt.JwtTokenProvider;
+import store.buzzbook.authserver.jwt.PrecheckResult;
+import store.buzzbook.authserver.jwt.TokenParseResult;
+import store.buzzbook.authserver.jwt.TokenPrecheck;
+import store.buzzbook.authserver.limit.ActivationAttemptLimiter;
 import store.buzzbook.authserver.service.RedisService;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
 @Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
 
     private static final String BEARER_PREFIX = "Bearer ";
@@ -36,11 +49,25 @@ public class AuthController {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final RedisService redisService;
+    private final ActivationAttemptLimiter activationAttemptLimiter;
+
+    @Value("${auth.info.batch-max-size:100}")
+    private int batchMaxSize;
+
+    // 설정한 경우에만 헤더를 믿음, 앞의 값은 클라이언트가 마음대로 넣을 수 있으므로 믿을 수 있는 프록시가 붙인 뒤쪽 값을 사용
+    @Value("${auth.activation-limit.client-header:}")
+    private String clientHeader;
+
+    // 헤더에 주소를 덧붙이는 이 서버 앞의 프록시 수
+    @Value("${auth.activation-limit.trusted-proxies:1}")
+    private int trustedProxies;
 
     @Autowired
-    public AuthController(JwtTokenProvider jwtTokenProvider, RedisService redisService) {
+    public AuthController(JwtTokenProvider jwtTokenProvider, RedisService redisService,
+                          ActivationAttemptLimiter activationAttemptLimiter) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.redisService = redisService;
+        this.activationAttemptLimiter = activationAttemptLimiter;
     }
 
     @PostMapping("/token")
@@ -67,13 +94,20 @@ public class AuthController {
         accessToken = extractToken(accessToken);
         refreshToken = extractToken(refreshToken);
 
-        if (accessToken != null && jwtTokenProvider.validateToken(accessToken)) {
-            String uuid = jwtTokenProvider.getUUIDFromAccessToken(accessToken);
-            redisService.removeUser(uuid);
+        // 토큰마다 서명 검증은 한 번만 하고, 검증 결과의 Claims 에서 uuid 를 꺼낸다
+        // 만료됐거나 모양이 잘못된 토큰은 서명 검증 없이 건너뜀
+        TokenParseResult accessResult = TokenPrecheck.checkAccessToken(accessToken) == PrecheckResult.PASSED
+                ? jwtTokenProvider.parseAccessToken(accessToken) : null;
+        if (accessResult != null && accessResult.isValid()) {
+            redisService.removeUser(accessResult.getUuid());
             log.debug("엑세스 토큰으로 로그아웃 함");
-        } else if (refreshToken != null && jwtTokenProvider.validateRefreshToken(refreshToken)) {
-            String userId = jwtTokenProvider.getUUIDFromRefreshToken(refreshToken);
-            redisService.removeUser(userId);
+            return ResponseEntity.ok().build();
+        }
+
+        TokenParseResult refreshResult = TokenPrecheck.checkRefreshToken(refreshToken) == PrecheckResult.PASSED
+                ? jwtTokenProvider.parseRefreshToken(refreshToken) : null;
+        if (refreshResult != null && refreshResult.isValid()) {
+            redisService.removeUser(refreshResult.getUuid());
             log.debug("리프레시 토큰으로 로그아웃 함");
         } else {
             log.debug("토큰이 만료됐기 때문에 자동 로그아웃 처리됨");
@@ -82,37 +116,63 @@ public class AuthController {
     }
 
     @GetMapping("/info")
-    public ResponseEntity<Map<String, Object>> getUserInfo(
+    public ResponseEntity<?> getUserInfo(
             @RequestHeader(value = TOKEN_HEADER, required = false) String accessToken,
             @RequestHeader(value = REFRESH_HEADER, required = false) String refreshToken) {
         try {
             if (isTokenPresentAndValid(refreshToken)) {
-                Map<String, Object> result = new HashMap<>();
-                result.put(MESSAGE_KEY, LOGIN_AGAIN_MESSAGE);
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(result);
+                return loginAgain(null);
             }
             refreshToken = extractToken(refreshToken);
 
             if (isTokenPresentAndValid(accessToken)) {
+                // 재발급에는 만료되지 않은 refresh token 이 필요하므로 통과하지 못하면 서명 검증 없이 거절
+                if (TokenPrecheck.checkRefreshToken(refreshToken) != PrecheckResult.PASSED) {
+                    return loginAgain(null);
+                }
                 JwtResponse response = jwtTokenProvider.refreshAccessToken(refreshToken);
                 if (response != null) {
                     HttpHeaders headers = new HttpHeaders();
                     headers.add(TOKEN_HEADER, String.format(TOKEN_FORMAT, response.getAccessToken()));
                     headers.add(REFRESH_HEADER, String.format(TOKEN_FORMAT, response.getRefreshToken()));
 
-                    Map<String, Object> userInfo = jwtTokenProvider.getUserInfoFromToken(response.getAccessToken());
+                    SessionRecord userInfo = jwtTokenProvider.getUserInfoFromToken(response.getAccessToken());
                     log.debug("토큰 재발급 되고 user 정보를 body 에 줌");
                     return ResponseEntity.ok().headers(headers).body(userInfo);
                 } else {
-                    Map<String, Object> result = new HashMap<>();
-                    result.put(MESSAGE_KEY, LOGIN_AGAIN_MESSAGE);
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(result);
+                    return loginAgain(null);
                 }
             } else {
                 accessToken = extractToken(accessToken);
-                Map<String, Object> userInfo = jwtTokenProvider.getUserInfoFromToken(accessToken);
+                // 만료된 access token 도 세션을 조회하므로 만료 외의 이유로 걸러진 토큰만 바로 거절
+                PrecheckResult precheck = TokenPrecheck.checkAccessToken(accessToken);
+                if (precheck != PrecheckResult.PASSED && precheck != PrecheckResult.EXPIRED) {
+                    log.debug("error {}", precheck);
+                    return loginAgain(precheck.name());
+                }
+                SessionRecord userInfo = jwtTokenProvider.getUserInfoFromToken(accessToken);
                 return ResponseEntity.ok().body(userInfo);
             }
+        } catch (Exception e) {
+            log.debug("error {}", e.getMessage());
+            return loginAgain(e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 access token 의 유저 정보를 한 번에 조회합니다.
+     * 결과는 요청한 토큰 순서대로이며, 토큰마다 /info 와 같은 기준으로 성공(200) 또는 다시 로그인(401)을 담습니다.
+     */
+    @PostMapping("/info/batch")
+    public ResponseEntity<?> getUserInfoBatch(@RequestBody List<String> tokens) {
+        if (tokens.size() > batchMaxSize) {
+            Map<String, Object> result = new HashMap<>();
+            result.put(ERROR_KEY, String.format("한 번에 최대 %d개의 토큰까지 조회할 수 있습니다.", batchMaxSize));
+            return ResponseEntity.badRequest().body(result);
+        }
+        try {
+            List<String> extracted = tokens.stream().map(this::extractToken).toList();
+            return ResponseEntity.ok(jwtTokenProvider.getUserInfoFromTokens(extracted));
         } catch (Exception e) {
             Map<String, Object> result = new HashMap<>();
             result.put(MESSAGE_KEY, LOGIN_AGAIN_MESSAGE);
@@ -129,6 +189,18 @@ public class AuthController {
         return ResponseEntity.ok(token);
     }
 
+    /**
+     * 휴면 해제 코드의 전송 상태, 토큰이 없거나 만료됐으면 404
+     */
+    @GetMapping("/dormant/delivery")
+    ResponseEntity<DeliveryStatus> getDormantDeliveryStatus(@RequestParam String token) {
+        DeliveryStatus status = redisService.getDormantDeliveryStatus(token);
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
     @GetMapping("/activate")
     ResponseEntity<Void> existDormantToken(@RequestParam String token) {
         if (redisService.isDormantToken(token)) {
@@ -138,12 +210,49 @@ public class AuthController {
         }
     }
 
+    /**
+     * 휴면 해제 코드 확인, 토큰 또는 클라이언트의 시도 횟수를 넘으면 코드를 확인하지 않고 429
+     */
     @PutMapping("/activate")
-    ResponseEntity<String> checkDormantToken(@RequestParam String token, @RequestParam String code) {
+    ResponseEntity<String> checkDormantToken(@RequestParam String token, @RequestParam String code,
+                                             HttpServletRequest request) {
+        if (!activationAttemptLimiter.tryAcquire(token, clientOf(request))) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
         String loginId = redisService.checkDormantToken(token, code);
         return ResponseEntity.ok().body(loginId);
     }
 
+    private ResponseEntity<?> loginAgain(String error) {
+        Map<String, Object> result = new HashMap<>();
+        result.put(MESSAGE_KEY, LOGIN_AGAIN_MESSAGE);
+        if (error != null) {
+            result.put(ERROR_KEY, error);
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(result);
+    }
+
+    /**
+     * 휴면 해제 시도 횟수를 셀 클라이언트 주소
+     * 헤더를 설정했으면 오른쪽에서 trusted-proxies 번째 값, 즉 가장 바깥의 프록시가 본 주소를 사용하고
+     * 값이 그보다 적으면 프록시를 거치지 않은 요청이므로 연결 주소를 사용
+     */
+    private String clientOf(HttpServletRequest request) {
+        if (clientHeader == null || clientHeader.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+        List<String> addresses = new ArrayList<>();
+        for (String header : Collections.list(request.getHeaders(clientHeader))) {
+            for (String address : header.split(",")) {
+                if (!address.isBlank()) {
+                    addresses.add(address.trim());
+                }
+            }
+        }
+        int hops = Math.max(trustedProxies, 1);
+        return addresses.size() >= hops ? addresses.get(addresses.size() - hops) : request.getRemoteAddr();
+    }
+
     private boolean isTokenPresentAndValid(String token) {
         return token == null || !token.startsWith(BEARER_PREFIX);
     }
@@ -0,0 +1,40 @@
+package store.buzzbook.authserver.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+
+/**
+ * access token 검증용 공개키를 JWKS 형식으로 제공합니다.
+ * 교체 중인 키도 overlap 동안 함께 제공하므로 이전 키로 서명된 토큰도 계속 검증할 수 있습니다.
+ * 서블릿, 리액티브 스택 모두에서 동작하며 다른 서비스가 응답을 캐시하도록 Cache-Control 을 붙입니다.
+ *
+ * @author 김성호
+ */
+@RestController
+public class JwksController {
+    private final JwtKeyRing accessKeyRing;
+    private final CacheControl cacheControl;
+
+    public JwksController(@Qualifier("accessKeyRing") JwtKeyRing accessKeyRing,
+                          @Value("${auth.access-token.jwks-max-age:1h}") Duration maxAge) {
+        this.accessKeyRing = accessKeyRing;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(Map.of("keys", accessKeyRing.getPublicJwks()));
+    }
+}
@@ -0,0 +1,188 @@
+package store.buzzbook.authserver.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import store.buzzbook.authserver.dto.AuthDTO;
+import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.jwt.JwtTokenProvider;
+import store.buzzbook.authserver.jwt.PrecheckResult;
+import store.buzzbook.authserver.jwt.TokenParseResult;
+import store.buzzbook.authserver.jwt.TokenPrecheck;
+import store.buzzbook.authserver.jwt.TokenStatus;
+import store.buzzbook.authserver.service.ReactiveRedisService;
+
+/**
+ * {@link AuthController} 의 토큰 발급, 로그아웃, 유저 정보 조회를 논블로킹으로 처리하는 WebFlux 버전입니다.
+ * spring.main.web-application-type=reactive 로 실행할 때만 등록되며, 요청마다 스레드를 점유하지 않고
+ * 토큰 검증은 {@link JwtTokenProvider}, 세션 조회는 {@link ReactiveRedisService} 로 처리합니다.
+ * 응답 형식은 블로킹 버전과 같습니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String TOKEN_FORMAT = "Bearer %s";
+    private static final String TOKEN_HEADER = "Authorization";
+    private static final String REFRESH_HEADER = "Refresh-Token";
+    private static final String MESSAGE_KEY = "message";
+    private static final String ERROR_KEY = "error";
+    private static final String LOGIN_AGAIN_MESSAGE = "다시 로그인해주세요.";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReactiveRedisService reactiveRedisService;
+
+    @PostMapping("/token")
+    public Mono<ResponseEntity<Void>> generateToken(@RequestBody AuthDTO authDTO) {
+        UUID uuid = UUID.randomUUID();
+        SessionRecord session = SessionRecord.from(authDTO);
+        JwtResponse response = jwtTokenProvider.issueTokens(uuid, session);
+        return reactiveRedisService.saveUser(uuid.toString(), session)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().headers(tokenHeaders(response)).build()));
+    }
+
+    @GetMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String accessToken,
+            @RequestHeader(value = REFRESH_HEADER, required = false) String refreshToken) {
+
+        if (accessToken == null && refreshToken == null) {
+            log.debug("토큰 정보가 없습니다.");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        accessToken = extractToken(accessToken);
+        refreshToken = extractToken(refreshToken);
+
+        TokenParseResult accessResult = TokenPrecheck.checkAccessToken(accessToken) == PrecheckResult.PASSED
+                ? jwtTokenProvider.parseAccessToken(accessToken) : null;
+        if (accessResult != null && accessResult.isValid()) {
+            log.debug("엑세스 토큰으로 로그아웃 함");
+            return reactiveRedisService.removeUser(accessResult.getUuid()).thenReturn(ResponseEntity.ok().build());
+        }
+
+        TokenParseResult refreshResult = TokenPrecheck.checkRefreshToken(refreshToken) == PrecheckResult.PASSED
+                ? jwtTokenProvider.parseRefreshToken(refreshToken) : null;
+        if (refreshResult != null && refreshResult.isValid()) {
+            log.debug("리프레시 토큰으로 로그아웃 함");
+            return reactiveRedisService.removeUser(refreshResult.getUuid()).thenReturn(ResponseEntity.ok().build());
+        }
+        log.debug("토큰이 만료됐기 때문에 자동 로그아웃 처리됨");
+        return Mono.just(ResponseEntity.ok().build());
+    }
+
+    @GetMapping("/info")
+    public Mono<ResponseEntity<?>> getUserInfo(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String accessToken,
+            @RequestHeader(value = REFRESH_HEADER, required = false) String refreshToken) {
+        if (isTokenMissing(refreshToken)) {
+            return Mono.just(loginAgain(null));
+        }
+
+        Mono<ResponseEntity<?>> result = isTokenMissing(accessToken)
+                ? refreshAndGetUserInfo(extractToken(refreshToken))
+                : getUserInfoFromToken(extractToken(accessToken)).map(ResponseEntity::ok);
+
+        return result.onErrorResume(e -> {
+            log.debug("error {}", e.getMessage());
+            return Mono.just(loginAgain(e.getMessage()));
+        });
+    }
+
+    private Mono<ResponseEntity<?>> refreshAndGetUserInfo(String refreshToken) {
+        if (TokenPrecheck.checkRefreshToken(refreshToken) != PrecheckResult.PASSED) {
+            return Mono.just(loginAgain(null));
+        }
+        TokenParseResult result = jwtTokenProvider.parseRefreshToken(refreshToken);
+        if (!result.isValid()) {
+            return Mono.just(loginAgain(null));
+        }
+        String uuid = result.getUuid();
+        UUID newUuid = UUID.randomUUID();
+
+        // 새 세션을 바로 응답하므로 블로킹 버전과 달리 새 토큰으로 Redis 를 다시 조회하지 않음
+        return reactiveRedisService.rotateUser(uuid, newUuid.toString())
+                .switchIfEmpty(Mono.fromRunnable(() -> jwtTokenProvider.checkRotatedSession(uuid, null)))
+                .map(session -> {
+                    jwtTokenProvider.checkRotatedSession(uuid, session);
+                    JwtResponse response = jwtTokenProvider.issueTokens(newUuid, session);
+                    log.debug("토큰 재발급 되고 user 정보를 body 에 줌");
+                    return ResponseEntity.ok().headers(tokenHeaders(response)).body(session);
+                });
+    }
+
+    private Mono<SessionRecord> getUserInfoFromToken(String accessToken) {
+        // 이미 검증한 토큰이면 서명 검증과 Redis 조회를 건너뜀
+        SessionRecord cached = jwtTokenProvider.getCachedUserInfo(accessToken);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        PrecheckResult precheck = TokenPrecheck.checkAccessToken(accessToken);
+        if (precheck != PrecheckResult.PASSED && precheck != PrecheckResult.EXPIRED) {
+            return Mono.error(new IllegalArgumentException(precheck.name()));
+        }
+        TokenParseResult result = jwtTokenProvider.parseAccessToken(accessToken);
+        return jwtTokenProvider.getStatelessUserInfoReactive(result)
+                .switchIfEmpty(Mono.defer(() -> getSessionUserInfo(accessToken, result)));
+    }
+
+    private Mono<SessionRecord> getSessionUserInfo(String accessToken, TokenParseResult result) {
+        // 블로킹 버전과 같이 만료된 access token 도 서명만 맞으면 세션을 조회
+        if (!result.isValid() && result.getStatus() != TokenStatus.EXPIRED) {
+            return Mono.error(new IllegalArgumentException(result.getStatus().name()));
+        }
+        return reactiveRedisService.getUser(result.getUuid())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("User data not found")))
+                .doOnNext(session -> jwtTokenProvider.cacheUserInfo(accessToken, result.getClaims(), session));
+    }
+
+    private ResponseEntity<?> loginAgain(String error) {
+        Map<String, Object> result = new HashMap<>();
+        result.put(MESSAGE_KEY, LOGIN_AGAIN_MESSAGE);
+        if (error != null) {
+            result.put(ERROR_KEY, error);
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(result);
+    }
+
+    private HttpHeaders tokenHeaders(JwtResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOKEN_HEADER, String.format(TOKEN_FORMAT, response.getAccessToken()));
+        headers.add(REFRESH_HEADER, String.format(TOKEN_FORMAT, response.getRefreshToken()));
+        return headers;
+    }
+
+    private boolean isTokenMissing(String token) {
+        return token == null || !token.startsWith(BEARER_PREFIX);
+    }
+
+    private String extractToken(String token) {
+        if (token != null && token.startsWith(BEARER_PREFIX)) {
+            return token.substring(BEARER_PREFIX.length()).trim();
+        }
+        return token != null ? token.trim() : null;
+    }
+}
@@ -0,0 +1,24 @@
+package store.buzzbook.authserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Redis 세션 해시에 저장되는 로그인 유저 정보입니다.
+ * /api/auth/info 응답 본문으로도 그대로 사용됩니다.
+ *
+ * @author 김성호
+ */
+public record SessionRecord(String loginId, String role, Long userId) {
+
+	public static SessionRecord from(AuthDTO authDTO) {
+		return new SessionRecord(authDTO.getLoginId(), authDTO.getRole(), authDTO.getUserId());
+	}
+
+	/**
+	 * 세션을 다시 발급하는 데 필요한 값이 모두 있는지 확인
+	 */
+	@JsonIgnore
+	public boolean isComplete() {
+		return loginId != null && role != null && userId != null;
+	}
+}
@@ -0,0 +1,22 @@
+package store.buzzbook.authserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * /api/auth/info/batch 에서 토큰 하나에 대한 조회 결과입니다.
+ * 성공하면 status 200 과 유저 정보를, 실패하면 /info 와 같이 status 401 과 다시 로그인하라는 메시지를 담습니다.
+ *
+ * @author 김성호
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenInfoResult(int status, SessionRecord user, String message, String error) {
+	public static final String LOGIN_AGAIN_MESSAGE = "다시 로그인해주세요.";
+
+	public static TokenInfoResult ok(SessionRecord user) {
+		return new TokenInfoResult(200, user, null, null);
+	}
+
+	public static TokenInfoResult loginAgain(String error) {
+		return new TokenInfoResult(401, null, LOGIN_AGAIN_MESSAGE, error);
+	}
+}
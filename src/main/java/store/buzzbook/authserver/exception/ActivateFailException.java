@@ -1,10 +1,11 @@
 package store.buzzbook.authserver.exception;
 
 public class ActivateFailException extends RuntimeException {
+	// 잘못된 코드 입력마다 발생하므로 stack trace 를 만들지 않음
 	public ActivateFailException(String message) {
-		super(message);
+		super(message, null, false, false);
 	}
 	public ActivateFailException() {
-		super("존재하지 않는 활성화 토큰이거나 잘못된 코드를 입력했습니다.");
+		this("존재하지 않는 활성화 토큰이거나 잘못된 코드를 입력했습니다.");
 	}
 }
@@ -0,0 +1,112 @@
+package store.buzzbook.authserver.jwt;
+
+import java.util.Arrays;
+
+/**
+ * 패딩 없는 Base64URL 인코딩/디코딩을 호출자가 준 버퍼 위치에 바로 수행합니다.
+ * {@link java.util.Base64} 는 입력, 출력 배열 전체를 대상으로 하므로 토큰의 일부 구간을 다룰 때 복사가 필요합니다.
+ *
+ * @author 김성호
+ */
+final class Base64Url {
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes();
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base64Url() {
+    }
+
+    static int encodedLength(int length) {
+        return (length / 3) * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    static int maxDecodedLength(int length) {
+        return length * 3 / 4;
+    }
+
+    /**
+     * src[srcOffset, srcOffset + length) 를 dst[dstOffset] 부터 기록하고 기록한 길이를 반환
+     */
+    static int encode(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        int end = srcOffset + length;
+        int out = dstOffset;
+        int i = srcOffset;
+        for (; i + 2 < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[out++] = ALPHABET[bits >>> 18];
+            dst[out++] = ALPHABET[(bits >>> 12) & 0x3f];
+            dst[out++] = ALPHABET[(bits >>> 6) & 0x3f];
+            dst[out++] = ALPHABET[bits & 0x3f];
+        }
+        int remaining = end - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[out++] = ALPHABET[bits >>> 18];
+            dst[out++] = ALPHABET[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[out++] = ALPHABET[bits >>> 18];
+            dst[out++] = ALPHABET[(bits >>> 12) & 0x3f];
+            dst[out++] = ALPHABET[(bits >>> 6) & 0x3f];
+        }
+        return out - dstOffset;
+    }
+
+    /**
+     * src[start, end) 가 디코딩할 수 있는 Base64URL 인지 디코딩하지 않고 확인
+     */
+    static boolean isValid(CharSequence src, int start, int end) {
+        if ((end - start) % 4 == 1) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = src.charAt(i);
+            if (c >= 128 || VALUES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * src[start, end) 를 dst[0] 부터 디코딩하고 기록한 길이를 반환, Base64URL 이 아니면 -1
+     */
+    static int decode(CharSequence src, int start, int end, byte[] dst) {
+        int length = end - start;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int out = 0;
+        int bits = 0;
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                dst[out++] = (byte) (bits >> 16);
+                dst[out++] = (byte) (bits >> 8);
+                dst[out++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 2) {
+            dst[out++] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            dst[out++] = (byte) (bits >> 10);
+            dst[out++] = (byte) (bits >> 2);
+        }
+        return out;
+    }
+}
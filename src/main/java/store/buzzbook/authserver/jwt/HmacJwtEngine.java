@@ -0,0 +1,275 @@
+package store.buzzbook.authserver.jwt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.crypto.ShortBufferException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * jjwt 대신 HS256 토큰을 직접 서명하고 검증하는 엔진입니다.
+ * jjwt 는 토큰마다 Mac 을 새로 만들고 키를 설정하지만, 여기서는 키별 {@link MacPool} 의 Mac 과 버퍼를 재사용하고
+ * 서명 비교는 {@link MessageDigest#isEqual} 로 상수 시간에 수행합니다.
+ *
+ * <p>HS256 이 아닌 키나 토큰은 처리하지 않고 null 을 반환하므로 호출하는 쪽에서 jjwt 로 처리합니다.
+ * 검증 결과의 상태값은 jjwt 경로와 같도록 맞추어 두었습니다.
+ *
+ * @author 김성호
+ */
+@Component
+public class HmacJwtEngine {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+    private static final String HS256 = SignatureAlgorithm.HS256.getValue();
+    private static final int MAX_HEADERS = 16;
+    private static final int SIGNATURE_LENGTH = 43;
+
+    private final boolean enabled;
+    private final int stripes;
+    private final Map<JwtSigningKey, MacPool> pools = new ConcurrentHashMap<>();
+    // 토큰 헤더는 키마다 한 가지뿐이므로 디코딩한 결과를 원문과 함께 보관해 두고 비교만 함
+    private final CopyOnWriteArrayList<Header> headers = new CopyOnWriteArrayList<>();
+
+    public HmacJwtEngine(@Value("${auth.hmac-engine.enabled:false}") boolean enabled,
+                         @Value("${auth.hmac-engine.stripes:0}") int stripes) {
+        this.enabled = enabled;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    public boolean supports(JwtSigningKey key) {
+        return enabled && key.getAlgorithm() == SignatureAlgorithm.HS256;
+    }
+
+    /**
+     * claims 를 HS256 으로 서명한 compact 토큰 생성, Date 값은 jjwt 와 같이 epoch 초로 기록
+     */
+    public String sign(JwtSigningKey key, Map<String, Object> claims) {
+        byte[] header = encodedHeader(key);
+        byte[] payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsBytes(toJsonClaims(claims));
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT claims 를 직렬화할 수 없습니다.", e);
+        }
+
+        MacPool pool = pool(key);
+        int stripe = pool.stripe();
+        MacPool.Slot slot = pool.acquire(stripe);
+        int signingLength = header.length + 1 + Base64Url.encodedLength(payload.length);
+        byte[] buffer = slot.buffer(signingLength + 1 + SIGNATURE_LENGTH);
+        System.arraycopy(header, 0, buffer, 0, header.length);
+        buffer[header.length] = '.';
+        Base64Url.encode(payload, 0, payload.length, buffer, header.length + 1);
+        try {
+            slot.mac.update(buffer, 0, signingLength);
+            slot.mac.doFinal(slot.digest, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        buffer[signingLength] = '.';
+        int length = signingLength + 1 + Base64Url.encode(slot.digest, 0, slot.digest.length, buffer,
+                signingLength + 1);
+        String token = new String(buffer, 0, length, StandardCharsets.US_ASCII);
+        pool.release(stripe, slot);
+        return token;
+    }
+
+    /**
+     * ring 의 HS256 키로 토큰을 검증하고 파싱, 이 엔진이 처리하지 않는 토큰이면 null
+     */
+    public TokenParseResult parse(String token, JwtKeyRing ring) {
+        if (!enabled) {
+            return null;
+        }
+        if (token.isEmpty()) {
+            return TokenParseResult.failure(TokenStatus.EMPTY);
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return TokenParseResult.failure(TokenStatus.MALFORMED);
+        }
+
+        Header header = header(token, firstDot);
+        if (header == null) {
+            return TokenParseResult.failure(TokenStatus.MALFORMED);
+        }
+        // 서명 없는 토큰, 압축 등 이 엔진이 다루지 않는 토큰은 jjwt 로 처리
+        if (!header.supported() || secondDot == token.length() - 1) {
+            return null;
+        }
+        JwtSigningKey key = ring.find(header.keyId());
+        if (key == null) {
+            return TokenParseResult.failure(TokenStatus.INVALID_SIGNATURE);
+        }
+        if (key.getAlgorithm() != SignatureAlgorithm.HS256) {
+            return null;
+        }
+
+        MacPool pool = pool(key);
+        int stripe = pool.stripe();
+        MacPool.Slot slot = pool.acquire(stripe);
+        TokenParseResult result = verifySignature(token, secondDot, slot);
+        if (result == null) {
+            // 서명이 맞는 토큰의 헤더만 보관하므로 임의로 만든 헤더가 자리를 차지하지 못함
+            remember(header);
+            result = parseClaims(token, firstDot, secondDot, slot);
+        }
+        pool.release(stripe, slot);
+        return result;
+    }
+
+    /**
+     * 키가 키 묶음에서 제거되면 해당 키의 Mac 과 헤더를 정리
+     */
+    public void evict(JwtSigningKey key) {
+        pools.remove(key);
+        headers.removeIf(header -> key.getKeyId().equals(header.keyId()));
+    }
+
+    /**
+     * 서명이 맞으면 null, 아니면 실패 결과
+     */
+    private TokenParseResult verifySignature(String token, int secondDot, MacPool.Slot slot) {
+        // 길이가 다르거나 Base64URL 이 아니면 jjwt 와 같이 서명 불일치로 처리
+        if (token.length() - secondDot - 1 != SIGNATURE_LENGTH
+                || Base64Url.decode(token, secondDot + 1, token.length(), slot.signature) < 0) {
+            return TokenParseResult.failure(TokenStatus.INVALID_SIGNATURE);
+        }
+
+        byte[] buffer = slot.buffer(secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c > 127) {
+                return TokenParseResult.failure(TokenStatus.MALFORMED);
+            }
+            buffer[i] = (byte) c;
+        }
+        try {
+            slot.mac.update(buffer, 0, secondDot);
+            slot.mac.doFinal(slot.digest, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        if (!MessageDigest.isEqual(slot.digest, slot.signature)) {
+            return TokenParseResult.failure(TokenStatus.INVALID_SIGNATURE);
+        }
+        return null;
+    }
+
+    private TokenParseResult parseClaims(String token, int firstDot, int secondDot, MacPool.Slot slot) {
+        byte[] buffer = slot.buffer(Base64Url.maxDecodedLength(secondDot - firstDot - 1));
+        int payloadLength = Base64Url.decode(token, firstDot + 1, secondDot, buffer);
+        if (payloadLength < 0) {
+            return TokenParseResult.failure(TokenStatus.MALFORMED);
+        }
+        // jjwt 는 JSON 객체 모양이 아닌 payload 를 plaintext 로 보고 지원하지 않음
+        if (payloadLength == 0 || buffer[0] != '{' || buffer[payloadLength - 1] != '}') {
+            return TokenParseResult.failure(TokenStatus.UNSUPPORTED);
+        }
+        Claims claims;
+        try {
+            claims = Jwts.claims(OBJECT_MAPPER.readValue(buffer, 0, payloadLength, MAP_TYPE));
+        } catch (IOException | RuntimeException e) {
+            return TokenParseResult.failure(TokenStatus.MALFORMED);
+        }
+
+        long now = System.currentTimeMillis();
+        try {
+            Date expiration = claims.getExpiration();
+            if (expiration != null && now > expiration.getTime()) {
+                return TokenParseResult.expired(claims);
+            }
+            // jjwt 와 같이 아직 사용할 수 없는 토큰은 잘못된 토큰으로 처리
+            Date notBefore = claims.getNotBefore();
+            if (notBefore != null && now < notBefore.getTime()) {
+                return TokenParseResult.failure(TokenStatus.MALFORMED);
+            }
+        } catch (RuntimeException e) {
+            return TokenParseResult.failure(TokenStatus.MALFORMED);
+        }
+        return TokenParseResult.valid(claims);
+    }
+
+    private Header header(String token, int end) {
+        for (Header header : headers) {
+            if (header.encoded().length() == end && token.regionMatches(0, header.encoded(), 0, end)) {
+                return header;
+            }
+        }
+        byte[] decoded = new byte[Base64Url.maxDecodedLength(end) + 2];
+        int length = Base64Url.decode(token, 0, end, decoded);
+        if (length < 0) {
+            return null;
+        }
+        Map<String, Object> fields;
+        try {
+            fields = OBJECT_MAPPER.readValue(decoded, 0, length, MAP_TYPE);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        boolean supported = HS256.equals(fields.get(JwsHeader.ALGORITHM))
+                && !fields.containsKey(JwsHeader.COMPRESSION_ALGORITHM) && !fields.containsKey("crit");
+        Object keyId = fields.get(JwsHeader.KEY_ID);
+        return new Header(token.substring(0, end), supported, keyId instanceof String value ? value : null);
+    }
+
+    private void remember(Header header) {
+        // 키마다 헤더가 한 가지뿐이지만 같은 키로 서명된 다른 모양의 헤더로 목록이 커지지 않도록 제한
+        if (headers.size() < MAX_HEADERS) {
+            headers.addIfAbsent(header);
+        }
+    }
+
+    int cachedHeaders() {
+        return headers.size();
+    }
+
+    boolean hasPool(JwtSigningKey key) {
+        return pools.containsKey(key);
+    }
+
+    private byte[] encodedHeader(JwtSigningKey key) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put(JwsHeader.KEY_ID, key.getKeyId());
+        header.put(JwsHeader.ALGORITHM, HS256);
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(header);
+            byte[] encoded = new byte[Base64Url.encodedLength(json.length)];
+            Base64Url.encode(json, 0, json.length, encoded, 0);
+            return encoded;
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT 헤더를 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private Map<String, Object> toJsonClaims(Map<String, Object> claims) {
+        Map<String, Object> json = new LinkedHashMap<>(claims);
+        json.replaceAll((name, value) -> value instanceof Date date ? date.getTime() / 1000 : value);
+        return json;
+    }
+
+    private MacPool pool(JwtSigningKey key) {
+        return pools.computeIfAbsent(key, k -> new MacPool(k.getSigningKey(), stripes));
+    }
+
+    private record Header(String encoded, boolean supported, String keyId) {
+    }
+}
@@ -0,0 +1,300 @@
+package store.buzzbook.authserver.jwt;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * kid 로 구분되는 서명 키 묶음입니다.
+ * 새 토큰은 현재 키로 서명하고, 검증할 때는 토큰 헤더의 kid 로 키를 바로 찾으므로 키를 하나씩 시도하지 않습니다.
+ *
+ * <p>다른 키로 교체하면 이전 키는 overlap 동안 검증에만 사용되다가 제거되므로, 교체 시점에 발급된 토큰도
+ * 만료될 때까지 그대로 사용할 수 있습니다. kid 가 없는 토큰(키 묶음 도입 전 발급)은 처음 등록된 키로 검증합니다.
+ *
+ * <p>여러 노드가 같은 시각에 교체하도록, 공유 설정의 키는 {@link #apply(List)} 로 전환 시각과 함께 등록합니다.
+ * 등록된 키는 전환 전부터 검증에 쓰이고, 전환 시각이 지나면 서명 키가 되며 이전 키는 전환 시각 + overlap 에 제거됩니다.
+ * 제거 시각이 노드의 교체 시점이 아닌 설정의 전환 시각으로 정해지므로 모든 노드에서 같습니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+    private static final long ACTIVE = Long.MAX_VALUE;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final Duration overlap;
+    private final String legacyKeyId;
+    private final Map<String, Entry> keys = new ConcurrentHashMap<>();
+    private final List<Consumer<JwtSigningKey>> retireListeners = new CopyOnWriteArrayList<>();
+    // 마지막으로 apply 한 공유 설정의 kid, 설정에서 빠진 키를 제거하기 위함
+    private Set<String> configured = Set.of();
+    private volatile JwtSigningKey current;
+    private volatile long nextActivationMillis = NEVER;
+
+    public JwtKeyRing(JwtSigningKey initial, Duration overlap) {
+        this.overlap = overlap;
+        this.legacyKeyId = initial.getKeyId();
+        this.current = initial;
+        keys.put(initial.getKeyId(), new Entry(initial, 0, ACTIVE));
+    }
+
+    /**
+     * 키가 키 묶음에서 제거될 때 호출할 listener, 키별로 만들어 둔 자원을 정리하는 데 사용
+     */
+    public void onRetire(Consumer<JwtSigningKey> listener) {
+        retireListeners.add(listener);
+    }
+
+    /**
+     * 새 토큰을 서명할 키, 예약된 전환 시각이 지났으면 먼저 전환
+     */
+    public JwtSigningKey current() {
+        if (System.currentTimeMillis() >= nextActivationMillis) {
+            promote();
+        }
+        return current;
+    }
+
+    /**
+     * 공유 설정의 키 목록을 반영, 처음 보는 키는 등록하고 이전 설정에 있었지만 빠진 키는 제거
+     * 모든 노드가 같은 설정을 받으므로 전환과 제거가 노드마다 같은 시각에 일어남
+     */
+    public synchronized void apply(List<ScheduledKey> scheduledKeys) {
+        Set<String> kids = new HashSet<>();
+        for (ScheduledKey scheduled : scheduledKeys) {
+            String kid = scheduled.key().getKeyId();
+            kids.add(kid);
+            Entry existing = keys.get(kid);
+            if (existing != null && existing.key() == current) {
+                // 이미 서명 중인 키는 다음 키로 전환될 때까지 그대로 둠
+                continue;
+            }
+            // 같은 kid 의 키 값은 바꾸지 않음, 새 키 값은 새 kid 로 등록
+            JwtSigningKey key = existing != null ? existing.key() : scheduled.key();
+            keys.put(kid, new Entry(key, toMillis(scheduled.activateAt(), NEVER),
+                    toMillis(scheduled.retireAt(), ACTIVE)));
+        }
+        for (String kid : configured) {
+            if (!kids.contains(kid) && !current.getKeyId().equals(kid)) {
+                remove(kid, "설정에서 빠진 서명 키 {} 를 제거했습니다.");
+            }
+        }
+        configured = Set.copyOf(kids);
+        promote();
+        log.info("서명 키 설정을 반영했습니다. {}", describe());
+    }
+
+    private static long toMillis(Instant instant, long defaultMillis) {
+        return instant != null ? instant.toEpochMilli() : defaultMillis;
+    }
+
+    /**
+     * 검증에만 사용할 키 등록, 공개키라면 서명에 쓰기 전에 JWKS 로 먼저 배포할 수 있음
+     */
+    public synchronized void add(JwtSigningKey key) {
+        prune();
+        Entry existing = keys.get(key.getKeyId());
+        if (existing != null && existing.isUsable(System.currentTimeMillis())) {
+            throw new IllegalArgumentException("이미 등록된 kid 입니다: " + key.getKeyId());
+        }
+        keys.put(key.getKeyId(), new Entry(key, NEVER, ACTIVE));
+        log.info("서명 키 {} 를 등록했습니다.", key.getKeyId());
+    }
+
+    /**
+     * 등록된 키를 지금 서명 키로 전환, 이전 키는 overlap 이 지나면 제거
+     */
+    public synchronized void activate(String kid) {
+        Entry entry = keys.get(kid);
+        if (entry == null || !entry.isUsable(System.currentTimeMillis())) {
+            throw new IllegalArgumentException("등록되지 않은 kid 입니다: " + kid);
+        }
+        if (current.getKeyId().equals(kid)) {
+            return;
+        }
+        keys.put(kid, new Entry(entry.key(), System.currentTimeMillis(), ACTIVE));
+        promote();
+    }
+
+    /**
+     * 전환 시각이 지난 키 중 가장 늦게 전환된 키를 서명 키로 두고, 그보다 먼저 전환된 키는
+     * 다음 키의 전환 시각 + overlap 에 제거되도록 함
+     */
+    private synchronized void promote() {
+        prune();
+        long now = System.currentTimeMillis();
+        List<Entry> activated = new ArrayList<>();
+        long next = NEVER;
+        for (Entry entry : keys.values()) {
+            if (!entry.isUsable(now)) {
+                continue;
+            }
+            if (entry.activateAtMillis() <= now) {
+                activated.add(entry);
+            } else if (entry.activateAtMillis() != NEVER) {
+                next = Math.min(next, entry.activateAtMillis());
+            }
+        }
+        // 같은 시각에 전환된 키가 있으면 지금 서명 중인 키가 먼저, 방금 전환한 키가 나중
+        activated.sort(Comparator.comparingLong(Entry::activateAtMillis)
+                .thenComparing(entry -> entry.key() != current));
+        for (int i = 0; i + 1 < activated.size(); i++) {
+            Entry entry = activated.get(i);
+            long retireAt = Math.min(entry.retireAtMillis(),
+                    activated.get(i + 1).activateAtMillis() + overlap.toMillis());
+            keys.put(entry.key().getKeyId(), new Entry(entry.key(), entry.activateAtMillis(), retireAt));
+        }
+        nextActivationMillis = next;
+        if (activated.isEmpty()) {
+            return;
+        }
+        JwtSigningKey latest = activated.get(activated.size() - 1).key();
+        JwtSigningKey previous = current;
+        if (latest != previous) {
+            current = latest;
+            log.info("서명 키를 {} 에서 {} 로 교체했습니다. 이전 키는 {} 후 제거됩니다.", previous.getKeyId(),
+                    latest.getKeyId(), overlap);
+        }
+    }
+
+    /**
+     * 새 키를 등록하고 바로 서명 키로 전환
+     */
+    public synchronized void rotate(JwtSigningKey key) {
+        add(key);
+        activate(key.getKeyId());
+    }
+
+    /**
+     * overlap 을 기다리지 않고 키를 제거, 이 키로 서명된 토큰은 더 이상 검증되지 않음
+     */
+    public synchronized void retire(String kid) {
+        if (current.getKeyId().equals(kid)) {
+            throw new IllegalStateException("현재 서명 키는 제거할 수 없습니다: " + kid);
+        }
+        remove(kid, "서명 키 {} 를 제거했습니다.");
+    }
+
+    private void remove(String kid, String message) {
+        Entry removed = keys.remove(kid);
+        if (removed != null) {
+            log.info(message, kid);
+            retireListeners.forEach(listener -> listener.accept(removed.key()));
+        }
+    }
+
+    /**
+     * kid 에 해당하는 검증 키, 없거나 overlap 이 지났으면 null
+     */
+    public JwtSigningKey find(String kid) {
+        Entry entry = keys.get(kid == null ? legacyKeyId : kid);
+        return entry != null && entry.isUsable(System.currentTimeMillis()) ? entry.key() : null;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return resolve(header);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+        return resolve(header);
+    }
+
+    private Key resolve(JwsHeader header) {
+        JwtSigningKey key = find(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("알 수 없는 kid 입니다: " + header.getKeyId());
+        }
+        // 헤더의 alg 를 바꿔 다른 방식으로 검증하게 만드는 토큰은 거부
+        if (!key.getAlgorithm().getValue().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("kid 의 키가 지원하지 않는 alg 입니다: " + header.getAlgorithm());
+        }
+        return key.getVerificationKey();
+    }
+
+    /**
+     * 검증에 사용할 수 있는 공개키의 JWK 목록, 현재 서명 키가 먼저
+     */
+    public List<Map<String, Object>> getPublicJwks() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        JwtSigningKey signing = current;
+        if (signing.getPublicJwk() != null) {
+            jwks.add(signing.getPublicJwk());
+        }
+        for (Entry entry : keys.values()) {
+            if (entry.key() != signing && entry.key().getPublicJwk() != null && entry.isUsable(now)) {
+                jwks.add(entry.key().getPublicJwk());
+            }
+        }
+        return jwks;
+    }
+
+    /**
+     * 등록된 키의 kid, 서명 방식, 제거 예정 시각 (키 값은 포함하지 않음)
+     */
+    public List<Map<String, Object>> describe() {
+        long now = System.currentTimeMillis();
+        JwtSigningKey signing = current;
+        List<Map<String, Object>> description = new ArrayList<>();
+        for (Entry entry : keys.values()) {
+            if (!entry.isUsable(now)) {
+                continue;
+            }
+            Map<String, Object> key = new LinkedHashMap<>();
+            key.put("kid", entry.key().getKeyId());
+            key.put("algorithm", entry.key().getAlgorithm().getValue());
+            key.put("current", entry.key() == signing);
+            if (entry.activateAtMillis() != NEVER && entry.activateAtMillis() > now) {
+                key.put("activateAt", Instant.ofEpochMilli(entry.activateAtMillis()).toString());
+            }
+            if (entry.retireAtMillis() != ACTIVE) {
+                key.put("retireAt", Instant.ofEpochMilli(entry.retireAtMillis()).toString());
+            }
+            description.add(key);
+        }
+        return description;
+    }
+
+    private void prune() {
+        long now = System.currentTimeMillis();
+        for (Entry entry : keys.values()) {
+            if (!entry.isUsable(now)) {
+                remove(entry.key().getKeyId(), "overlap 이 지난 서명 키 {} 를 제거했습니다.");
+            }
+        }
+    }
+
+    /**
+     * 공유 설정의 키 하나
+     *
+     * @param activateAt 서명 키로 전환할 시각, null 이면 검증에만 사용
+     * @param retireAt   제거할 시각, null 이면 다음 키로 전환된 뒤 overlap 이 지나 제거
+     */
+    public record ScheduledKey(JwtSigningKey key, Instant activateAt, Instant retireAt) {
+    }
+
+    private record Entry(JwtSigningKey key, long activateAtMillis, long retireAtMillis) {
+        boolean isUsable(long now) {
+            return retireAtMillis > now;
+        }
+    }
+}
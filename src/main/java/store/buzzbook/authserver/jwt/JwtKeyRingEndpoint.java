@@ -0,0 +1,57 @@
+package store.buzzbook.authserver.jwt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서명 키 묶음의 상태를 보여주는 읽기 전용 actuator endpoint 입니다. ({@code /actuator/signingkeys})
+ * 키 등록, 교체, 제거는 모든 노드가 같은 시각에 하도록 공유 설정으로만 합니다. ({@link store.buzzbook.authserver.config.JwtKeySchedule})
+ *
+ * <ul>
+ *     <li>GET: 키 묶음별 kid, 전환 예정 시각, 제거 예정 시각</li>
+ *     <li>GET {@code /{ring}}: 해당 키 묶음만</li>
+ * </ul>
+ *
+ * @author 김성호
+ */
+@Component
+@Endpoint(id = "signingkeys")
+public class JwtKeyRingEndpoint {
+    private final Map<String, JwtKeyRing> rings;
+
+    public JwtKeyRingEndpoint(@Qualifier("accessKeyRing") JwtKeyRing accessKeyRing,
+                              @Qualifier("refreshKeyRing") JwtKeyRing refreshKeyRing) {
+        Map<String, JwtKeyRing> map = new LinkedHashMap<>();
+        map.put("access", accessKeyRing);
+        map.put("refresh", refreshKeyRing);
+        this.rings = Collections.unmodifiableMap(map);
+    }
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> keys() {
+        Map<String, List<Map<String, Object>>> keys = new LinkedHashMap<>();
+        rings.forEach((name, ring) -> keys.put(name, ring.describe()));
+        return keys;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> keys(@Selector String ring) {
+        return ring(ring).describe();
+    }
+
+    private JwtKeyRing ring(String name) {
+        JwtKeyRing ring = rings.get(name);
+        if (ring == null) {
+            throw new IllegalArgumentException("알 수 없는 키 묶음입니다: " + name);
+        }
+        return ring;
+    }
+}
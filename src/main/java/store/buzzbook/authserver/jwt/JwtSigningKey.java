@@ -0,0 +1,160 @@
+package store.buzzbook.authserver.jwt;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * 토큰을 서명하고 검증하는 키 하나와 그 kid 입니다.
+ * HS256 은 이 서버만 검증할 수 있는 공유 비밀키를, ES256 은 개인키로 서명하고 공개키를 JWKS 로 공개하여
+ * 다른 서비스가 {@code /api/auth/info} 호출 없이 토큰을 직접 검증할 수 있도록 합니다.
+ *
+ * <p>ES256 키는 kid 를 지정하지 않으면 공개키의 JWK thumbprint(RFC 7638)를 사용합니다.
+ * HS256 키의 thumbprint 는 비밀키의 해시이므로 토큰 헤더에 실을 수 없어 kid 를 반드시 지정해야 합니다.
+ *
+ * @author 김성호
+ */
+public final class JwtSigningKey {
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final int P256_COORDINATE_LENGTH = 32;
+
+    private final SignatureAlgorithm algorithm;
+    private final Key signingKey;
+    private final Key verificationKey;
+    private final String keyId;
+    private final Map<String, Object> jwk;
+
+    private JwtSigningKey(SignatureAlgorithm algorithm, Key signingKey, Key verificationKey, String keyId,
+                          Map<String, Object> jwk) {
+        this.algorithm = algorithm;
+        this.signingKey = signingKey;
+        this.verificationKey = verificationKey;
+        this.keyId = keyId;
+        this.jwk = jwk;
+    }
+
+    /**
+     * 공유 비밀키로 HS256 서명, 공개할 키가 없으므로 JWK 는 없음
+     * 모든 노드가 같은 kid 를 써야 하므로 설정의 kid 가 필요
+     */
+    public static JwtSigningKey hmac(String keyId, String secret) {
+        if (keyId == null || keyId.isBlank()) {
+            throw new IllegalArgumentException("HS256 키에는 kid 가 필요합니다.");
+        }
+        Key key = Keys.hmacShaKeyFor(secret.getBytes());
+        return new JwtSigningKey(SignatureAlgorithm.HS256, key, key, keyId, null);
+    }
+
+    /**
+     * P-256 키 쌍으로 ES256 서명
+     */
+    public static JwtSigningKey ec(KeyPair keyPair) {
+        return ec(null, keyPair);
+    }
+
+    public static JwtSigningKey ec(String keyId, KeyPair keyPair) {
+        if (!(keyPair.getPublic() instanceof ECPublicKey publicKey)
+                || publicKey.getParams().getCurve().getField().getFieldSize() != 256) {
+            throw new IllegalArgumentException("ES256 에는 P-256 키 쌍이 필요합니다.");
+        }
+        String x = BASE64_URL.encodeToString(coordinate(publicKey.getW().getAffineX()));
+        String y = BASE64_URL.encodeToString(coordinate(publicKey.getW().getAffineY()));
+        // thumbprint 는 필수 멤버만 사전순으로 나열한 JSON 의 SHA-256
+        String kid = keyId != null ? keyId
+                : thumbprint("{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + x + "\",\"y\":\"" + y + "\"}");
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("x", x);
+        jwk.put("y", y);
+        jwk.put("use", "sig");
+        jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+        jwk.put("kid", kid);
+        return new JwtSigningKey(SignatureAlgorithm.ES256, keyPair.getPrivate(), publicKey, kid,
+                Collections.unmodifiableMap(jwk));
+    }
+
+    /**
+     * Base64 로 인코딩된 PKCS#8 개인키와 X.509 공개키(PEM 헤더 허용)로 ES256 키 생성
+     */
+    public static JwtSigningKey ec(String privateKey, String publicKey) {
+        return ec(null, privateKey, publicKey);
+    }
+
+    public static JwtSigningKey ec(String keyId, String privateKey, String publicKey) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PrivateKey ecPrivateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKey)));
+            PublicKey ecPublicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKey)));
+            return ec(keyId, new KeyPair(ecPublicKey, ecPrivateKey));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("ES256 키를 읽을 수 없습니다.", e);
+        }
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public Key getVerificationKey() {
+        return verificationKey;
+    }
+
+    /**
+     * 토큰 헤더에 넣을 kid
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * 공개할 JWK, HS256 이면 null
+     */
+    public Map<String, Object> getPublicJwk() {
+        return jwk;
+    }
+
+    private static byte[] coordinate(BigInteger value) {
+        // BigInteger 는 부호 바이트가 붙거나 앞자리 0 이 빠질 수 있으므로 32바이트로 맞춤
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, fixed, P256_COORDINATE_LENGTH - length, length);
+        return fixed;
+    }
+
+    private static String thumbprint(String canonicalJwk) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonicalJwk.getBytes(StandardCharsets.UTF_8));
+            return BASE64_URL.encodeToString(hash);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String body = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
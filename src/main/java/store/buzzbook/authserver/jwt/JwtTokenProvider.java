@@ -1,89 +1,185 @@
 package store.buzzbook.authserver.jwt;
 
-import java.security.Key;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import store.buzzbook.authserver.cache.RevokedSessionRegistry;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
 import store.buzzbook.authserver.dto.AuthDTO;
 import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.dto.TokenInfoResult;
+import store.buzzbook.authserver.redis.SessionCodec;
 import store.buzzbook.authserver.service.RedisService;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
-    private final Key tokenKey;
-    private final Key refreshTokenKey;
+    private final JwtKeyRing accessKeyRing;
+    private final JwtKeyRing refreshKeyRing;
+    private final JwtParser accessTokenParser;
+    private final JwtParser refreshTokenParser;
     private final RedisService redisService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final boolean stateless;
+    private final HmacJwtEngine hmacJwtEngine;
+    private final TokenMetrics tokenMetrics;
 
     private static final String USERID = "userId";
-    private static final String ROLE = "role";
-    private static final String LOGINID = "loginId";
-
-    public JwtTokenProvider(@Value("${jwt.secret}") String tokenKey,
-                            @Value("${jwt.refresh}") String refreshTokenKey,
-                            RedisService redisService) {
-        this.tokenKey = Keys.hmacShaKeyFor(tokenKey.getBytes());
-        this.refreshTokenKey = Keys.hmacShaKeyFor(refreshTokenKey.getBytes());
+    private static final String USER_CLAIM = "user";
+
+    public JwtTokenProvider(@Qualifier("accessKeyRing") JwtKeyRing accessKeyRing,
+                            @Qualifier("refreshKeyRing") JwtKeyRing refreshKeyRing,
+                            RedisService redisService,
+                            VerifiedTokenCache verifiedTokenCache,
+                            RevokedSessionRegistry revokedSessionRegistry,
+                            @Value("${auth.access-token.stateless:false}") boolean stateless,
+                            HmacJwtEngine hmacJwtEngine,
+                            MeterRegistry meterRegistry) {
+        this.accessKeyRing = accessKeyRing;
+        this.refreshKeyRing = refreshKeyRing;
+        // JwtParser 는 불변이고 thread-safe 하므로 한 번만 만들어 재사용, 검증 키는 토큰의 kid 로 키 묶음에서 찾음
+        this.accessTokenParser = Jwts.parserBuilder().setSigningKeyResolver(accessKeyRing).build();
+        this.refreshTokenParser = Jwts.parserBuilder().setSigningKeyResolver(refreshKeyRing).build();
         this.redisService = redisService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revokedSessionRegistry = revokedSessionRegistry;
+        // stateless 토큰은 폐기 목록으로만 막을 수 있으므로 폐기 목록 없이 사용할 수 없음
+        if (stateless && !revokedSessionRegistry.isEnabled()) {
+            throw new IllegalStateException("stateless access token 에는 폐기 목록(revocation-filter)이 필요합니다.");
+        }
+        this.stateless = stateless;
+        this.hmacJwtEngine = hmacJwtEngine;
+        // 제거된 키의 Mac 을 엔진에 남겨 두지 않음
+        accessKeyRing.onRetire(hmacJwtEngine::evict);
+        refreshKeyRing.onRetire(hmacJwtEngine::evict);
+        this.tokenMetrics = new TokenMetrics(meterRegistry);
     }
 
     /**
      * 인증(Authentication) 객체를 기반으로 Access Token + Refresh Token 생성
      */
     public JwtResponse generateToken(AuthDTO authDTO) {
+        long start = System.nanoTime();
+        String outcome = TokenMetrics.ERROR;
+        try {
+            UUID uuid = UUID.randomUUID();
+            SessionRecord session = SessionRecord.from(authDTO);
+            JwtResponse response = issueTokens(uuid, session);
+
+            // Redis에 사용자 데이터 저장
+            redisService.saveUser(uuid.toString(), session);
+
+            outcome = TokenMetrics.OK;
+            return response;
+        } finally {
+            tokenMetrics.generate(outcome, start);
+        }
+    }
+
+    /**
+     * Token 갱신
+     */
+    public JwtResponse refreshAccessToken(String refreshToken) {
+        long start = System.nanoTime();
+        String outcome = TokenMetrics.ERROR;
+        try {
+            // refresh token 이 만료되지 않았을 때만 access token 갱신 가능
+            log.debug("Validating Refresh Token: {}", refreshToken);
+            TokenParseResult result = parseRefreshToken(refreshToken);
+            if (!result.isValid()) {
+                outcome = TokenMetrics.outcome(result.getStatus());
+                return null; // Refresh Token 이 유효하지 않으면 null 반환
+            }
+            String uuid = result.getClaims().get(USERID).toString();
+            UUID newUuid = UUID.randomUUID();
+
+            // 이전 세션 삭제와 새 세션 저장을 Redis 에서 한 번에 처리, 동시에 같은 refresh token 이 들어오면 하나만 성공
+            SessionRecord session = redisService.rotateUser(uuid, newUuid.toString());
+            checkRotatedSession(uuid, session);
+            log.debug("user 정보 확인 {} -> {}, {}", uuid, newUuid, session);
+
+            JwtResponse response = issueTokens(newUuid, session);
+            outcome = TokenMetrics.OK;
+            return response;
+        } finally {
+            tokenMetrics.refresh(outcome, start);
+        }
+    }
+
+    /**
+     * 재발급을 위해 옮겨진 세션이 존재하고 필요한 값을 모두 가지고 있는지 확인
+     */
+    public void checkRotatedSession(String uuid, SessionRecord session) {
+        if (session == null) {
+            log.error("User data not found for UUID: {}", uuid);
+            throw new IllegalStateException("User data not found");
+        }
+
+        // 필요한 필드가 모두 존재하는지 확인
+        if (!session.isComplete()) {
+            log.error("Incomplete user data: {}", session);
+            throw new IllegalStateException("Incomplete user data");
+        }
+    }
+
+    /**
+     * 세션 uuid 를 담은 Access Token + Refresh Token 생성
+     * stateless 모드에서는 access token 에 유저 정보도 함께 담는다
+     */
+    public JwtResponse issueTokens(UUID uuid, SessionRecord session) {
         // 현재 시간을 기준으로 30분 후와 24시간 후의 시간을 계산
         ZonedDateTime now = ZonedDateTime.now(ZoneId.of("Asia/Seoul"));
         Date issuedAt = Date.from(now.toInstant()); // 현재
         Date accessTokenExpiresIn = Date.from(now.plusMinutes(30).toInstant()); // 30분
         Date refreshTokenExpiresIn = Date.from(now.plusDays(1).toInstant()); // 1일
 
-        UUID uuid = UUID.randomUUID();
-        String accessToken = Jwts.builder()
-                .setSubject(uuid.toString()) // subSubject 는 JWT 의 주체를 의미
-                .setIssuedAt(issuedAt) // 발급시간
-                .setExpiration(accessTokenExpiresIn) // 유효기간
-                .claim("sub", "access_token")
-                .claim(USERID, uuid.toString())
-                .signWith(tokenKey, SignatureAlgorithm.HS256)
-                .compact();
-
-        String refreshToken = Jwts.builder()
-                .setIssuedAt(issuedAt)
-                .setExpiration(refreshTokenExpiresIn) // 24시간(1일)
-                .claim("sub", "refresh_token")
-                .claim(USERID, uuid.toString())
-                .signWith(refreshTokenKey, SignatureAlgorithm.HS256)
-                .compact();
+        // sub 는 JWT 의 주체를 의미, 토큰 종류를 구분하는 데 사용
+        Map<String, Object> accessClaims = new LinkedHashMap<>();
+        accessClaims.put(Claims.SUBJECT, TokenPrecheck.ACCESS_TOKEN);
+        accessClaims.put(Claims.ISSUED_AT, issuedAt); // 발급시간
+        accessClaims.put(Claims.EXPIRATION, accessTokenExpiresIn); // 유효기간
+        accessClaims.put(USERID, uuid.toString());
+        if (stateless && session != null) {
+            accessClaims.put(USER_CLAIM, toUserClaim(session));
+        }
+        String accessToken = sign(accessKeyRing.current(), accessClaims);
+
+        Map<String, Object> refreshClaims = new LinkedHashMap<>();
+        refreshClaims.put(Claims.ISSUED_AT, issuedAt);
+        refreshClaims.put(Claims.EXPIRATION, refreshTokenExpiresIn); // 24시간(1일)
+        refreshClaims.put(Claims.SUBJECT, TokenPrecheck.REFRESH_TOKEN);
+        refreshClaims.put(USERID, uuid.toString());
+        String refreshToken = sign(refreshKeyRing.current(), refreshClaims);
 
         // 로그 추가
         log.debug("Generated Access Token: {}", accessToken);
         log.debug("Generated Refresh Token: {}", refreshToken);
 
-        // Redis에 사용자 데이터 저장
-        Long userId = authDTO.getUserId();
-        String role = authDTO.getRole();
-        String loginId = authDTO.getLoginId();
-        Map<String, Object> userData = new HashMap<>();
-        userData.put(LOGINID, loginId);
-        userData.put(ROLE, role);
-        userData.put(USERID, userId);
-        redisService.saveUser(uuid.toString(), userData);
-
         return JwtResponse.builder()
                 .grantType("Bearer")
                 .accessToken(accessToken)
@@ -92,95 +188,113 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Token 갱신
+     * 검증할 때 키 묶음에서 바로 키를 찾을 수 있도록 kid 를 헤더에 기록하여 서명
+     * HS256 엔진을 사용하도록 설정했으면 jjwt 대신 엔진으로 서명
      */
-    public JwtResponse refreshAccessToken(String refreshToken) {
-        // refresh token 이 만료되지 않았을 때만 access token 갱신 가능
-        log.debug("Validating Refresh Token: {}", refreshToken);
-        if (validateRefreshToken(refreshToken)) {
-            Claims claims = parseClaims(refreshToken, refreshTokenKey);
-            String uuid = claims.get(USERID).toString();
-
-            // Redis에서 사용자 데이터 가져오기
-            Map<String, Object> userData = redisService.getUser(uuid);
-            if (userData == null) {
-                log.error("User data not found for UUID: {}", uuid);
-                throw new IllegalStateException("User data not found");
-            }
-
-            // 필요한 키들이 존재하는지 확인
-            if (!userData.containsKey(LOGINID) || !userData.containsKey(ROLE) || !userData.containsKey(USERID)) {
-                log.error("Incomplete user data: {}", userData);
-                throw new IllegalStateException("Incomplete user data");
-            }
-
-            // 재발급 하기 때문에 이전 정보 삭제 return generateToken(authDTO);  부분에서 레디스 저장 다시 됨
-            redisService.removeUser(uuid);
-
-            String loginId = (String) userData.get(LOGINID);
-            String role = (String) userData.get(ROLE);
-            Long userId = ((Number) userData.get(USERID)).longValue();
-
-            log.debug("user 정보 확인 {}, {}, {}, {}", uuid, loginId, role, userId);
-
-            AuthDTO authDTO = new AuthDTO();
-            authDTO.setLoginId(loginId);
-            authDTO.setRole(role);
-            authDTO.setUserId(userId);
-
-            return generateToken(authDTO);
-        } else {
-            return null; // Refresh Token 이 유효하지 않으면 null 반환
+    private String sign(JwtSigningKey key, Map<String, Object> claims) {
+        if (hmacJwtEngine.supports(key)) {
+            return hmacJwtEngine.sign(key, claims);
         }
+        JwtBuilder builder = Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, key.getKeyId());
+        // Date 는 jjwt 가 epoch 초로 기록하도록 전용 setter 로 설정
+        claims.forEach((name, value) -> {
+            if (Claims.ISSUED_AT.equals(name)) {
+                builder.setIssuedAt((Date) value);
+            } else if (Claims.EXPIRATION.equals(name)) {
+                builder.setExpiration((Date) value);
+            } else {
+                builder.claim(name, value);
+            }
+        });
+        return builder.signWith(key.getSigningKey(), key.getAlgorithm()).compact();
     }
 
     /**
      * 토큰 정보를 검증하여 유효성 확인
      */
     public boolean validateToken(String token) {
-        return validateTokenWithKey(token, tokenKey);
+        return validate(token, TokenMetrics.ACCESS);
     }
 
     /**
      * Refresh Token 정보를 검증하여 유효성 확인
      */
     public boolean validateRefreshToken(String token) {
-        return validateTokenWithKey(token, refreshTokenKey);
+        return validate(token, TokenMetrics.REFRESH);
+    }
+
+    /**
+     * access token 을 한 번만 검증하고 결과와 Claims 를 함께 반환
+     */
+    public TokenParseResult parseAccessToken(String token) {
+        long start = System.nanoTime();
+        TokenParseResult result = parseToken(token, accessTokenParser, accessKeyRing);
+        tokenMetrics.parse(TokenMetrics.ACCESS, result.getStatus(), start);
+        return result;
+    }
+
+    /**
+     * refresh token 을 한 번만 검증하고 결과와 Claims 를 함께 반환
+     */
+    public TokenParseResult parseRefreshToken(String token) {
+        long start = System.nanoTime();
+        TokenParseResult result = parseToken(token, refreshTokenParser, refreshKeyRing);
+        tokenMetrics.parse(TokenMetrics.REFRESH, result.getStatus(), start);
+        return result;
+    }
+
+    private boolean validate(String token, String type) {
+        long start = System.nanoTime();
+        TokenParseResult result = TokenMetrics.ACCESS.equals(type) ? parseAccessToken(token) : parseRefreshToken(token);
+        tokenMetrics.validate(type, result.getStatus(), start);
+        return isValidOrThrow(result);
+    }
+
+    private boolean isValidOrThrow(TokenParseResult result) {
+        if (result.getStatus() == TokenStatus.INVALID_SIGNATURE) {
+            throw new RuntimeException("JWT 서명이 일치하지 않습니다.");
+        }
+        return result.isValid();
     }
 
-    private boolean validateTokenWithKey(String token, Key key) {
+    private TokenParseResult parseToken(String token, JwtParser parser, JwtKeyRing keyRing) {
+        if (token == null) {
+            log.debug("JWT Token 정보가 비어있습니다.");
+            return TokenParseResult.failure(TokenStatus.EMPTY);
+        }
+        TokenParseResult engineResult = hmacJwtEngine.parse(token.trim(), keyRing);
+        if (engineResult != null) {
+            return engineResult;
+        }
         try {
-            token = token.trim();
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException | MalformedJwtException e) {
-            log.debug("잘못된 JWT Token 입니다.", e);
+            return TokenParseResult.valid(parser.parseClaimsJws(token.trim()).getBody());
         } catch (ExpiredJwtException e) {
             log.debug("만료된 JWT Token 입니다.", e);
+            return TokenParseResult.expired(e.getClaims());
+        } catch (io.jsonwebtoken.security.SignatureException e) {
+            log.debug("JWT 서명이 일치하지 않습니다.", e);
+            return TokenParseResult.failure(TokenStatus.INVALID_SIGNATURE);
+        } catch (SecurityException | MalformedJwtException e) {
+            log.debug("잘못된 JWT Token 입니다.", e);
+            return TokenParseResult.failure(TokenStatus.MALFORMED);
         } catch (UnsupportedJwtException e) {
             log.debug("지원하지 않는 JWT Token 입니다.", e);
+            return TokenParseResult.failure(TokenStatus.UNSUPPORTED);
         } catch (IllegalArgumentException e) {
             log.debug("JWT Token 정보가 비어있습니다.", e);
-        } catch (io.jsonwebtoken.security.SignatureException e) {
-            log.debug("JWT 서명이 일치하지 않습니다.", e);
-             throw new RuntimeException("JWT 서명이 일치하지 않습니다.");
+            return TokenParseResult.failure(TokenStatus.EMPTY);
         } catch (RuntimeException e) {
             log.debug("RuntimeException {}", e.getMessage());
+            return TokenParseResult.failure(TokenStatus.MALFORMED);
         }
-        return false;
     }
 
     /**
      * 주어진 Token 을 복호화 하고, 만료된 토큰인 경우에도 Claims 반환
      */
-    private Claims parseClaims(String token, Key key) {
+    private Claims parseClaims(String token, JwtParser parser) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
+            return parser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -191,17 +305,162 @@ public class JwtTokenProvider {
     /**
      * 주어진 access Token 에서 유저정보를 추출
      */
-    public Map<String, Object> getUserInfoFromToken(String token) {
-        Claims claims = parseClaims(token, tokenKey);
-        String uuid = claims.get(USERID, String.class);
-        return getUserInfoFromUUID(uuid);
+    public SessionRecord getUserInfoFromToken(String token) {
+        // 이미 검증한 토큰이면 서명 검증과 Redis 조회를 건너뜀
+        SessionRecord cached = getCachedUserInfo(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        // stateless 모드로 발급된 토큰이면 Redis 조회 없이 Claims 로 응답
+        TokenParseResult result = parseAccessToken(token);
+        SessionRecord stateless = getStatelessUserInfo(result);
+        if (stateless != null) {
+            return stateless;
+        }
+
+        // 만료된 토큰도 세션을 조회, 그 외에는 jjwt 가 던지는 예외를 그대로 전달
+        Claims claims = result.isValid() || result.getStatus() == TokenStatus.EXPIRED
+                ? result.getClaims() : parseClaims(token, accessTokenParser);
+        SessionRecord session = getUserInfoFromUUID(claims.get(USERID, String.class));
+        cacheUserInfo(token, claims, session);
+        return session;
+    }
+
+    /**
+     * 여러 access token 의 유저정보를 한 번에 조회, 결과는 요청한 토큰 순서와 같음
+     * 서명 검증은 요청 스레드에서 차례로 수행하고, 캐시에 없는 세션은 한 번의 파이프라인으로 Redis 에서 가져온다
+     * stateless 모드의 폐기 확인은 Redis 를 기다릴 수 있으므로 공용 ForkJoinPool 에서 병렬로 돌리지 않음
+     */
+    public List<TokenInfoResult> getUserInfoFromTokens(List<String> tokens) {
+        TokenInfoResult[] results = new TokenInfoResult[tokens.size()];
+        TokenParseResult[] parsed = new TokenParseResult[tokens.size()];
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            SessionRecord cached = token == null ? null : getCachedUserInfo(token);
+            if (cached != null) {
+                results[i] = TokenInfoResult.ok(cached);
+                continue;
+            }
+            // 모양만 보고 거를 수 있는 토큰은 서명 검증 없이 바로 응답
+            PrecheckResult precheck = TokenPrecheck.checkAccessToken(token);
+            if (precheck != PrecheckResult.PASSED && precheck != PrecheckResult.EXPIRED) {
+                results[i] = TokenInfoResult.loginAgain(precheck.name());
+                continue;
+            }
+            // /info 와 같이 만료된 access token 도 서명만 맞으면 세션을 조회
+            TokenParseResult result = parseAccessToken(token);
+            try {
+                SessionRecord stateless = getStatelessUserInfo(result);
+                if (stateless != null) {
+                    results[i] = TokenInfoResult.ok(stateless);
+                    continue;
+                }
+            } catch (IllegalStateException e) {
+                results[i] = TokenInfoResult.loginAgain(e.getMessage());
+                continue;
+            }
+            if (result.isValid() || result.getStatus() == TokenStatus.EXPIRED) {
+                parsed[i] = result;
+            } else {
+                results[i] = TokenInfoResult.loginAgain(result.getStatus().name());
+            }
+        }
+
+        List<Integer> lookups = new ArrayList<>();
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < parsed.length; i++) {
+            if (parsed[i] != null) {
+                lookups.add(i);
+                uuids.add(parsed[i].getUuid());
+            }
+        }
+        List<SessionRecord> sessions = redisService.getUsers(uuids);
+        for (int j = 0; j < lookups.size(); j++) {
+            int i = lookups.get(j);
+            SessionRecord session = sessions.get(j);
+            if (session == null) {
+                results[i] = TokenInfoResult.loginAgain("User data not found");
+            } else {
+                cacheUserInfo(tokens.get(i), parsed[i].getClaims(), session);
+                results[i] = TokenInfoResult.ok(session);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * stateless 모드로 발급된 유효한 access token 이면 Claims 의 유저 정보를 반환, 그 외에는 null
+     * 폐기된 세션의 토큰이면 예외
+     */
+    public SessionRecord getStatelessUserInfo(TokenParseResult result) {
+        SessionRecord session = statelessSession(result);
+        if (session != null && revokedSessionRegistry.isRevoked(result.getUuid())) {
+            throw new IllegalStateException("Revoked session");
+        }
+        return session;
+    }
+
+    /**
+     * {@link #getStatelessUserInfo} 의 논블로킹 버전, stateless 토큰이 아니면 빈 Mono
+     * 폐기 여부를 Redis 에서 확인해야 하면 event loop 밖에서 확인
+     */
+    public Mono<SessionRecord> getStatelessUserInfoReactive(TokenParseResult result) {
+        SessionRecord session = statelessSession(result);
+        if (session == null) {
+            return Mono.empty();
+        }
+        return revokedSessionRegistry.isRevokedReactive(result.getUuid())
+                .flatMap(revoked -> revoked
+                        ? Mono.error(new IllegalStateException("Revoked session"))
+                        : Mono.just(session));
+    }
+
+    private SessionRecord statelessSession(TokenParseResult result) {
+        if (!stateless || !result.isValid()) {
+            return null;
+        }
+        Map<?, ?> user = result.getClaims().get(USER_CLAIM, Map.class);
+        if (user == null) {
+            return null;
+        }
+        Object userId = user.get(SessionCodec.USER_ID);
+        return new SessionRecord((String) user.get(SessionCodec.LOGIN_ID), (String) user.get(SessionCodec.ROLE),
+                userId instanceof Number number ? number.longValue() : null);
+    }
+
+    private Map<String, Object> toUserClaim(SessionRecord session) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put(SessionCodec.LOGIN_ID, session.loginId());
+        user.put(SessionCodec.ROLE, session.role());
+        user.put(SessionCodec.USER_ID, session.userId());
+        user.values().removeIf(Objects::isNull);
+        return user;
+    }
+
+    /**
+     * 이미 검증되어 캐시에 있는 access token 의 세션, 없으면 null
+     */
+    public SessionRecord getCachedUserInfo(String token) {
+        return verifiedTokenCache.get(token);
+    }
+
+    /**
+     * 서명 검증이 끝난 access token 과 Redis 에서 읽은 세션을 캐시에 저장, 세션이 없으면 예외
+     */
+    public void cacheUserInfo(String token, Claims claims, SessionRecord session) {
+        if (session == null) {
+            throw new IllegalStateException("User data not found");
+        }
+        verifiedTokenCache.put(token, claims.get(USERID, String.class), claims.getExpiration(), session);
     }
 
     /**
      * access token 에서 uuid만 꺼내기
      */
     public String getUUIDFromAccessToken(String token) {
-        Claims claims = parseClaims(token, tokenKey);
+        Claims claims = parseClaims(token, accessTokenParser);
         return claims.get(USERID, String.class);
     }
 
@@ -209,14 +468,14 @@ public class JwtTokenProvider {
      * refresh token 에서 uuid 만 꺼내기 access token 재발급 용
      */
     public String getUUIDFromRefreshToken(String refreshToken) {
-        Claims claims = parseClaims(refreshToken, refreshTokenKey);
+        Claims claims = parseClaims(refreshToken, refreshTokenParser);
         return claims.get(USERID, String.class);
     }
 
     /**
-     * uuid 로 redis 에서 유저정보 가져오기
+     * uuid 로 redis 에서 유저정보 가져오기, 세션이 없으면 null
      */
-    public Map<String, Object> getUserInfoFromUUID(String uuid) {
+    public SessionRecord getUserInfoFromUUID(String uuid) {
         return redisService.getUser(uuid);
     }
 }
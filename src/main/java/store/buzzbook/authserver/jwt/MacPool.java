@@ -0,0 +1,86 @@
+package store.buzzbook.authserver.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.crypto.Mac;
+
+/**
+ * 키 하나에 대해 초기화가 끝난 {@link Mac} 과 작업 버퍼를 스트라이프별로 보관합니다.
+ * 가상 스레드에서는 ThreadLocal 이 요청마다 새로 만들어지므로, 스레드 id 로 고른 칸에서 꺼내 쓰고 돌려놓습니다.
+ * 칸이 비어 있으면(다른 스레드가 사용 중) 미리 초기화해 둔 Mac 을 clone 하여 키 설정을 다시 하지 않습니다.
+ *
+ * @author 김성호
+ */
+final class MacPool {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Key key;
+    private final Mac prototype;
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+
+    MacPool(Key key, int stripes) {
+        this.key = key;
+        this.prototype = initMac();
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    int stripe() {
+        return (int) Thread.currentThread().threadId() & mask;
+    }
+
+    Slot acquire(int stripe) {
+        Slot slot = slots.getAndSet(stripe, null);
+        return slot != null ? slot : new Slot(newMac());
+    }
+
+    /**
+     * 정상적으로 사용을 마친 칸만 돌려놓음, 이미 다른 칸이 들어와 있으면 버림
+     */
+    void release(int stripe, Slot slot) {
+        slots.compareAndSet(stripe, null, slot);
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return initMac();
+        }
+    }
+
+    private Mac initMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * Mac 과 함께 재사용하는 버퍼
+     */
+    static final class Slot {
+        final Mac mac;
+        final byte[] digest = new byte[32];
+        final byte[] signature = new byte[32];
+        byte[] buffer = new byte[512];
+
+        Slot(Mac mac) {
+            this.mac = mac;
+        }
+
+        byte[] buffer(int length) {
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package store.buzzbook.authserver.jwt;
+
+/**
+ * 서명 검증 전에 토큰 모양만 보고 판단한 결과입니다.
+ * {@link #PASSED} 와 {@link #EXPIRED} 외에는 서명을 검증해도 결과가 달라지지 않습니다.
+ *
+ * @author 김성호
+ */
+public enum PrecheckResult {
+    PASSED,
+    EMPTY,
+    MALFORMED,
+    EXPIRED,
+    WRONG_TYPE
+}
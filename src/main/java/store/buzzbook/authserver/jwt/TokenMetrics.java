@@ -0,0 +1,87 @@
+package store.buzzbook.authserver.jwt;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 토큰 발급, 검증, 파싱, 재발급 단계별 소요 시간을 결과별로 기록합니다.
+ * 요청마다 Meter 를 찾지 않도록 파싱 결과별 Timer 는 미리 만들어 둡니다.
+ *
+ * @author 김성호
+ */
+final class TokenMetrics {
+    static final String ACCESS = "access";
+    static final String REFRESH = "refresh";
+    static final String OK = "ok";
+    static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TokenStatus, Timer> accessParse;
+    private final Map<TokenStatus, Timer> refreshParse;
+    private final Map<TokenStatus, Timer> accessValidate;
+    private final Map<TokenStatus, Timer> refreshValidate;
+    private final Map<String, Timer> generate = new ConcurrentHashMap<>();
+    private final Map<String, Timer> refresh = new ConcurrentHashMap<>();
+
+    TokenMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.accessParse = timers("auth.token.parse", "토큰 서명 검증과 파싱", ACCESS);
+        this.refreshParse = timers("auth.token.parse", "토큰 서명 검증과 파싱", REFRESH);
+        this.accessValidate = timers("auth.token.validate", "토큰 유효성 확인", ACCESS);
+        this.refreshValidate = timers("auth.token.validate", "토큰 유효성 확인", REFRESH);
+    }
+
+    /**
+     * 검증 결과를 태그 값으로 변환, 서명 불일치는 bad_signature
+     */
+    static String outcome(TokenStatus status) {
+        return switch (status) {
+            case VALID -> OK;
+            case INVALID_SIGNATURE -> "bad_signature";
+            default -> status.name().toLowerCase();
+        };
+    }
+
+    void parse(String type, TokenStatus status, long startNanos) {
+        record((ACCESS.equals(type) ? accessParse : refreshParse).get(status), startNanos);
+    }
+
+    void validate(String type, TokenStatus status, long startNanos) {
+        record((ACCESS.equals(type) ? accessValidate : refreshValidate).get(status), startNanos);
+    }
+
+    void generate(String outcome, long startNanos) {
+        record(generate.computeIfAbsent(outcome, o -> timer("auth.token.generate", "토큰 발급과 세션 저장", null, o)),
+                startNanos);
+    }
+
+    void refresh(String outcome, long startNanos) {
+        record(refresh.computeIfAbsent(outcome, o -> timer("auth.token.refresh", "refresh token 으로 재발급", null, o)),
+                startNanos);
+    }
+
+    private Map<TokenStatus, Timer> timers(String name, String description, String type) {
+        Map<TokenStatus, Timer> timers = new EnumMap<>(TokenStatus.class);
+        for (TokenStatus status : TokenStatus.values()) {
+            timers.put(status, timer(name, description, type, outcome(status)));
+        }
+        return timers;
+    }
+
+    private Timer timer(String name, String description, String type, String outcome) {
+        Timer.Builder builder = Timer.builder(name).description(description).tag("outcome", outcome);
+        if (type != null) {
+            builder.tag("type", type);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,44 @@
+package store.buzzbook.authserver.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 토큰을 한 번 검증하고 파싱한 결과입니다.
+ * 검증에 성공했거나 만료된 토큰이면 Claims 를 함께 담고, 그 외에는 실패 사유만 담습니다.
+ *
+ * @author 김성호
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenParseResult {
+    private static final String USERID = "userId";
+
+    private final TokenStatus status;
+    private final Claims claims;
+
+    public static TokenParseResult valid(Claims claims) {
+        return new TokenParseResult(TokenStatus.VALID, claims);
+    }
+
+    public static TokenParseResult expired(Claims claims) {
+        return new TokenParseResult(TokenStatus.EXPIRED, claims);
+    }
+
+    public static TokenParseResult failure(TokenStatus status) {
+        return new TokenParseResult(status, null);
+    }
+
+    public boolean isValid() {
+        return status == TokenStatus.VALID;
+    }
+
+    /**
+     * 토큰에 담긴 세션 uuid, Claims 가 없으면 null
+     */
+    public String getUuid() {
+        return claims == null ? null : claims.get(USERID, String.class);
+    }
+}
@@ -0,0 +1,199 @@
+package store.buzzbook.authserver.jwt;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 서명 검증(HMAC) 전에 토큰 모양만으로 거를 수 있는 토큰을 예외 없이 걸러냅니다.
+ * 점 개수, 세 구간의 Base64URL, payload 의 {@code exp} 와 {@code sub} 만 확인하고 JSON 전체를 파싱하지는 않습니다.
+ *
+ * <p>서명을 확인하지 않은 값이므로 통과하지 못한 토큰을 거르는 데에만 사용하고,
+ * 통과했거나 만료된 토큰의 Claims 는 반드시 {@link JwtTokenProvider} 로 검증한 뒤 사용해야 합니다.
+ *
+ * @author 김성호
+ */
+public final class TokenPrecheck {
+    static final String ACCESS_TOKEN = "access_token";
+    static final String REFRESH_TOKEN = "refresh_token";
+
+    private static final byte[] EXP = {'e', 'x', 'p'};
+    private static final byte[] SUB = {'s', 'u', 'b'};
+
+    private TokenPrecheck() {
+    }
+
+    public static PrecheckResult checkAccessToken(String token) {
+        return check(token, ACCESS_TOKEN, System.currentTimeMillis());
+    }
+
+    public static PrecheckResult checkRefreshToken(String token) {
+        return check(token, REFRESH_TOKEN, System.currentTimeMillis());
+    }
+
+    static PrecheckResult check(String token, String type, long now) {
+        if (token == null || token.isEmpty()) {
+            return PrecheckResult.EMPTY;
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        // 서명 없는 토큰은 jjwt 가 지원하지 않으므로 서명 구간이 비어 있어도 잘못된 토큰
+        if (firstDot <= 0 || secondDot < 0 || secondDot == firstDot + 1 || secondDot == token.length() - 1
+                || token.indexOf('.', secondDot + 1) >= 0) {
+            return PrecheckResult.MALFORMED;
+        }
+        if (!Base64Url.isValid(token, 0, firstDot) || !Base64Url.isValid(token, secondDot + 1, token.length())) {
+            return PrecheckResult.MALFORMED;
+        }
+        byte[] payload = new byte[Base64Url.maxDecodedLength(secondDot - firstDot - 1) + 2];
+        int length = Base64Url.decode(token, firstDot + 1, secondDot, payload);
+        if (length < 0) {
+            return PrecheckResult.MALFORMED;
+        }
+
+        Fields fields = scan(payload, length);
+        if (fields == null) {
+            return PrecheckResult.MALFORMED;
+        }
+        // escape 가 섞인 sub 는 여기서 판단하지 않고 서명 검증에 맡김
+        if (!fields.subEscaped && !type.equals(fields.sub)) {
+            return PrecheckResult.WRONG_TYPE;
+        }
+        // jjwt 와 같이 exp 가 지난 순간부터 만료
+        if (fields.exp != null && now > fields.exp * 1000) {
+            return PrecheckResult.EXPIRED;
+        }
+        return PrecheckResult.PASSED;
+    }
+
+    /**
+     * 최상위 객체의 exp, sub 값만 읽음, 객체나 배열, 문자열이 닫히지 않는 등 JSON 객체 모양이 아니면 null
+     */
+    private static Fields scan(byte[] json, int length) {
+        int start = skipWhitespace(json, 0, length);
+        if (start >= length || json[start] != '{') {
+            return null;
+        }
+        Fields fields = new Fields();
+        int depth = 0;
+        boolean expectKey = false;
+        int i = start;
+        for (; i < length && (depth > 0 || i == start); i++) {
+            switch (json[i]) {
+                case '{' -> {
+                    depth++;
+                    expectKey = depth == 1;
+                }
+                case '[' -> {
+                    depth++;
+                    expectKey = false;
+                }
+                case '}', ']' -> depth--;
+                case ',' -> expectKey = depth == 1;
+                case '"' -> {
+                    int end = stringEnd(json, i + 1, length);
+                    if (end < 0) {
+                        return null;
+                    }
+                    if (!expectKey) {
+                        i = end;
+                        break;
+                    }
+                    expectKey = false;
+                    int colon = skipWhitespace(json, end + 1, length);
+                    if (colon >= length || json[colon] != ':') {
+                        return null;
+                    }
+                    int value = skipWhitespace(json, colon + 1, length);
+                    if (matches(json, i + 1, end, EXP)) {
+                        fields.exp = parseLong(json, value, length);
+                    } else if (matches(json, i + 1, end, SUB)) {
+                        readSubject(json, value, length, fields);
+                    }
+                    i = colon;
+                }
+                default -> {
+                }
+            }
+        }
+        if (depth != 0 || skipWhitespace(json, i, length) != length) {
+            return null;
+        }
+        return fields;
+    }
+
+    private static void readSubject(byte[] json, int value, int length, Fields fields) {
+        fields.sub = null;
+        fields.subEscaped = false;
+        if (value >= length || json[value] != '"') {
+            return;
+        }
+        int end = stringEnd(json, value + 1, length);
+        if (end < 0) {
+            return;
+        }
+        for (int i = value + 1; i < end; i++) {
+            if (json[i] == '\\') {
+                fields.subEscaped = true;
+                return;
+            }
+        }
+        fields.sub = new String(json, value + 1, end - value - 1, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 여는 따옴표 다음 위치부터 닫는 따옴표 위치를 찾음, 없으면 -1
+     */
+    private static int stringEnd(byte[] json, int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (json[i] == '\\') {
+                i++;
+            } else if (json[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 정수인 exp 만 읽음, 소수나 문자열이면 여기서 판단하지 않도록 null
+     */
+    private static Long parseLong(byte[] json, int from, int length) {
+        long value = 0;
+        int i = from;
+        for (; i < length && json[i] >= '0' && json[i] <= '9'; i++) {
+            if (i - from >= 18) {
+                return null;
+            }
+            value = value * 10 + (json[i] - '0');
+        }
+        if (i == from || i < length && (json[i] == '.' || json[i] == 'e' || json[i] == 'E')) {
+            return null;
+        }
+        return value;
+    }
+
+    private static boolean matches(byte[] json, int start, int end, byte[] name) {
+        if (end - start != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (json[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(byte[] json, int from, int length) {
+        int i = from;
+        while (i < length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Fields {
+        private Long exp;
+        private String sub;
+        private boolean subEscaped;
+    }
+}
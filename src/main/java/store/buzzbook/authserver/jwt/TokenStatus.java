@@ -0,0 +1,15 @@
+package store.buzzbook.authserver.jwt;
+
+/**
+ * JWT 검증 결과를 나타내는 상태값입니다.
+ *
+ * @author 김성호
+ */
+public enum TokenStatus {
+    VALID,
+    EXPIRED,
+    MALFORMED,
+    UNSUPPORTED,
+    EMPTY,
+    INVALID_SIGNATURE
+}
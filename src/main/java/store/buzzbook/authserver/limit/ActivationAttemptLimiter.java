@@ -0,0 +1,169 @@
+package store.buzzbook.authserver.limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 휴면 해제 코드를 무작위로 대입하지 못하도록 토큰별, 클라이언트별 시도 횟수를 제한합니다.
+ * 횟수는 Redis 의 sliding window counter 로 모든 노드가 함께 세고, 한 번의 스크립트 호출로 확인과 기록을 수행합니다.
+ *
+ * <p>Redis 에 묻기 전에 노드 안에서 먼저 걸러냅니다.
+ * <ul>
+ *     <li>이 노드에서 센 클라이언트의 시도만으로도 한도를 넘었으면 Redis 없이 거절</li>
+ *     <li>Redis 가 한도 초과로 거절한 토큰, 클라이언트는 window 한 번 동안 Redis 없이 거절</li>
+ * </ul>
+ * 거절된 시도도 노드 안의 횟수에는 포함되므로 계속 시도하는 클라이언트는 Redis 를 거치지 않고 거절됩니다.
+ *
+ * <p>세션 shard 를 설정해도 시도 횟수는 기본 Redis 하나에서 셉니다.
+ * 토큰과 클라이언트의 횟수를 한 스크립트로 확인해야 하는데, 클라이언트 횟수는 여러 토큰에 걸쳐 세므로
+ * 토큰이 있는 shard 로 보내면 클라이언트 횟수가 shard 마다 나뉘어 한도가 shard 수만큼 늘어납니다.
+ * 키는 window 두 번이 지나면 만료되므로 기본 Redis 에 쌓이는 양은 window 동안의 시도 수 정도입니다.
+ *
+ * @author 김성호
+ */
+@Slf4j
+@Component
+public class ActivationAttemptLimiter {
+    public static final String KEY_PREFIX = "auth:activate:";
+
+    private static final String TOKEN_SCOPE = "token:";
+    private static final String CLIENT_SCOPE = "client:";
+    private static final long TOKEN_EXCEEDED = 1;
+    private static final long CLIENT_EXCEEDED = 2;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Clock clock;
+    private final RedisScript<Long> limitActivationAttemptScript;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int perToken;
+    private final int perClient;
+    private final Cache<String, SlidingWindowCounter> localCounters;
+    // Redis 가 한도 초과로 거절한 토큰, 클라이언트와 거절을 유지할 시각
+    private final Cache<String, Long> blockedUntil;
+    private final Counter localRejections;
+    private final Counter tokenRejections;
+    private final Counter clientRejections;
+
+    @Autowired
+    public ActivationAttemptLimiter(RedisTemplate<String, Object> redisTemplate,
+                                    @Qualifier("limitActivationAttemptScript") RedisScript<Long> limitActivationAttemptScript,
+                                    @Value("${auth.activation-limit.enabled:true}") boolean enabled,
+                                    @Value("${auth.activation-limit.window:5m}") Duration window,
+                                    @Value("${auth.activation-limit.per-token:5}") int perToken,
+                                    @Value("${auth.activation-limit.per-client:30}") int perClient,
+                                    @Value("${auth.activation-limit.local-maximum-size:100000}") long localMaximumSize,
+                                    MeterRegistry meterRegistry) {
+        this(redisTemplate, limitActivationAttemptScript, enabled, window, perToken, perClient, localMaximumSize,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    ActivationAttemptLimiter(RedisTemplate<String, Object> redisTemplate, RedisScript<Long> limitActivationAttemptScript,
+                             boolean enabled, Duration window, int perToken, int perClient, long localMaximumSize,
+                             MeterRegistry meterRegistry, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.limitActivationAttemptScript = limitActivationAttemptScript;
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.perToken = perToken;
+        this.perClient = perClient;
+        // 직전 window 까지 추정에 쓰이므로 window 두 번 동안 보관
+        this.localCounters = Caffeine.newBuilder()
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .maximumSize(localMaximumSize)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+        this.blockedUntil = Caffeine.newBuilder()
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(window)
+                .build();
+        this.localRejections = rejectionCounter(meterRegistry, "local");
+        this.tokenRejections = rejectionCounter(meterRegistry, "token");
+        this.clientRejections = rejectionCounter(meterRegistry, "client");
+    }
+
+    /**
+     * 토큰과 클라이언트로 한 번 시도할 수 있는지 확인하고, 허용되면 시도 횟수에 기록
+     *
+     * @param client 클라이언트 식별자 (IP 등), null 이면 토큰 한도만 확인
+     * @return 시도할 수 있으면 true
+     */
+    public boolean tryAcquire(String token, String client) {
+        if (!enabled) {
+            return true;
+        }
+        long now = clock.millis();
+        String tokenKey = TOKEN_SCOPE + token;
+        String clientKey = client != null ? CLIENT_SCOPE + client : null;
+        if (clientKey != null) {
+            double local = localCounters.get(clientKey, key -> new SlidingWindowCounter(windowMillis, clock))
+                    .increment();
+            if (local > perClient || isBlocked(clientKey, now)) {
+                localRejections.increment();
+                return false;
+            }
+        }
+        if (isBlocked(tokenKey, now)) {
+            localRejections.increment();
+            return false;
+        }
+
+        long window = now / windowMillis;
+        // 클라이언트를 모르면 토큰 키만 넘겨 모든 요청이 함께 쓰는 클라이언트 카운터가 생기지 않도록 함
+        List<String> keys = clientKey != null
+                ? List.of(key(tokenKey, window), key(tokenKey, window - 1), key(clientKey, window),
+                        key(clientKey, window - 1))
+                : List.of(key(tokenKey, window), key(tokenKey, window - 1));
+        Long result = redisTemplate.execute(limitActivationAttemptScript, RedisSerializer.string(), null, keys,
+                String.valueOf(SlidingWindowCounter.previousWeight(now, windowMillis)), String.valueOf(perToken),
+                String.valueOf(perClient), String.valueOf(windowMillis * 2));
+        if (result == null || result == 0) {
+            return true;
+        }
+        if (result == TOKEN_EXCEEDED) {
+            log.debug("휴면 토큰의 해제 시도 횟수를 초과했습니다. {}", token);
+            blockedUntil.put(tokenKey, now + windowMillis);
+            tokenRejections.increment();
+        } else if (result == CLIENT_EXCEEDED) {
+            log.debug("클라이언트의 휴면 해제 시도 횟수를 초과했습니다. {}", client);
+            blockedUntil.put(clientKey, now + windowMillis);
+            clientRejections.increment();
+        }
+        return false;
+    }
+
+    private boolean isBlocked(String key, long now) {
+        Long until = blockedUntil.getIfPresent(key);
+        return until != null && until > now;
+    }
+
+    private static String key(String scopedKey, long window) {
+        return KEY_PREFIX + scopedKey + ":" + window;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.activation.rejections")
+                .description("시도 횟수 제한으로 거절한 휴면 해제 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package store.buzzbook.authserver.limit;
+
+import java.time.Clock;
+
+/**
+ * 노드 안에서만 세는 sliding window counter 입니다.
+ * 고정 window 두 개의 횟수만 보관하고, 직전 window 의 횟수에 아직 지나지 않은 비율을 곱해 현재 횟수와 더합니다.
+ * Redis 의 limit-activation-attempt.lua 와 같은 방식으로 추정합니다.
+ *
+ * @author 김성호
+ */
+final class SlidingWindowCounter {
+    private final long windowMillis;
+    private final Clock clock;
+    private long window = Long.MIN_VALUE;
+    private long current;
+    private long previous;
+
+    SlidingWindowCounter(long windowMillis, Clock clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 지금 한 번 기록하고 기록 후의 추정치를 반환
+     */
+    synchronized double increment() {
+        long now = clock.millis();
+        roll(now);
+        current++;
+        return current + previous * previousWeight(now, windowMillis);
+    }
+
+    synchronized double estimate() {
+        long now = clock.millis();
+        roll(now);
+        return current + previous * previousWeight(now, windowMillis);
+    }
+
+    private void roll(long now) {
+        long index = now / windowMillis;
+        if (index == window) {
+            return;
+        }
+        previous = index == window + 1 ? current : 0;
+        current = 0;
+        window = index;
+    }
+
+    /**
+     * 직전 window 중 sliding window 에 아직 포함되는 비율
+     */
+    static double previousWeight(long now, long windowMillis) {
+        return 1 - (double) (now % windowMillis) / windowMillis;
+    }
+}
@@ -0,0 +1,68 @@
+package store.buzzbook.authserver.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 가상 노드를 둔 consistent hash 링입니다.
+ * 노드마다 이름으로부터 virtualNodes 개의 점을 링 위에 두고, 키는 시계 방향으로 처음 만나는 점의 노드에 배정합니다.
+ * 노드를 하나 추가하면 새 노드의 점 바로 앞 구간의 키만 새 노드로 옮겨 가고 나머지 키의 위치는 그대로입니다.
+ *
+ * <p>배정은 노드 이름과 키만으로 정해지므로 같은 노드 이름 목록을 설정한 서버끼리는 설정 순서와 관계없이 같은 결과를 얻습니다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 스레드에서 함께 사용할 수 있습니다.
+ *
+ * @author 김성호
+ */
+public class ConsistentHashRing<T> {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+    /**
+     * @param nodes        노드 이름과 노드, 이름이 링 위의 위치를 정하므로 서버마다 같게 설정
+     * @param virtualNodes 노드마다 링에 둘 점의 수, 많을수록 키가 고르게 나뉨
+     */
+    public ConsistentHashRing(Map<String, T> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("노드가 하나 이상 필요합니다.");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes 는 1 이상이어야 합니다. " + virtualNodes);
+        }
+        // 점이 겹치면 이름 순으로 앞선 노드가 차지하도록 하여 설정 순서와 관계없이 같은 링을 만듦
+        new TreeMap<>(nodes).forEach((name, node) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(name + "#" + i), node);
+            }
+        });
+    }
+
+    /**
+     * key 를 맡은 노드
+     */
+    public T get(String key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * FNV-1a 64 비트 해시에 murmur3 의 마무리 섞기를 더해 비슷한 키도 링 위에 고르게 흩어지도록 함
+     * JVM 이나 실행마다 달라지지 않아야 하므로 String.hashCode 대신 직접 계산
+     */
+    static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,181 @@
+package store.buzzbook.authserver.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import store.buzzbook.authserver.dto.SessionRecord;
+
+/**
+ * {@link SessionRecord} 를 Redis 세션 해시로, 또 그 반대로 Jackson 없이 변환합니다.
+ * 값마다 형식 버전 바이트({@code 0x01})를 앞에 두고, 문자열은 UTF-8 그대로, userId 는 10진수 ASCII 로 저장하므로
+ * {@code @class} 같은 타입 정보가 붙지 않고, 디코딩할 때도 중간 Map 없이 필드 바이트를 바로 레코드로 옮깁니다.
+ *
+ * <p>버전 바이트가 없는 값은 GenericJackson2JsonRedisSerializer 로 저장된 이전 형식
+ * ({@code "testUser"}, {@code ["java.lang.Long",1]})이며, read-legacy 가 켜져 있을 때만 읽습니다.
+ * JSON 은 버전 바이트로 시작할 수 없으므로 새로 저장한 loginId 가 {@code "} 나 {@code [} 로 시작해도 이전 형식과 헷갈리지 않습니다.
+ *
+ * @author 김성호
+ */
+@Component
+public class SessionCodec {
+    public static final String LOGIN_ID = "loginId";
+    public static final String ROLE = "role";
+    public static final String USER_ID = "userId";
+
+    private static final byte[] LOGIN_ID_BYTES = LOGIN_ID.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROLE_BYTES = ROLE.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] USER_ID_BYTES = USER_ID.getBytes(StandardCharsets.UTF_8);
+    private static final byte VERSION_1 = 0x01;
+
+    private final boolean readLegacy;
+    private final RedisSerializer<Object> legacySerializer = new GenericJackson2JsonRedisSerializer();
+
+    public SessionCodec(@Value("${auth.session.codec.read-legacy:true}") boolean readLegacy) {
+        this.readLegacy = readLegacy;
+    }
+
+    /**
+     * 세션을 HSET 인자 순서(field, value 교차)의 바이트 목록으로 변환, null 인 필드는 제외
+     */
+    public List<byte[]> encode(SessionRecord session) {
+        List<byte[]> fields = new ArrayList<>(6);
+        if (session.loginId() != null) {
+            fields.add(LOGIN_ID_BYTES);
+            fields.add(versioned(session.loginId().getBytes(StandardCharsets.UTF_8)));
+        }
+        if (session.role() != null) {
+            fields.add(ROLE_BYTES);
+            fields.add(versioned(session.role().getBytes(StandardCharsets.UTF_8)));
+        }
+        if (session.userId() != null) {
+            fields.add(USER_ID_BYTES);
+            fields.add(versioned(Long.toString(session.userId()).getBytes(StandardCharsets.US_ASCII)));
+        }
+        return fields;
+    }
+
+    private static byte[] versioned(byte[] value) {
+        byte[] encoded = new byte[value.length + 1];
+        encoded[0] = VERSION_1;
+        System.arraycopy(value, 0, encoded, 1, value.length);
+        return encoded;
+    }
+
+    /**
+     * HGETALL 결과를 세션으로 변환, 비어있으면 null
+     */
+    public SessionRecord decode(Map<byte[], byte[]> hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        Fields fields = new Fields();
+        for (Map.Entry<byte[], byte[]> entry : hash.entrySet()) {
+            fields.accept(entry.getKey(), entry.getValue());
+        }
+        return fields.toRecord();
+    }
+
+    /**
+     * 스크립트가 반환한 field, value 교차 목록을 세션으로 변환, 비어있으면 null
+     */
+    public SessionRecord decodePairs(List<?> pairs) {
+        if (pairs == null || pairs.isEmpty()) {
+            return null;
+        }
+        Fields fields = new Fields();
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            fields.accept((byte[]) pairs.get(i), (byte[]) pairs.get(i + 1));
+        }
+        return fields.toRecord();
+    }
+
+    private String decodeString(byte[] value) {
+        if (isVersioned(value)) {
+            return new String(value, 1, value.length - 1, StandardCharsets.UTF_8);
+        }
+        return String.valueOf(decodeLegacy(value));
+    }
+
+    private Long decodeLong(byte[] value) {
+        if (isVersioned(value)) {
+            return parseLong(value, 1);
+        }
+        Object legacy = decodeLegacy(value);
+        return legacy instanceof Number number ? number.longValue() : Long.valueOf(String.valueOf(legacy));
+    }
+
+    private Object decodeLegacy(byte[] value) {
+        if (!readLegacy) {
+            throw new IllegalStateException(
+                    "이전 형식의 세션 값입니다. auth.session.codec.read-legacy 를 켜야 읽을 수 있습니다.");
+        }
+        return legacySerializer.deserialize(value);
+    }
+
+    private static boolean isVersioned(byte[] value) {
+        return value.length > 0 && value[0] == VERSION_1;
+    }
+
+    /**
+     * offset 부터의 10진수 ASCII 를 long 으로 변환, 숫자가 없거나 범위를 넘으면 NumberFormatException
+     * Long.MIN_VALUE 까지 읽을 수 있도록 음수로 누적
+     */
+    static long parseLong(byte[] value, int offset) {
+        int index = offset;
+        boolean negative = index < value.length && value[index] == '-';
+        if (negative) {
+            index++;
+        }
+        if (index == value.length) {
+            throw new NumberFormatException("userId 값이 비어있습니다.");
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; index < value.length; index++) {
+            int digit = value[index] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("userId 형식이 올바르지 않습니다.");
+            }
+            if (result < multiplyLimit || result * 10 < limit + digit) {
+                throw new NumberFormatException("userId 가 long 범위를 벗어났습니다.");
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 디코딩 중인 필드 값을 담아두는 임시 상태
+     */
+    private class Fields {
+        private String loginId;
+        private String role;
+        private Long userId;
+
+        void accept(byte[] field, byte[] value) {
+            if (value == null) {
+                return;
+            }
+            if (Arrays.equals(LOGIN_ID_BYTES, field)) {
+                loginId = decodeString(value);
+            } else if (Arrays.equals(ROLE_BYTES, field)) {
+                role = decodeString(value);
+            } else if (Arrays.equals(USER_ID_BYTES, field)) {
+                userId = decodeLong(value);
+            }
+        }
+
+        SessionRecord toRecord() {
+            return new SessionRecord(loginId, role, userId);
+        }
+    }
+}
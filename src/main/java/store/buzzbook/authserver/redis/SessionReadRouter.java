@@ -0,0 +1,116 @@
+package store.buzzbook.authserver.redis;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.data.redis.core.RedisTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 세션, 휴면 토큰 조회를 복제본으로 보내고 쓰기는 primary 에 남겨 둡니다.
+ * 복제본은 primary 보다 늦을 수 있으므로 다음 두 경우에는 primary 에서 읽습니다.
+ * <ul>
+ *     <li>이 노드가 read-your-writes 시간 안에 쓰거나 지운 키: 로그인, 재발급 직후 조회나 로그아웃 직후 조회</li>
+ *     <li>다른 노드가 지웠다고 무효화 메시지로 알려온 키: 다른 노드에서 로그아웃하거나 재발급한 세션</li>
+ *     <li>복제본에 값이 없는 키: 다른 노드가 방금 쓴 키일 수 있으므로 primary 에서 한 번 더 확인</li>
+ * </ul>
+ * 복제본을 설정하지 않았으면 모두 primary 에서 읽습니다.
+ *
+ * <p>다른 노드가 지운 세션은 무효화 메시지가 도착하기 전까지(발행 batch 의 flush-interval 과 pub/sub 전달 시간)
+ * 복제가 늦은 복제본에서 읽힐 수 있습니다. 이 시간은 {@code VerifiedTokenCache} 가 다른 노드에서 폐기된 토큰을
+ * 받아들이는 시간과 같으며, 로그아웃한 토큰을 어느 노드에서든 즉시 거절해야 한다면 복제본을 설정하지 않아야 합니다.
+ *
+ * @author 김성호
+ */
+public class SessionReadRouter {
+    private final RedisTemplate<String, Object> primary;
+    private final RedisTemplate<String, Object> replica;
+    // 이 노드가 최근에 쓴 키, 복제가 끝나지 않았을 수 있는 동안만 보관
+    private final Cache<String, Boolean> recentWrites;
+    private final Counter fallbacks;
+
+    /**
+     * @param replica        복제본에서 읽는 템플릿, null 이면 primary 에서만 읽음
+     * @param readYourWrites 쓴 키를 primary 에서 읽을 시간, 복제 지연보다 길게 설정
+     */
+    public SessionReadRouter(RedisTemplate<String, Object> primary, RedisTemplate<String, Object> replica,
+                             Duration readYourWrites, long maximumSize, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(readYourWrites)
+                .build();
+        this.fallbacks = Counter.builder("auth.redis.replica.fallbacks")
+                .description("복제본에 없어 primary 에서 다시 읽은 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * primary 에서만 읽는 라우터
+     */
+    public static SessionReadRouter primaryOnly(RedisTemplate<String, Object> primary, MeterRegistry meterRegistry) {
+        return new SessionReadRouter(primary, null, Duration.ZERO, 0, meterRegistry);
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    public RedisTemplate<String, Object> primary() {
+        return primary;
+    }
+
+    /**
+     * key 를 쓰거나 지웠음을 기록, 잠시 동안 이 노드의 조회는 primary 로 보냄
+     */
+    public void written(String key) {
+        if (replica != null) {
+            recentWrites.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 이 노드가 최근에 쓴 키라서 복제본에서 읽으면 안 되는지 여부
+     */
+    public boolean isRecentlyWritten(String key) {
+        return replica == null || recentWrites.getIfPresent(key) != null;
+    }
+
+    /**
+     * 복제본에서 읽고, 최근에 쓴 키이거나 복제본에 값이 없으면 primary 에서 읽음
+     *
+     * @param missing 복제본에서 읽은 결과가 없는 값인지 판단
+     */
+    public <T> T read(String key, Function<RedisTemplate<String, Object>, T> reader, Predicate<T> missing) {
+        if (isRecentlyWritten(key)) {
+            return reader.apply(primary);
+        }
+        T value = reader.apply(replica);
+        if (!missing.test(value)) {
+            return value;
+        }
+        fallback(1);
+        return reader.apply(primary);
+    }
+
+    /**
+     * 여러 키를 읽는 쪽에서 복제본에 없던 키를 primary 에서 다시 읽었을 때 기록
+     */
+    public void fallback(int count) {
+        fallbacks.increment(count);
+    }
+
+    /**
+     * 복제본에서 읽는 템플릿, 복제본이 없으면 primary
+     */
+    public RedisTemplate<String, Object> replica() {
+        return replica != null ? replica : primary;
+    }
+}
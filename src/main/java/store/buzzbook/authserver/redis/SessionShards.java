@@ -0,0 +1,87 @@
+package store.buzzbook.authserver.redis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 세션 해시와 휴면 토큰 해시를 여러 Redis 에 consistent hash 로 나누어 둡니다.
+ * 키마다 맡은 shard 의 {@link SessionReadRouter} 를 돌려주고, 여러 키를 한 번에 다룰 때는 shard 별로 묶어 줍니다.
+ * shard 를 설정하지 않았으면 기존 Redis 하나가 모든 키를 맡습니다.
+ *
+ * <p>shard 를 추가하면 새 shard 로 옮겨 가는 키(약 1/N)는 기존 shard 에 남은 채로 더 이상 조회되지 않으므로,
+ * 해당 세션은 다시 로그인해야 하고 남은 키는 TTL 이 지나면 사라집니다.
+ *
+ * @author 김성호
+ */
+public class SessionShards implements AutoCloseable {
+    private final ConsistentHashRing<SessionReadRouter> ring;
+    private final List<SessionReadRouter> shards;
+    private final List<LettuceConnectionFactory> connectionFactories;
+
+    /**
+     * @param shards              shard 이름(host:port)과 해당 Redis 의 라우터
+     * @param connectionFactories shard 를 위해 만든 커넥션, close 할 때 함께 닫음
+     */
+    public SessionShards(Map<String, SessionReadRouter> shards, int virtualNodes,
+                         List<LettuceConnectionFactory> connectionFactories) {
+        this.ring = new ConsistentHashRing<>(shards, virtualNodes);
+        this.shards = List.copyOf(shards.values());
+        this.connectionFactories = List.copyOf(connectionFactories);
+    }
+
+    /**
+     * 모든 키를 router 하나가 맡음
+     */
+    public static SessionShards single(SessionReadRouter router) {
+        return new SessionShards(Map.of("default", router), 1, List.of());
+    }
+
+    /**
+     * key 를 맡은 shard
+     */
+    public SessionReadRouter forKey(String key) {
+        return shards.size() == 1 ? shards.get(0) : ring.get(key);
+    }
+
+    /**
+     * key 를 맡은 shard 의 primary 템플릿
+     */
+    public RedisTemplate<String, Object> primary(String key) {
+        return forKey(key).primary();
+    }
+
+    /**
+     * 설정한 순서대로의 모든 shard
+     */
+    public List<SessionReadRouter> all() {
+        return shards;
+    }
+
+    /**
+     * keys 를 shard 별로 묶음, 값은 keys 안에서의 위치이며 shard 안에서는 keys 의 순서를 유지
+     */
+    public Map<SessionReadRouter, List<Integer>> groupByShard(List<String> keys) {
+        if (shards.size() == 1) {
+            List<Integer> indexes = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                indexes.add(i);
+            }
+            return Map.of(shards.get(0), indexes);
+        }
+        Map<SessionReadRouter, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            groups.computeIfAbsent(ring.get(keys.get(i)), shard -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    @Override
+    public void close() {
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+}
@@ -0,0 +1,25 @@
+package store.buzzbook.authserver.service;
+
+import reactor.core.publisher.Mono;
+import store.buzzbook.authserver.dto.SessionRecord;
+
+/**
+ * {@link RedisService} 의 세션 관련 기능을 논블로킹으로 제공하는 리액티브 버전입니다.
+ * 저장 형식과 스크립트는 블로킹 버전과 같으므로 두 스택이 같은 세션을 공유할 수 있습니다.
+ *
+ * @author 김성호
+ */
+public interface ReactiveRedisService {
+	Mono<Void> saveUser(String userId, SessionRecord session);
+	/**
+	 * @return uuid 에 해당하는 세션, 없으면 빈 Mono
+	 */
+	Mono<SessionRecord> getUser(String userId);
+	Mono<Void> removeUser(String uuid);
+	/**
+	 * 기존 세션을 삭제하고 같은 데이터를 새 uuid 로 옮기는 작업을 원자적으로 수행합니다.
+	 *
+	 * @return 옮겨진 세션, 기존 세션이 없으면 빈 Mono
+	 */
+	Mono<SessionRecord> rotateUser(String oldUuid, String newUuid);
+}
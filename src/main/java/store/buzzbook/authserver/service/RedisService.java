@@ -1,19 +1,46 @@
 package store.buzzbook.authserver.service;
 
+import java.util.List;
 
-import java.util.Map;
+import store.buzzbook.authserver.client.DeliveryStatus;
+import store.buzzbook.authserver.dto.SessionRecord;
 
 public interface RedisService {
 	String DORMANT_HASH_PREFIX = "DH_";
 	String DORMANT_LOGIN_ID_KEY = "loginId";
 	String DORMANT_CODE_KEY = "code";
+	String DORMANT_DELIVERY_KEY = "delivery";
 	Long DEFAULT_EXPIRATION = 180L;
 	String AUTH_BOT_NAME = "Buzz-Bee";
 
-	void saveUser(String userId, Map<String, Object> data);
-	Map<String, Object> getUser(String userId);
+	void saveUser(String userId, SessionRecord session);
+	/**
+	 * @return uuid 에 해당하는 세션, 없으면 null
+	 */
+	SessionRecord getUser(String userId);
+	/**
+	 * 여러 세션을 한 번의 파이프라인으로 조회합니다.
+	 *
+	 * @return 요청한 uuid 순서대로의 세션 목록, 없는 세션은 null
+	 */
+	List<SessionRecord> getUsers(List<String> userIds);
 	void removeUser(String uuid);
+	/**
+	 * 기존 세션을 삭제하고 같은 데이터를 새 uuid 로 옮기는 작업을 원자적으로 수행합니다.
+	 *
+	 * @return 옮겨진 세션, 기존 세션이 없으면 (이미 재발급 되었거나 로그아웃) null
+	 */
+	SessionRecord rotateUser(String oldUuid, String newUuid);
+	/**
+	 * 휴면 해제 토큰을 저장하고 코드 전송을 대기열에 넣습니다. 전송을 기다리지 않고 바로 반환합니다.
+	 *
+	 * @return 휴면 토큰 해시 키
+	 */
 	String createDormantToken(String loginId);
+	/**
+	 * @return 휴면 해제 코드의 전송 상태, 토큰이 없거나 만료됐으면 null
+	 */
+	DeliveryStatus getDormantDeliveryStatus(String token);
 	boolean isDormantToken(String token);
 	String checkDormantToken(String token, String code);
 }
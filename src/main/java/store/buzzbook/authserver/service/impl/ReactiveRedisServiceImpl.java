@@ -0,0 +1,99 @@
+package store.buzzbook.authserver.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.redis.SessionCodec;
+import store.buzzbook.authserver.service.ReactiveRedisService;
+
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRedisServiceImpl implements ReactiveRedisService {
+    private final ReactiveRedisTemplate<String, byte[]> sessionRedisTemplate;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SessionInvalidationPublisher sessionInvalidationPublisher;
+    private final RedisScript<Long> saveSessionScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> rotateSessionScript;
+    private final SessionCodec sessionCodec;
+    private final Duration sessionTtl;
+
+    @SuppressWarnings("rawtypes")
+    public ReactiveRedisServiceImpl(ReactiveRedisTemplate<String, byte[]> sessionRedisTemplate,
+                                    VerifiedTokenCache verifiedTokenCache,
+                                    SessionInvalidationPublisher sessionInvalidationPublisher,
+                                    RedisScript<Long> saveSessionScript,
+                                    RedisScript<List> rotateSessionScript,
+                                    SessionCodec sessionCodec,
+                                    @Value("${auth.session.ttl:7d}") Duration sessionTtl) {
+        this.sessionRedisTemplate = sessionRedisTemplate;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.sessionInvalidationPublisher = sessionInvalidationPublisher;
+        this.saveSessionScript = saveSessionScript;
+        this.rotateSessionScript = rotateSessionScript;
+        this.sessionCodec = sessionCodec;
+        this.sessionTtl = sessionTtl;
+    }
+
+    @Override
+    public Mono<Void> saveUser(String userId, SessionRecord session) {
+        // 블로킹 버전과 같은 스크립트로 HSET 과 PEXPIRE 를 한 번에 실행
+        List<byte[]> args = new ArrayList<>();
+        args.add(sessionTtlArg());
+        args.addAll(sessionCodec.encode(session));
+        return sessionRedisTemplate.execute(saveSessionScript, List.of(userId), args).then();
+    }
+
+    @Override
+    public Mono<SessionRecord> getUser(String userId) {
+        return sessionRedisTemplate.<byte[], byte[]>opsForHash().entries(userId)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .mapNotNull(sessionCodec::decode);
+    }
+
+    @Override
+    public Mono<Void> removeUser(String uuid) {
+        // 세션이 실제로 지워진 뒤에만 캐시를 비우고 다른 노드에 알림
+        return sessionRedisTemplate.delete(uuid)
+                .doOnSuccess(deleted -> {
+                    verifiedTokenCache.evictSession(uuid);
+                    sessionInvalidationPublisher.publish(uuid);
+                })
+                .doOnError(e -> log.error("레디스에서 유저 정보 삭제 실패", e))
+                .onErrorComplete()
+                .then();
+    }
+
+    @Override
+    public Mono<SessionRecord> rotateUser(String oldUuid, String newUuid) {
+        // 스크립트 결과 목록의 각 원소는 값 직렬화(byte[])를 거쳐 그대로 SessionCodec 으로 전달
+        return sessionRedisTemplate.execute(rotateSessionScript, List.of(oldUuid, newUuid), List.of(sessionTtlArg()))
+                .next()
+                .filter(fields -> !fields.isEmpty())
+                .map(fields -> {
+                    verifiedTokenCache.evictSession(oldUuid);
+                    sessionInvalidationPublisher.publish(oldUuid);
+                    return sessionCodec.decodePairs(fields);
+                });
+    }
+
+    private byte[] sessionTtlArg() {
+        return String.valueOf(sessionTtl.toMillis()).getBytes(StandardCharsets.UTF_8);
+    }
+}
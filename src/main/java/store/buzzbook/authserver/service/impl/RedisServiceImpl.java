@@ -1,113 +1,338 @@
 package store.buzzbook.authserver.service.impl;
 
-import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.HashOperations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
-import store.buzzbook.authserver.client.DoorayClient;
-import store.buzzbook.authserver.dto.DoorayMessagePayload;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.client.DeliveryStatus;
+import store.buzzbook.authserver.client.DoorayDispatcher;
+import store.buzzbook.authserver.dto.SessionRecord;
 import store.buzzbook.authserver.exception.ActivateFailException;
 import store.buzzbook.authserver.exception.DoorayException;
+import store.buzzbook.authserver.redis.SessionCodec;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
 import store.buzzbook.authserver.service.RedisService;
 import store.buzzbook.authserver.util.AuthCodeGenerator;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class RedisServiceImpl implements RedisService {
     private final RedisTemplate<String, Object> redisTemplate;
-    private HashOperations<String, String, Object> hashOperations;
-    private final DoorayClient doorayClient;
+    private final DoorayDispatcher doorayDispatcher;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SessionInvalidationPublisher sessionInvalidationPublisher;
+    private final RedisScript<Long> saveSessionScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> rotateSessionScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> takeSessionScript;
+    private final RedisScript<byte[]> checkDormantTokenScript;
+    private final SessionCodec sessionCodec;
+    private final SessionShards sessionShards;
+    private final Duration sessionTtl;
+    private final Timer saveUserTimer;
+    private final Timer rotateUserTimer;
+    private final Timer getUserTimer;
+    private final Timer getUsersTimer;
+    private final Timer removeUserTimer;
+    private final Timer createDormantTokenTimer;
+    private final Timer getDormantDeliveryStatusTimer;
+    private final Timer isDormantTokenTimer;
+    private final Timer checkDormantTokenTimer;
 
+    @SuppressWarnings("rawtypes")
+    public RedisServiceImpl(RedisTemplate<String, Object> redisTemplate,
+                            DoorayDispatcher doorayDispatcher,
+                            VerifiedTokenCache verifiedTokenCache,
+                            SessionInvalidationPublisher sessionInvalidationPublisher,
+                            RedisScript<Long> saveSessionScript,
+                            RedisScript<List> rotateSessionScript,
+                            RedisScript<List> takeSessionScript,
+                            RedisScript<byte[]> checkDormantTokenScript,
+                            SessionCodec sessionCodec,
+                            SessionShards sessionShards,
+                            @Value("${auth.session.ttl:7d}") Duration sessionTtl,
+                            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.doorayDispatcher = doorayDispatcher;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.sessionInvalidationPublisher = sessionInvalidationPublisher;
+        this.saveSessionScript = saveSessionScript;
+        this.rotateSessionScript = rotateSessionScript;
+        this.takeSessionScript = takeSessionScript;
+        this.checkDormantTokenScript = checkDormantTokenScript;
+        this.sessionCodec = sessionCodec;
+        this.sessionShards = sessionShards;
+        this.sessionTtl = sessionTtl;
+        this.saveUserTimer = operationTimer(meterRegistry, "saveUser");
+        this.rotateUserTimer = operationTimer(meterRegistry, "rotateUser");
+        this.getUserTimer = operationTimer(meterRegistry, "getUser");
+        this.getUsersTimer = operationTimer(meterRegistry, "getUsers");
+        this.removeUserTimer = operationTimer(meterRegistry, "removeUser");
+        this.createDormantTokenTimer = operationTimer(meterRegistry, "createDormantToken");
+        this.getDormantDeliveryStatusTimer = operationTimer(meterRegistry, "getDormantDeliveryStatus");
+        this.isDormantTokenTimer = operationTimer(meterRegistry, "isDormantToken");
+        this.checkDormantTokenTimer = operationTimer(meterRegistry, "checkDormantToken");
+    }
+
+    /**
+     * 연산별 Redis 왕복 시간, 예외로 끝난 호출도 함께 기록
+     */
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.redis")
+                .description("RedisService 연산 소요 시간")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void saveUser(String userId, SessionRecord session) {
+        saveUserTimer.record(() -> {
+            SessionReadRouter shard = sessionShards.forKey(userId);
+            shard.written(userId);
+            saveSession(shard, userId, sessionCodec.encode(session));
+        });
+    }
 
-    @PostConstruct
-    void init() {
-        this.hashOperations = redisTemplate.opsForHash();
+    private void saveSession(SessionReadRouter shard, String userId, List<?> fields) {
+        // HSET 과 PEXPIRE 를 스크립트 하나로 묶어 한 번의 왕복으로 TTL 까지 설정
+        Object[] args = new Object[fields.size() + 1];
+        args[0] = sessionTtlArg();
+        for (int i = 0; i < fields.size(); i++) {
+            args[i + 1] = fields.get(i);
+        }
+        shard.primary().execute(saveSessionScript, RedisSerializer.byteArray(), null, List.of(userId), args);
     }
 
     @Override
-    public void saveUser(String userId, Map<String, Object> data) {
-        hashOperations.putAll(userId, data);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SessionRecord rotateUser(String oldUuid, String newUuid) {
+        return rotateUserTimer.record(() -> {
+            // HGETALL, DEL, HSET, PEXPIRE 를 스크립트 하나로 실행하여 refresh token 을 한 번만 쓸 수 있게 함
+            // 결과 목록의 각 원소는 byte[] 그대로 받아 SessionCodec 으로 직접 역직렬화
+            // 재발급 직후 새 토큰으로 들어오는 조회가 아직 복제되지 않은 복제본을 읽지 않도록 두 키 모두 기록
+            SessionReadRouter oldShard = sessionShards.forKey(oldUuid);
+            SessionReadRouter newShard = sessionShards.forKey(newUuid);
+            oldShard.written(oldUuid);
+            newShard.written(newUuid);
+            List<?> fields;
+            if (oldShard == newShard) {
+                fields = oldShard.primary().execute(rotateSessionScript, RedisSerializer.byteArray(),
+                        (RedisSerializer) RedisSerializer.byteArray(), List.of(oldUuid, newUuid), sessionTtlArg());
+            } else {
+                // 두 키가 다른 shard 에 있으면 기존 세션을 가져가며 지운 뒤 새 shard 에 저장
+                // 가져가기는 원자적이므로 한 요청만 재발급할 수 있는 것은 같고, 저장 전에 실패하면 다시 로그인해야 함
+                fields = oldShard.primary().execute(takeSessionScript, RedisSerializer.byteArray(),
+                        (RedisSerializer) RedisSerializer.byteArray(), List.of(oldUuid));
+                if (fields != null && !fields.isEmpty()) {
+                    saveSession(newShard, newUuid, fields);
+                }
+            }
+            if (fields == null || fields.isEmpty()) {
+                return null;
+            }
+
+            verifiedTokenCache.evictSession(oldUuid);
+            sessionInvalidationPublisher.publish(oldUuid);
 
-        long userTTL = 7;
+            return sessionCodec.decodePairs(fields);
+        });
+    }
 
-        redisTemplate.expire(userId, userTTL, TimeUnit.DAYS);
+    private byte[] sessionTtlArg() {
+        return String.valueOf(sessionTtl.toMillis()).getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
-    public Map<String, Object> getUser(String userId) {
-        return hashOperations.entries(userId);
+    public SessionRecord getUser(String userId) {
+        return getUserTimer.record(() -> {
+            byte[] key = userId.getBytes(StandardCharsets.UTF_8);
+            Map<byte[], byte[]> hash = sessionShards.forKey(userId).read(userId, template -> template.execute(
+                            (RedisCallback<Map<byte[], byte[]>>) connection -> connection.hashCommands().hGetAll(key)),
+                    RedisServiceImpl::isEmpty);
+            return sessionCodec.decode(hash);
+        });
     }
 
     @Override
-    public void removeUser(String uuid) {
-        try {
-            redisTemplate.delete(uuid);
-        } catch (Exception e) {
-            log.error("레디스에서 유저 정보 삭제 실패", e);
+    @SuppressWarnings("unchecked")
+    public List<SessionRecord> getUsers(List<String> userIds) {
+        return getUsersTimer.record(() -> {
+            if (userIds.isEmpty()) {
+                return List.of();
+            }
+            // shard 마다 파이프라인 한 번씩 조회한 뒤 userIds 순서대로 되돌림
+            SessionRecord[] sessions = new SessionRecord[userIds.size()];
+            sessionShards.groupByShard(userIds).forEach((shard, indexes) -> {
+                List<String> shardIds = indexes.stream().map(userIds::get).toList();
+                List<Object> hashes = hGetAll(shard.replica(), shardIds);
+                if (shard.hasReplica()) {
+                    hashes = readStaleFromPrimary(shard, shardIds, hashes);
+                }
+                for (int i = 0; i < indexes.size(); i++) {
+                    sessions[indexes.get(i)] = sessionCodec.decode((Map<byte[], byte[]>) hashes.get(i));
+                }
+            });
+            return Arrays.asList(sessions);
+        });
+    }
+
+    /**
+     * 여러 세션 해시를 파이프라인 한 번으로 조회, 결과는 userIds 순서와 같음
+     */
+    private List<Object> hGetAll(RedisTemplate<String, Object> template, List<String> userIds) {
+        // executePipelined 는 결과를 템플릿의 해시 직렬화로 변환하므로 커넥션에서 직접 파이프라인을 열어 byte[] 맵 그대로 받음
+        return template.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (String userId : userIds) {
+                connection.hashCommands().hGetAll(userId.getBytes(StandardCharsets.UTF_8));
+            }
+            return connection.closePipeline();
+        });
+    }
+
+    /**
+     * 복제본에서 읽은 결과 중 이 노드가 최근에 쓴 세션과 복제본에 없던 세션만 primary 에서 다시 조회
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> readStaleFromPrimary(SessionReadRouter shard, List<String> userIds,
+                                              List<Object> replicaHashes) {
+        List<Object> hashes = new ArrayList<>(replicaHashes);
+        List<Integer> stale = new ArrayList<>();
+        int missing = 0;
+        for (int i = 0; i < userIds.size(); i++) {
+            if (shard.isRecentlyWritten(userIds.get(i))) {
+                stale.add(i);
+            } else if (isEmpty((Map<byte[], byte[]>) hashes.get(i))) {
+                stale.add(i);
+                missing++;
+            }
+        }
+        if (stale.isEmpty()) {
+            return hashes;
+        }
+        shard.fallback(missing);
+        List<Object> fresh = hGetAll(shard.primary(), stale.stream().map(userIds::get).toList());
+        for (int i = 0; i < stale.size(); i++) {
+            hashes.set(stale.get(i), fresh.get(i));
         }
+        return hashes;
+    }
 
+    private static boolean isEmpty(Map<byte[], byte[]> hash) {
+        return hash == null || hash.isEmpty();
     }
 
     @Override
-    public String createDormantToken(String loginId) {
-        UUID uuid = UUID.randomUUID();
-        String code = AuthCodeGenerator.generate();
+    public void removeUser(String uuid) {
+        removeUserTimer.record(() -> {
+            // 로그아웃 직후의 조회가 복제본에 남은 세션을 읽지 않도록 기록
+            SessionReadRouter shard = sessionShards.forKey(uuid);
+            shard.written(uuid);
+            try {
+                shard.primary().delete(uuid);
+            } catch (Exception e) {
+                log.error("레디스에서 유저 정보 삭제 실패", e);
+                return;
+            }
+            // 세션이 실제로 지워진 뒤에만 캐시를 비우고 다른 노드에 알림
+            verifiedTokenCache.evictSession(uuid);
+            sessionInvalidationPublisher.publish(uuid);
 
-        String hashKey = String.format("%s%s", DORMANT_HASH_PREFIX, uuid);
-        redisTemplate.opsForHash().put(hashKey, DORMANT_LOGIN_ID_KEY, loginId);
-        redisTemplate.opsForHash().put(hashKey, DORMANT_CODE_KEY, code);
-        redisTemplate.expire(hashKey, DEFAULT_EXPIRATION, TimeUnit.SECONDS);
+        });
+    }
 
-        DoorayMessagePayload messagePayload = DoorayMessagePayload.builder()
-                .text(code)
-                .botName(AUTH_BOT_NAME)
-                .botIconImage("/static/images/buzz bee.png")
-                .build();
+    @Override
+    public String createDormantToken(String loginId) {
+        return createDormantTokenTimer.record(() -> {
+            UUID uuid = UUID.randomUUID();
+            String code = AuthCodeGenerator.generate();
 
-        ResponseEntity<String> responseEntity = doorayClient.sendMessage(messagePayload);
+            String hashKey = String.format("%s%s", DORMANT_HASH_PREFIX, uuid);
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put(DORMANT_LOGIN_ID_KEY, loginId);
+            fields.put(DORMANT_CODE_KEY, code);
+            fields.put(DORMANT_DELIVERY_KEY, DeliveryStatus.QUEUED.name());
 
-        if (responseEntity.getStatusCode().isError()) {
-            throw new DoorayException();
-        }
+            // 토큰 저장과 전송 요청 기록을 한 번에 처리하고, 전송은 dispatcher 가 요청 스레드 밖에서 수행
+            sessionShards.forKey(hashKey).written(hashKey);
+            if (!doorayDispatcher.dispatch(hashKey, fields, DEFAULT_EXPIRATION)) {
+                throw new DoorayException();
+            }
 
-        return hashKey;
+            return hashKey;
+        });
     }
 
     @Override
-    public boolean isDormantToken(String token) {
-        return redisTemplate.opsForHash().hasKey(token, DORMANT_CODE_KEY) && redisTemplate.opsForHash().hasKey(token, DORMANT_LOGIN_ID_KEY);
+    public DeliveryStatus getDormantDeliveryStatus(String token) {
+        return getDormantDeliveryStatusTimer.record(() -> {
+            Object status = sessionShards.forKey(token).read(token,
+                    template -> template.opsForHash().get(token, DORMANT_DELIVERY_KEY), Objects::isNull);
+            return status != null ? DeliveryStatus.valueOf(status.toString()) : null;
+        });
     }
 
     @Override
-    public String checkDormantToken(String token, String code) {
-        String expectCode = (String) redisTemplate.opsForHash().get(token, DORMANT_CODE_KEY);
+    public boolean isDormantToken(String token) {
+        return isDormantTokenTimer.record(() -> {
+            // 두 필드를 HMGET 한 번으로 확인
+            List<Object> values = sessionShards.forKey(token).read(token,
+                    template -> template.opsForHash().multiGet(token, List.of(DORMANT_CODE_KEY, DORMANT_LOGIN_ID_KEY)),
+                    RedisServiceImpl::isMissingDormantField);
+            return !isMissingDormantField(values);
+        });
+    }
 
-        if (!Objects.requireNonNull(expectCode).equals(code)) {
-            log.debug("코드 인증에 실패했습니다.");
-            throw new ActivateFailException();
-        }
+    private static boolean isMissingDormantField(List<Object> values) {
+        return values.size() != 2 || values.get(0) == null || values.get(1) == null;
+    }
 
-        String loginId = (String) redisTemplate.opsForHash().get(token, DORMANT_LOGIN_ID_KEY);
+    @Override
+    @SuppressWarnings("unchecked")
+    public String checkDormantToken(String token, String code) {
+        return checkDormantTokenTimer.record(() -> {
+            // 코드 비교와 토큰 삭제를 스크립트 하나로 실행하여 같은 토큰으로 한 번만 인증할 수 있게 함
+            // 저장된 값과 같은 직렬화로 코드를 넘겨 스크립트 안에서 그대로 비교
+            SessionReadRouter shard = sessionShards.forKey(token);
+            shard.written(token);
+            RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getHashKeySerializer();
+            RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+            byte[] loginId = shard.primary().execute(checkDormantTokenScript, RedisSerializer.byteArray(),
+                    RedisSerializer.byteArray(), List.of(token), keySerializer.serialize(DORMANT_CODE_KEY),
+                    keySerializer.serialize(DORMANT_LOGIN_ID_KEY), valueSerializer.serialize(code));
 
-        if (Objects.isNull(loginId)) {
-            log.debug("로그인 아이디가 발견되지 않았습니다.");
-            throw new ActivateFailException("이미 인증 되었거나 타임아웃이 발생했습니다.");
-        }
+            if (Objects.isNull(loginId)) {
+                log.debug("휴면 토큰이 발견되지 않았습니다.");
+                throw new ActivateFailException("이미 인증 되었거나 타임아웃이 발생했습니다.");
+            }
 
-        redisTemplate.delete(token);
+            if (loginId.length == 0) {
+                log.debug("코드 인증에 실패했습니다.");
+                throw new ActivateFailException();
+            }
 
-        return loginId;
+            return (String) valueSerializer.deserialize(loginId);
+        });
     }
 
 }
@@ -0,0 +1,16 @@
+-- 휴면 해제 코드를 비교하고 일치하면 토큰 해시를 삭제하는 작업을 원자적으로 수행합니다.
+-- 같은 토큰으로 동시에 요청해도 한 요청만 loginId 를 가져갈 수 있습니다.
+-- KEYS[1] : 휴면 토큰 해시
+-- ARGV[1] : 코드 필드
+-- ARGV[2] : loginId 필드
+-- ARGV[3] : 입력받은 코드
+-- 반환값 : 성공하면 loginId, 코드가 다르면 빈 문자열, 토큰이 없으면 nil
+local values = redis.call('HMGET', KEYS[1], ARGV[1], ARGV[2])
+if not values[1] or not values[2] then
+    return false
+end
+if values[1] ~= ARGV[3] then
+    return ''
+end
+redis.call('DEL', KEYS[1])
+return values[2]
@@ -0,0 +1,15 @@
+-- 휴면 토큰 해시 저장과 코드 전송 outbox 기록을 한 번에 수행합니다.
+-- 아직 보내지 못한 항목이 최대 길이만큼 쌓여 있으면 아무것도 저장하지 않습니다.
+-- KEYS[1] : 휴면 토큰 해시
+-- KEYS[2] : outbox stream
+-- ARGV[1] : TTL (초)
+-- ARGV[2] : outbox 최대 길이
+-- ARGV[3] : outbox 항목의 토큰 필드 이름
+-- ARGV[4..] : field, value 쌍
+if redis.call('XLEN', KEYS[2]) >= tonumber(ARGV[2]) then
+    return 0
+end
+redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+redis.call('XADD', KEYS[2], '*', ARGV[3], KEYS[1])
+return 1
@@ -0,0 +1,29 @@
+-- 휴면 해제 시도 횟수를 토큰별, 클라이언트별 sliding window counter 로 확인하고 허용되면 기록합니다.
+-- 직전 window 의 횟수에 아직 지나지 않은 비율을 곱해 현재 window 의 횟수와 더한 값을 추정치로 사용합니다.
+-- KEYS[1] : 토큰의 현재 window
+-- KEYS[2] : 토큰의 직전 window
+-- KEYS[3] : 클라이언트의 현재 window (클라이언트를 알 수 없으면 생략)
+-- KEYS[4] : 클라이언트의 직전 window (클라이언트를 알 수 없으면 생략)
+-- ARGV[1] : 직전 window 가중치 (0 ~ 1)
+-- ARGV[2] : 토큰별 허용 횟수
+-- ARGV[3] : 클라이언트별 허용 횟수
+-- ARGV[4] : 키 TTL (밀리초)
+-- 반환값 : 0 허용, 1 토큰 한도 초과, 2 클라이언트 한도 초과
+local weight = tonumber(ARGV[1])
+local hasClient = #KEYS >= 4
+local function estimate(current, previous)
+    return tonumber(redis.call('GET', current) or '0') + tonumber(redis.call('GET', previous) or '0') * weight
+end
+if hasClient and estimate(KEYS[3], KEYS[4]) >= tonumber(ARGV[3]) then
+    return 2
+end
+if estimate(KEYS[1], KEYS[2]) >= tonumber(ARGV[2]) then
+    return 1
+end
+redis.call('INCR', KEYS[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[4])
+if hasClient then
+    redis.call('INCR', KEYS[3])
+    redis.call('PEXPIRE', KEYS[3], ARGV[4])
+end
+return 0
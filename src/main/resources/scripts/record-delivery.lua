@@ -0,0 +1,10 @@
+-- 휴면 해제 코드의 전송 상태를 토큰 해시가 남아 있을 때만 기록합니다.
+-- 만료된 토큰 해시를 TTL 없이 다시 만들지 않도록 EXISTS 와 HSET 을 한 번에 수행합니다.
+-- KEYS[1] : 휴면 토큰 해시
+-- ARGV[1] : 상태 필드
+-- ARGV[2] : 상태 값
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+    return 1
+end
+return 0
@@ -0,0 +1,14 @@
+-- 기존 세션을 읽고 삭제한 뒤 새 uuid 로 옮겨 저장하는 작업을 원자적으로 수행합니다.
+-- 같은 refresh token 으로 동시에 요청해도 한 요청만 기존 세션을 가져갈 수 있습니다.
+-- KEYS[1] : 기존 세션 uuid
+-- KEYS[2] : 새 세션 uuid
+-- ARGV[1] : TTL (밀리초)
+-- 반환값 : 옮겨진 field, value 목록, 기존 세션이 없으면 빈 목록
+local fields = redis.call('HGETALL', KEYS[1])
+if #fields == 0 then
+    return {}
+end
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[2], unpack(fields))
+redis.call('PEXPIRE', KEYS[2], ARGV[1])
+return fields
@@ -0,0 +1,7 @@
+-- 세션 해시의 필드 저장과 TTL 설정을 한 번에 수행합니다.
+-- KEYS[1] : 세션 uuid
+-- ARGV[1] : TTL (밀리초)
+-- ARGV[2..] : field, value 쌍
+redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+return 1
@@ -0,0 +1,11 @@
+-- 세션을 읽고 삭제하는 작업을 원자적으로 수행합니다.
+-- 기존 세션과 새 세션이 다른 shard 에 있어 rotate-session.lua 를 쓸 수 없을 때 사용하며,
+-- 같은 refresh token 으로 동시에 요청해도 한 요청만 기존 세션을 가져갈 수 있습니다.
+-- KEYS[1] : 기존 세션 uuid
+-- 반환값 : 삭제한 세션의 field, value 목록, 세션이 없으면 빈 목록
+local fields = redis.call('HGETALL', KEYS[1])
+if #fields == 0 then
+    return {}
+end
+redis.call('DEL', KEYS[1])
+return fields
@@ -0,0 +1,91 @@
+package store.buzzbook.authserver.benchmark;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.RevokedSessionRegistry;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.jwt.HmacJwtEngine;
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+import store.buzzbook.authserver.jwt.JwtSigningKey;
+import store.buzzbook.authserver.jwt.JwtTokenProvider;
+import store.buzzbook.authserver.jwt.TokenParseResult;
+
+/**
+ * HS256 토큰 발급과 검증을 jjwt 경로와 {@link HmacJwtEngine} 경로로 비교합니다.
+ * 기본 gc 프로파일러의 {@code gc.alloc.rate.norm} 이 토큰 하나당 할당 바이트입니다.
+ *
+ * <p>실행: {@code mvn -Pbenchmark -DskipTests test -Djmh.includes=HmacJwtEngineBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class HmacJwtEngineBenchmark {
+    private static final String SECRET = "benchmark-access-token-secret-key-0123456789";
+    private static final String REFRESH_SECRET = "benchmark-refresh-token-secret-key-0123456789";
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 1L);
+
+    private JwtTokenProvider jjwtProvider;
+    private JwtTokenProvider engineProvider;
+    private UUID uuid;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jjwtProvider = provider(new HmacJwtEngine(false, 0));
+        engineProvider = provider(new HmacJwtEngine(true, 0));
+        uuid = UUID.randomUUID();
+        accessToken = jjwtProvider.issueTokens(uuid, SESSION).getAccessToken();
+    }
+
+    private JwtTokenProvider provider(HmacJwtEngine hmacJwtEngine) {
+        return new JwtTokenProvider(
+                new JwtKeyRing(JwtSigningKey.hmac("access-1", SECRET), Duration.ofMinutes(30)),
+                new JwtKeyRing(JwtSigningKey.hmac("refresh-1", REFRESH_SECRET), Duration.ofMinutes(30)),
+                new InMemoryRedisService(),
+                new VerifiedTokenCache(false, 10_000, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new RevokedSessionRegistry(null, false, Duration.ofMinutes(30), 6, 10_000, 0.01,
+                Duration.ofSeconds(10)), false,
+                hmacJwtEngine, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public JwtResponse issueJjwt() {
+        return jjwtProvider.issueTokens(uuid, SESSION);
+    }
+
+    @Benchmark
+    public JwtResponse issueEngine() {
+        return engineProvider.issueTokens(uuid, SESSION);
+    }
+
+    @Benchmark
+    public TokenParseResult parseJjwt() {
+        return jjwtProvider.parseAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public TokenParseResult parseEngine() {
+        return engineProvider.parseAccessToken(accessToken);
+    }
+}
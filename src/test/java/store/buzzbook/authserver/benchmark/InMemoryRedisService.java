@@ -0,0 +1,66 @@
+package store.buzzbook.authserver.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import store.buzzbook.authserver.client.DeliveryStatus;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.service.RedisService;
+
+/**
+ * 벤치마크에서 Redis 왕복 비용을 빼고 토큰 처리 비용만 재기 위한 메모리 기반 RedisService 입니다.
+ * 휴면 계정 관련 기능은 지원하지 않습니다.
+ */
+public class InMemoryRedisService implements RedisService {
+	private final Map<String, SessionRecord> sessions = new ConcurrentHashMap<>();
+
+	@Override
+	public void saveUser(String userId, SessionRecord session) {
+		sessions.put(userId, session);
+	}
+
+	@Override
+	public SessionRecord getUser(String userId) {
+		return sessions.get(userId);
+	}
+
+	@Override
+	public List<SessionRecord> getUsers(List<String> userIds) {
+		return userIds.stream().map(sessions::get).toList();
+	}
+
+	@Override
+	public void removeUser(String uuid) {
+		sessions.remove(uuid);
+	}
+
+	@Override
+	public SessionRecord rotateUser(String oldUuid, String newUuid) {
+		SessionRecord session = sessions.remove(oldUuid);
+		if (session != null) {
+			sessions.put(newUuid, session);
+		}
+		return session;
+	}
+
+	@Override
+	public String createDormantToken(String loginId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public DeliveryStatus getDormantDeliveryStatus(String token) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isDormantToken(String token) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String checkDormantToken(String token, String code) {
+		throw new UnsupportedOperationException();
+	}
+}
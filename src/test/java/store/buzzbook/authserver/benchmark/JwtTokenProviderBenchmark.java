@@ -0,0 +1,137 @@
+package store.buzzbook.authserver.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.RevokedSessionRegistry;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.dto.AuthDTO;
+import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.jwt.HmacJwtEngine;
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+import store.buzzbook.authserver.jwt.JwtSigningKey;
+import store.buzzbook.authserver.jwt.JwtTokenProvider;
+
+/**
+ * 토큰 발급, 검증, 유저 정보 조회, 재발급 경로의 처리량을 측정합니다.
+ * Redis 는 {@link InMemoryRedisService} 로 대체하므로 네트워크 비용은 포함되지 않습니다.
+ *
+ * <p>실행: {@code mvn -Pbenchmark -DskipTests test -Djmh.includes=JwtTokenProviderBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET = "benchmark-access-token-secret-key-0123456789";
+    private static final String REFRESH_SECRET = "benchmark-refresh-token-secret-key-0123456789";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider statelessProvider;
+    private AuthDTO authDTO;
+    private String accessToken;
+    private String statelessAccessToken;
+
+    @Setup
+    public void setUp() {
+        InMemoryRedisService redisService = new InMemoryRedisService();
+        cachedProvider = new JwtTokenProvider(accessKeyRing(), refreshKeyRing(), redisService,
+                new VerifiedTokenCache(true, 10_000, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                revokedSessionRegistry(false), false,
+                new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+        uncachedProvider = new JwtTokenProvider(accessKeyRing(), refreshKeyRing(), redisService,
+                new VerifiedTokenCache(false, 10_000, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                revokedSessionRegistry(false), false,
+                new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+        statelessProvider = new JwtTokenProvider(accessKeyRing(), refreshKeyRing(), redisService,
+                new VerifiedTokenCache(false, 10_000, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                revokedSessionRegistry(true), true,
+                new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+
+        authDTO = new AuthDTO();
+        authDTO.setLoginId("testUser");
+        authDTO.setRole("USER");
+        authDTO.setUserId(123456L);
+        accessToken = cachedProvider.generateToken(authDTO).getAccessToken();
+        statelessAccessToken = statelessProvider.generateToken(authDTO).getAccessToken();
+    }
+
+    private JwtKeyRing accessKeyRing() {
+        return keyRing("access-1", SECRET);
+    }
+
+    private JwtKeyRing refreshKeyRing() {
+        return keyRing("refresh-1", REFRESH_SECRET);
+    }
+
+    private JwtKeyRing keyRing(String kid, String secret) {
+        return new JwtKeyRing(JwtSigningKey.hmac(kid, secret), Duration.ofMinutes(30));
+    }
+
+    private RevokedSessionRegistry revokedSessionRegistry(boolean stateless) {
+        // stateless 모드에서도 Redis 는 기동 시 폐기 목록을 읽을 때만 사용하므로 연결 없이 생성
+        return new RevokedSessionRegistry(null, stateless, Duration.ofMinutes(30), 6, 10_000, 0.01,
+                Duration.ofSeconds(10));
+    }
+
+    @Benchmark
+    public JwtResponse generateToken() {
+        return uncachedProvider.generateToken(authDTO);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return uncachedProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public SessionRecord getUserInfoFromToken() {
+        return uncachedProvider.getUserInfoFromToken(accessToken);
+    }
+
+    @Benchmark
+    public SessionRecord getUserInfoFromTokenCached() {
+        return cachedProvider.getUserInfoFromToken(accessToken);
+    }
+
+    @Benchmark
+    public SessionRecord getUserInfoFromTokenStateless() {
+        return statelessProvider.getUserInfoFromToken(statelessAccessToken);
+    }
+
+    @Benchmark
+    public JwtResponse refreshAccessToken(RefreshState state) {
+        JwtResponse response = uncachedProvider.refreshAccessToken(state.refreshToken);
+        state.refreshToken = response.getRefreshToken();
+        return response;
+    }
+
+    /**
+     * 재발급마다 세션 uuid 가 바뀌므로 스레드별로 마지막 refresh token 을 이어서 사용
+     */
+    @State(Scope.Thread)
+    public static class RefreshState {
+        private String refreshToken;
+
+        @Setup
+        public void setUp(JwtTokenProviderBenchmark benchmark) {
+            refreshToken = benchmark.uncachedProvider.generateToken(benchmark.authDTO).getRefreshToken();
+        }
+    }
+}
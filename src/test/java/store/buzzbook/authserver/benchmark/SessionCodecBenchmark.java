@@ -0,0 +1,80 @@
+package store.buzzbook.authserver.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.redis.SessionCodec;
+
+/**
+ * 세션 해시 디코딩 비용을 이전 Jackson 방식과 SessionCodec 방식으로 비교합니다.
+ * /info 에서 HGETALL 결과를 유저 정보로 바꾸는 구간에 해당합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCodecBenchmark {
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 123456L);
+
+    private final GenericJackson2JsonRedisSerializer jackson = new GenericJackson2JsonRedisSerializer();
+    private final StringRedisSerializer keySerializer = new StringRedisSerializer();
+    private final SessionCodec sessionCodec = new SessionCodec(true);
+
+    private Map<byte[], byte[]> jacksonHash;
+    private Map<byte[], byte[]> codecHash;
+
+    @Setup
+    public void setUp() {
+        jacksonHash = new HashMap<>();
+        jacksonHash.put(keySerializer.serialize("loginId"), jackson.serialize(SESSION.loginId()));
+        jacksonHash.put(keySerializer.serialize("role"), jackson.serialize(SESSION.role()));
+        jacksonHash.put(keySerializer.serialize("userId"), jackson.serialize(SESSION.userId()));
+
+        codecHash = new HashMap<>();
+        List<byte[]> pairs = sessionCodec.encode(SESSION);
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            codecHash.put(pairs.get(i), pairs.get(i + 1));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeJackson() {
+        Map<String, Object> data = new HashMap<>();
+        jacksonHash.forEach((field, value) -> data.put(keySerializer.deserialize(field), jackson.deserialize(value)));
+        return data;
+    }
+
+    @Benchmark
+    public SessionRecord decodeSessionCodec() {
+        return sessionCodec.decode(codecHash);
+    }
+
+    @Benchmark
+    public List<byte[]> encodeJackson() {
+        return List.of(jackson.serialize(SESSION.loginId()), jackson.serialize(SESSION.role()),
+                jackson.serialize(SESSION.userId()));
+    }
+
+    @Benchmark
+    public List<byte[]> encodeSessionCodec() {
+        return sessionCodec.encode(SESSION);
+    }
+}
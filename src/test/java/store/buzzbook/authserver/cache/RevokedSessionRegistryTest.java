@@ -0,0 +1,143 @@
+package store.buzzbook.authserver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 폐기 filter 의 양성 응답을 Redis 에서 확인하고, pub/sub 으로 놓친 폐기를 sorted set 에서 채우는지 확인합니다.
+ */
+class RevokedSessionRegistryTest {
+    private static EmbeddedRedis redis;
+    private static LettuceConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+        connectionFactory = redis.connectionFactory();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @BeforeEach
+    void flush() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushDb();
+        }
+    }
+
+    @Test
+    void negativeAnswerSkipsRedisTest() {
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        RevokedSessionRegistry registry = registry(factory, 10_000, 0.01);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(registry.isRevoked(UUID.randomUUID().toString())).isFalse();
+        }
+        verifyNoInteractions(factory);
+    }
+
+    @Test
+    void localRevocationIsRevokedBeforePersistTest() {
+        RevokedSessionRegistry registry = registry(mock(RedisConnectionFactory.class), 10_000, 0.01);
+        String uuid = UUID.randomUUID().toString();
+
+        registry.revoke(uuid);
+
+        assertThat(registry.isRevoked(uuid)).isTrue();
+        assertThat(registry.isRevoked("not-a-uuid")).isFalse();
+    }
+
+    @Test
+    void falsePositivesAreConfirmedInRedisTest() {
+        // 항목 하나에 맞춘 filter 에 많이 넣어 잘못된 양성이 나오도록 함
+        RevokedSessionRegistry registry = registry(connectionFactory, 1, 0.5);
+        for (int i = 0; i < 1000; i++) {
+            registry.revoke(UUID.randomUUID().toString());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(registry.isRevoked(UUID.randomUUID().toString())).isFalse();
+        }
+    }
+
+    @Test
+    void syncPicksUpRevocationsMissedOverPubSubTest() {
+        RevokedSessionRegistry writer = registry(connectionFactory, 10_000, 0.01);
+        RevokedSessionRegistry reader = registry(connectionFactory, 10_000, 0.01);
+        reader.bootstrap();
+        String uuid = UUID.randomUUID().toString();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            writer.persist(connection, List.of(uuid));
+        }
+        assertThat(reader.isRevoked(uuid)).isFalse();
+
+        reader.sync(System.currentTimeMillis());
+
+        assertThat(reader.isRevoked(uuid)).isTrue();
+        reader.stop();
+    }
+
+    @Test
+    void reactiveConfirmationRunsOffCallingThreadTest() {
+        AtomicReference<String> confirmingThread = new AtomicReference<>();
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        when(factory.getConnection()).thenAnswer(invocation -> {
+            confirmingThread.set(Thread.currentThread().getName());
+            return connectionFactory.getConnection();
+        });
+        RevokedSessionRegistry registry = registry(factory, 10_000, 0.01);
+        String uuid = UUID.randomUUID().toString();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            registry.persist(connection, List.of(uuid));
+        }
+        registry.sync(System.currentTimeMillis());
+        confirmingThread.set(null);
+
+        assertThat(registry.isRevokedReactive(uuid).block()).isTrue();
+        assertThat(confirmingThread.get()).startsWith("boundedElastic");
+        assertThat(registry.isRevokedReactive(UUID.randomUUID().toString()).block()).isFalse();
+    }
+
+    @Test
+    void expiredRecordIsNotConfirmedTest() {
+        RevokedSessionRegistry registry = registry(connectionFactory, 1, 0.5);
+        String uuid = UUID.randomUUID().toString();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.zSetCommands().zAdd(RevokedSessionRegistry.REVOKED_KEY.getBytes(StandardCharsets.UTF_8),
+                    System.currentTimeMillis() - 1000, uuid.getBytes(StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i < 1000; i++) {
+            registry.revoke(UUID.randomUUID().toString());
+        }
+
+        assertThat(registry.isRevoked(uuid)).isFalse();
+    }
+
+    private static RevokedSessionRegistry registry(RedisConnectionFactory factory, long expectedPerBucket,
+                                                   double fpp) {
+        return new RevokedSessionRegistry(factory, true, Duration.ofMinutes(30), 6, expectedPerBucket, fpp,
+                Duration.ofMinutes(10));
+    }
+}
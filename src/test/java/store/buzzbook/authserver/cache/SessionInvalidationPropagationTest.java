@@ -0,0 +1,131 @@
+package store.buzzbook.authserver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.config.RedisConfig;
+import store.buzzbook.authserver.config.SessionInvalidationConfig;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 두 개의 애플리케이션 컨텍스트가 같은 Redis 를 바라볼 때 한쪽의 세션 삭제가 다른 쪽 캐시에 전파되는지 확인합니다.
+ */
+class SessionInvalidationPropagationTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String UUID = "uuid";
+
+    private static EmbeddedRedis redis;
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void evictionPropagatesToOtherNodeTest() {
+        SessionRecord userInfo = new SessionRecord("testUser", "USER", 1L);
+        Date expiration = new Date(System.currentTimeMillis() + Duration.ofMinutes(30).toMillis());
+        VerifiedTokenCache cacheA = nodeA.getBean(VerifiedTokenCache.class);
+        VerifiedTokenCache cacheB = nodeB.getBean(VerifiedTokenCache.class);
+        cacheA.put(TOKEN, UUID, expiration, userInfo);
+        cacheB.put(TOKEN, UUID, expiration, userInfo);
+
+        cacheA.evictSession(UUID);
+        nodeA.getBean(SessionInvalidationPublisher.class).publish(UUID);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(cacheB.get(TOKEN)).isNull());
+        assertThat(cacheA.get(TOKEN)).isNull();
+    }
+
+    @Test
+    void revocationPropagatesToOtherNodeAndRestartedNodeTest() {
+        String uuid = java.util.UUID.randomUUID().toString();
+
+        nodeA.getBean(SessionInvalidationPublisher.class).publish(uuid);
+
+        assertThat(nodeA.getBean(RevokedSessionRegistry.class).isRevoked(uuid)).isTrue();
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(nodeB.getBean(RevokedSessionRegistry.class).isRevoked(uuid)).isTrue());
+
+        try (AnnotationConfigApplicationContext restarted = startNode()) {
+            assertThat(restarted.getBean(RevokedSessionRegistry.class).isRevoked(uuid)).isTrue();
+        }
+    }
+
+    @Test
+    void publishesInlineDuringShutdownTest() {
+        SessionRecord userInfo = new SessionRecord("testUser", "USER", 1L);
+        Date expiration = new Date(System.currentTimeMillis() + Duration.ofMinutes(30).toMillis());
+        VerifiedTokenCache cacheB = nodeB.getBean(VerifiedTokenCache.class);
+        cacheB.put(TOKEN, UUID, expiration, userInfo);
+        SessionInvalidationPublisher publisher = nodeA.getBean(SessionInvalidationPublisher.class);
+        publisher.stop();
+
+        publisher.publish(UUID);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(cacheB.get(TOKEN)).isNull());
+    }
+
+    private AnnotationConfigApplicationContext startNode() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "spring.data.redis.host", "127.0.0.1",
+                "spring.data.redis.port", redis.getPort(),
+                "auth.invalidation.flush-interval", "10ms",
+                "auth.access-token.stateless", "true")));
+        context.register(NodeConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    @Configuration
+    @Import({RedisConfig.class, SessionInvalidationConfig.class, VerifiedTokenCache.class,
+            RevokedSessionRegistry.class, SessionInvalidationPublisher.class, SessionInvalidationListener.class})
+    static class NodeConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
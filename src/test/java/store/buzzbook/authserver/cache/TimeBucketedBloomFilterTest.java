@@ -0,0 +1,80 @@
+package store.buzzbook.authserver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TimeBucketedBloomFilterTest {
+    private static final Duration RETENTION = Duration.ofMinutes(30);
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void containsAddedUntilExpiredTest() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(RETENTION, 6, 1000, 0.01);
+        UUID id = UUID.randomUUID();
+
+        filter.put(id, NOW + RETENTION.toMillis(), NOW);
+
+        assertThat(filter.mightContain(id, NOW)).isTrue();
+        assertThat(filter.mightContain(id, NOW + RETENTION.toMillis() - 1)).isTrue();
+        // 만료 시각이 속한 구간이 끝나면 사라짐
+        assertThat(filter.mightContain(id, NOW + RETENTION.toMillis() + filter.bucketMillis())).isFalse();
+    }
+
+    @Test
+    void ignoresAlreadyExpiredTest() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(RETENTION, 6, 1000, 0.01);
+        UUID id = UUID.randomUUID();
+
+        filter.put(id, NOW - filter.bucketMillis(), NOW);
+
+        assertThat(filter.mightContain(id, NOW)).isFalse();
+    }
+
+    @Test
+    void reusesExpiredBucketsForNewEntriesTest() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(RETENTION, 6, 1000, 0.01);
+        List<UUID> old = randomIds(1000);
+        old.forEach(id -> filter.put(id, NOW + RETENTION.toMillis(), NOW));
+
+        // retention 을 여러 번 지나도록 계속 추가해도 최근 항목은 모두 남고 오래된 항목은 사라짐
+        long now = NOW;
+        List<UUID> recent = List.of();
+        for (int round = 0; round < 20; round++) {
+            now += filter.bucketMillis();
+            recent = randomIds(1000);
+            for (UUID id : recent) {
+                filter.put(id, now + RETENTION.toMillis(), now);
+            }
+        }
+
+        long later = now;
+        assertThat(recent).allMatch(id -> filter.mightContain(id, later));
+        assertThat(old.stream().filter(id -> filter.mightContain(id, later)).count()).isLessThan(100);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetTest() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(RETENTION, 6, 10_000, 0.01);
+        for (UUID id : randomIds(10_000)) {
+            filter.put(id, NOW + RETENTION.toMillis(), NOW);
+        }
+
+        long falsePositives = randomIds(100_000).stream().filter(id -> filter.mightContain(id, NOW)).count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,75 @@
+package store.buzzbook.authserver.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.dto.SessionRecord;
+
+class VerifiedTokenCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String UUID = "uuid";
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+    private SessionRecord userInfo;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(true, 100, Duration.ofMinutes(1), meterRegistry);
+        userInfo = new SessionRecord("testUser", "USER", 1L);
+    }
+
+    @Test
+    void putAndGetTest() {
+        verifiedTokenCache.put(TOKEN, UUID, expiresIn(Duration.ofMinutes(30)), userInfo);
+
+        assertThat(verifiedTokenCache.get(TOKEN)).isEqualTo(userInfo);
+        assertThat(verifiedTokenCache.get("other.token.value")).isNull();
+        assertThat(meterRegistry.get("auth.token.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void expiredTokenIsNotCachedTest() {
+        verifiedTokenCache.put(TOKEN, UUID, expiresIn(Duration.ofSeconds(-1)), userInfo);
+
+        assertThat(verifiedTokenCache.get(TOKEN)).isNull();
+    }
+
+    @Test
+    void missingSessionIsNotCachedTest() {
+        verifiedTokenCache.put(TOKEN, UUID, expiresIn(Duration.ofMinutes(30)), null);
+
+        assertThat(verifiedTokenCache.get(TOKEN)).isNull();
+    }
+
+    @Test
+    void evictSessionTest() {
+        verifiedTokenCache.put(TOKEN, UUID, expiresIn(Duration.ofMinutes(30)), userInfo);
+
+        verifiedTokenCache.evictSession(UUID);
+
+        assertThat(verifiedTokenCache.get(TOKEN)).isNull();
+        assertThat(meterRegistry.get("auth.token.cache.invalidations").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void disabledCacheTest() {
+        VerifiedTokenCache disabled = new VerifiedTokenCache(false, 100, Duration.ofMinutes(1), meterRegistry);
+
+        disabled.put(TOKEN, UUID, expiresIn(Duration.ofMinutes(30)), userInfo);
+
+        assertThat(disabled.get(TOKEN)).isNull();
+    }
+
+    private Date expiresIn(Duration duration) {
+        return new Date(System.currentTimeMillis() + duration.toMillis());
+    }
+}
@@ -0,0 +1,349 @@
+package store.buzzbook.authserver.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.ResponseEntity;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.config.RedisConfig;
+import store.buzzbook.authserver.config.RedisScriptConfig;
+import store.buzzbook.authserver.load.AuthServerNode;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * Dooray webhook 대신 로컬 HTTP 서버를 띄워 휴면 해제 코드가 outbox 를 거쳐 요청과 분리되어 전송되는지 확인합니다.
+ */
+class DoorayDispatcherTest {
+    private static final Duration HOOK_DELAY = Duration.ofSeconds(1);
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    private static final AtomicInteger requests = new AtomicInteger();
+
+    private static EmbeddedRedis redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static HttpServer hook;
+    private static AuthServerNode node;
+    // 몇 번째 요청인지 받아 응답 status 를 정함
+    private static volatile IntUnaryOperator responder = count -> 200;
+    private static volatile Duration delay = Duration.ZERO;
+
+    @BeforeAll
+    static void start() throws IOException {
+        redis = EmbeddedRedis.start();
+        connectionFactory = redis.connectionFactory();
+        hook = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        hook.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int status = responder.applyAsInt(requests.incrementAndGet());
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        hook.start();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("auth.dooray.url", "http://127.0.0.1:" + hook.getAddress().getPort() + "/hook");
+        properties.put("auth.dooray.backoff", "20ms");
+        properties.put("auth.dooray.max-attempts", 3);
+        properties.put("auth.dooray.poll-timeout", "200ms");
+        properties.put("auth.dooray.reclaim-interval", "50ms");
+        properties.put("auth.dooray.claim-idle", "500ms");
+        properties.put("auth.dooray.breaker.failure-threshold", 100);
+        node = AuthServerNode.start(redis, properties);
+    }
+
+    @AfterAll
+    static void stop() {
+        node.close();
+        hook.stop(0);
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @BeforeEach
+    void reset() {
+        requests.set(0);
+        responder = count -> 200;
+        delay = Duration.ZERO;
+    }
+
+    @Test
+    void respondsBeforeHookCompletesTest() throws Exception {
+        delay = HOOK_DELAY;
+
+        long started = System.nanoTime();
+        String token = createDormantToken();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(elapsed).isLessThan(HOOK_DELAY);
+        assertThat(deliveryStatus(token)).isEqualTo("\"QUEUED\"");
+        await().atMost(Duration.ofSeconds(5)).until(() -> "\"SENT\"".equals(deliveryStatus(token)));
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesServerErrorsTest() throws Exception {
+        responder = count -> count < 3 ? 503 : 200;
+
+        String token = createDormantToken();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> "\"SENT\"".equals(deliveryStatus(token)));
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failsAfterMaxAttemptsTest() throws Exception {
+        responder = count -> 500;
+
+        String token = createDormantToken();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> "\"FAILED\"".equals(deliveryStatus(token)));
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryClientErrorsTest() throws Exception {
+        responder = count -> 400;
+
+        String token = createDormantToken();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> "\"FAILED\"".equals(deliveryStatus(token)));
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void reclaimsEntriesFromDeadConsumerTest() throws Exception {
+        String token = "DH_" + UUID.randomUUID();
+        RedisTemplate<String, Object> template = redisTemplate(connectionFactory);
+        template.opsForHash().putAll(token, fields());
+        // 다른 노드가 항목을 읽고 ack 하기 전에 죽은 상황, 이 노드의 consumer 가 먼저 읽지 않도록 스크립트로 한 번에 수행
+        template.execute(new DefaultRedisScript<>("""
+                redis.call('XADD', KEYS[1], '*', 'token', ARGV[1])
+                redis.call('XREADGROUP', 'GROUP', ARGV[2], 'dead-node:0000-0', 'COUNT', 1, 'STREAMS', KEYS[1], '>')
+                return 1
+                """, Long.class), RedisSerializer.string(), null, List.of(DoorayDispatcher.STREAM), token,
+                DoorayDispatcher.GROUP);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> "\"SENT\"".equals(deliveryStatus(token)));
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(template.opsForStream().pending(DoorayDispatcher.STREAM, DoorayDispatcher.GROUP)
+                .getTotalPendingMessages()).isZero();
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresTest() {
+        DoorayClient client = mock(DoorayClient.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(client.sendMessage(any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new IllegalStateException("connection refused");
+            }
+            return ResponseEntity.ok("ok");
+        });
+        // 실행 중인 노드의 consumer group 과 섞이지 않도록 별도 Redis 사용
+        try (EmbeddedRedis breakerRedis = EmbeddedRedis.start()) {
+            LettuceConnectionFactory factory = breakerRedis.connectionFactory();
+            RedisTemplate<String, Object> template = redisTemplate(factory);
+            DoorayDispatcher dispatcher = dispatcher(client, template, 2, 1, 2);
+            dispatcher.start();
+            try {
+                assertThat(dispatcher.dispatch("DH_1", fields(), 180)).isTrue();
+                assertThat(dispatcher.dispatch("DH_2", fields(), 180)).isTrue();
+                await().atMost(Duration.ofSeconds(2)).until(dispatcher::isOpen);
+                assertThat(template.opsForHash().get("DH_1", "delivery")).isEqualTo("FAILED");
+
+                // 열려 있는 동안은 토큰을 저장하지 않고 거절
+                assertThat(dispatcher.dispatch("DH_3", fields(), 180)).isFalse();
+                assertThat(template.hasKey("DH_3")).isFalse();
+                assertThat(calls.get()).isEqualTo(2);
+
+                // open-duration 이 지나면 시험 전송이 성공하여 다시 닫힘
+                await().atMost(Duration.ofSeconds(2)).until(() -> !dispatcher.isOpen());
+                assertThat(dispatcher.dispatch("DH_4", fields(), 180)).isTrue();
+                await().atMost(Duration.ofSeconds(2))
+                        .until(() -> "SENT".equals(template.opsForHash().get("DH_4", "delivery")));
+                assertThat(calls.get()).isEqualTo(3);
+                assertThat(dispatcher.isOpen()).isFalse();
+            } finally {
+                dispatcher.stop();
+                factory.destroy();
+            }
+        }
+    }
+
+    @Test
+    void entriesHeldByOpenCircuitAreNotCountedAsAttemptsTest() {
+        DoorayClient client = mock(DoorayClient.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(client.sendMessage(any())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("connection refused");
+            }
+            return ResponseEntity.ok("ok");
+        });
+        try (EmbeddedRedis breakerRedis = EmbeddedRedis.start()) {
+            LettuceConnectionFactory factory = breakerRedis.connectionFactory();
+            RedisTemplate<String, Object> template = redisTemplate(factory);
+            DoorayDispatcher dispatcher = dispatcher(client, template, 10, 1, 1);
+            // 두 항목을 한 번에 읽도록 start 전에 기록
+            assertThat(dispatcher.dispatch("DH_1", fields(), 180)).isTrue();
+            assertThat(dispatcher.dispatch("DH_2", fields(), 180)).isTrue();
+            dispatcher.start();
+            try {
+                // DH_1 의 실패로 회로가 열려 DH_2 는 보내지 못했으므로 한 번뿐인 시도가 남아 있음
+                await().atMost(Duration.ofSeconds(2))
+                        .until(() -> "FAILED".equals(template.opsForHash().get("DH_1", "delivery")));
+                await().atMost(Duration.ofSeconds(3))
+                        .until(() -> "SENT".equals(template.opsForHash().get("DH_2", "delivery")));
+                assertThat(calls.get()).isEqualTo(2);
+            } finally {
+                dispatcher.stop();
+                factory.destroy();
+            }
+        }
+    }
+
+    @Test
+    void rejectsWhenOutboxIsFullTest() {
+        try (EmbeddedRedis fullRedis = EmbeddedRedis.start()) {
+            LettuceConnectionFactory factory = fullRedis.connectionFactory();
+            RedisTemplate<String, Object> template = redisTemplate(factory);
+            // start 하지 않아 아무도 outbox 를 비우지 않음
+            DoorayDispatcher dispatcher = dispatcher(mock(DoorayClient.class), template, 2, 3, 5);
+
+            assertThat(dispatcher.dispatch("DH_1", fields(), 180)).isTrue();
+            assertThat(dispatcher.dispatch("DH_2", fields(), 180)).isTrue();
+            assertThat(dispatcher.dispatch("DH_3", fields(), 180)).isFalse();
+
+            assertThat(template.opsForHash().get("DH_1", "code")).isEqualTo("123456");
+            assertThat(template.getExpire("DH_1")).isBetween(170L, 180L);
+            assertThat(template.hasKey("DH_3")).isFalse();
+            assertThat(template.opsForStream().size(DoorayDispatcher.STREAM)).isEqualTo(2);
+            factory.destroy();
+        }
+    }
+
+    @Test
+    void deliversFromEveryShardOutboxTest() {
+        DoorayClient client = mock(DoorayClient.class);
+        when(client.sendMessage(any())).thenReturn(ResponseEntity.ok("ok"));
+        try (EmbeddedRedis first = EmbeddedRedis.start(); EmbeddedRedis second = EmbeddedRedis.start()) {
+            LettuceConnectionFactory firstFactory = first.connectionFactory();
+            LettuceConnectionFactory secondFactory = second.connectionFactory();
+            Map<String, SessionReadRouter> routers = new LinkedHashMap<>();
+            routers.put("first", SessionReadRouter.primaryOnly(redisTemplate(firstFactory), new SimpleMeterRegistry()));
+            routers.put("second",
+                    SessionReadRouter.primaryOnly(redisTemplate(secondFactory), new SimpleMeterRegistry()));
+            SessionShards shards = new SessionShards(routers, 160, List.of(firstFactory, secondFactory));
+            DoorayDispatcher dispatcher = dispatcher(client, shards, 100, 3, 5);
+            dispatcher.start();
+            try {
+                List<String> tokens = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    String token = "DH_" + UUID.randomUUID();
+                    assertThat(dispatcher.dispatch(token, fields(), 180)).isTrue();
+                    tokens.add(token);
+                }
+
+                // 토큰은 맡은 shard 에 저장되고 각 shard 의 outbox 에서 전송됨
+                assertThat(tokens).extracting(shards::forKey).containsAll(routers.values());
+                await().atMost(Duration.ofSeconds(5)).until(() -> tokens.stream().allMatch(
+                        token -> "SENT".equals(shards.primary(token).opsForHash().get(token, "delivery"))));
+                assertThat(routers.values()).allSatisfy(router -> assertThat(
+                        router.primary().opsForStream().size(DoorayDispatcher.STREAM)).isZero());
+            } finally {
+                dispatcher.stop();
+                shards.close();
+            }
+        }
+    }
+
+    @Test
+    void backoffDoublesUpToMaximumTest() {
+        SessionShards shards = SessionShards.single(
+                SessionReadRouter.primaryOnly(mock(RedisTemplate.class), new SimpleMeterRegistry()));
+        DoorayDispatcher dispatcher = new DoorayDispatcher(mock(DoorayClient.class), shards, null, null, "backoff",
+                1, 10, 10, 5, Duration.ofMillis(100), Duration.ofMillis(350), Duration.ofSeconds(1), Duration.ofSeconds(1),
+                Duration.ofSeconds(60), 5, Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+        assertThat(dispatcher.backoff(1)).isEqualTo(100);
+        assertThat(dispatcher.backoff(2)).isEqualTo(200);
+        assertThat(dispatcher.backoff(3)).isEqualTo(350);
+        assertThat(dispatcher.backoff(40)).isEqualTo(350);
+    }
+
+    private static DoorayDispatcher dispatcher(DoorayClient client, RedisTemplate<String, Object> template,
+                                               int queueCapacity, int maxAttempts, int failureThreshold) {
+        SessionShards shards = SessionShards.single(SessionReadRouter.primaryOnly(template, new SimpleMeterRegistry()));
+        return dispatcher(client, shards, queueCapacity, maxAttempts, failureThreshold);
+    }
+
+    private static DoorayDispatcher dispatcher(DoorayClient client, SessionShards shards, int queueCapacity,
+                                               int maxAttempts, int failureThreshold) {
+        RedisScriptConfig scripts = new RedisScriptConfig();
+        return new DoorayDispatcher(client, shards, scripts.createDormantTokenScript(),
+                scripts.recordDeliveryScript(), "test", 1, 10, queueCapacity, maxAttempts, Duration.ofMillis(10),
+                Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofMillis(50), Duration.ofSeconds(60),
+                failureThreshold, Duration.ofMillis(300), new SimpleMeterRegistry());
+    }
+
+    private static Map<String, Object> fields() {
+        return Map.of("loginId", "testUser", "code", "123456", "delivery", "QUEUED");
+    }
+
+    private static RedisTemplate<String, Object> redisTemplate(LettuceConnectionFactory factory) {
+        RedisTemplate<String, Object> template = new RedisConfig().redisTemplate(factory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private static String createDormantToken() throws Exception {
+        HttpResponse<String> response = HTTP_CLIENT.send(
+                HttpRequest.newBuilder(URI.create(node.getBaseUrl() + "/api/auth/dormant?loginId=testUser")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.body();
+    }
+
+    private static String deliveryStatus(String token) throws Exception {
+        HttpResponse<String> response = HTTP_CLIENT.send(HttpRequest.newBuilder(
+                        URI.create(node.getBaseUrl() + "/api/auth/dormant/delivery?token=" + token)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        return response.body();
+    }
+}
@@ -0,0 +1,43 @@
+package store.buzzbook.authserver.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+import store.buzzbook.authserver.jwt.JwtSigningKey;
+
+class JwtKeyScheduleTest {
+    private static final String SECRET = "firstTokenKey12345678901234567890123456789012";
+    private static final String NEXT_SECRET = "secondTokenKey1234567890123456789012345678901";
+
+    @Test
+    void appliesKeysFromConfigAndReloadsOnChangeTest() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("auth.access-token.keys[0].kid", "access-2")
+                .withProperty("auth.access-token.keys[0].secret", NEXT_SECRET)
+                .withProperty("auth.access-token.keys[0].activate-at", "2000-01-01T00:00:00Z");
+        JwtKeyRing accessKeyRing = new JwtKeyRing(JwtSigningKey.hmac("access-1", SECRET), Duration.ofMinutes(30));
+        JwtKeyRing refreshKeyRing = new JwtKeyRing(JwtSigningKey.hmac("refresh-1", SECRET), Duration.ofDays(1));
+
+        JwtKeySchedule schedule = new JwtKeySchedule(environment, accessKeyRing, refreshKeyRing);
+
+        assertThat(accessKeyRing.current().getKeyId()).isEqualTo("access-2");
+        assertThat(refreshKeyRing.current().getKeyId()).isEqualTo("refresh-1");
+
+        Instant activateAt = Instant.now().plus(Duration.ofHours(1));
+        environment.setProperty("auth.refresh-token.keys[0].kid", "refresh-2");
+        environment.setProperty("auth.refresh-token.keys[0].secret", NEXT_SECRET);
+        environment.setProperty("auth.refresh-token.keys[0].activate-at", activateAt.toString());
+        schedule.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("auth.refresh-token.keys[0].kid")));
+
+        assertThat(refreshKeyRing.current().getKeyId()).isEqualTo("refresh-1");
+        assertThat(refreshKeyRing.find("refresh-2")).isNotNull();
+    }
+}
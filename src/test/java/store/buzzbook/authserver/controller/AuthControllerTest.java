@@ -7,12 +7,23 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import store.buzzbook.authserver.dto.AuthDTO;
 import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.dto.TokenInfoResult;
 import store.buzzbook.authserver.jwt.JwtTokenProvider;
+import store.buzzbook.authserver.jwt.TokenParseResult;
+import store.buzzbook.authserver.jwt.TokenStatus;
+import store.buzzbook.authserver.limit.ActivationAttemptLimiter;
 import store.buzzbook.authserver.service.RedisService;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +38,9 @@ class AuthControllerTest {
     @Mock
     private RedisService redisService;
 
+    @Mock
+    private ActivationAttemptLimiter activationAttemptLimiter;
+
     @InjectMocks
     private AuthController authController;
 
@@ -57,57 +71,111 @@ class AuthControllerTest {
 
     @Test
     void testLogout() {
-        String accessToken = "Bearer accessToken";
-        String refreshToken = "Bearer refreshToken";
+        String accessToken = BEARER_PREFIX + token("access_token", 60);
+        String refreshToken = BEARER_PREFIX + token("refresh_token", 60);
 
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(true);
-        when(jwtTokenProvider.getUUIDFromAccessToken(anyString())).thenReturn("uuid");
+        Claims claims = Jwts.claims();
+        claims.put("userId", "uuid");
+        when(jwtTokenProvider.parseAccessToken(anyString())).thenReturn(TokenParseResult.valid(claims));
 
         ResponseEntity<Void> responseEntity = authController.logout(accessToken, refreshToken);
 
         verify(redisService, times(1)).removeUser("uuid");
+        verify(jwtTokenProvider, never()).parseRefreshToken(anyString());
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     }
 
     @Test
     void testLogoutWithInvalidTokens() {
-        String accessToken = "Bearer accessToken";
-        String refreshToken = "Bearer refreshToken";
+        String accessToken = BEARER_PREFIX + token("access_token", 60);
+        String refreshToken = BEARER_PREFIX + token("refresh_token", 60);
+
+        when(jwtTokenProvider.parseAccessToken(anyString())).thenReturn(TokenParseResult.failure(TokenStatus.MALFORMED));
+        when(jwtTokenProvider.parseRefreshToken(anyString())).thenReturn(TokenParseResult.failure(TokenStatus.EXPIRED));
+
+        ResponseEntity<Void> responseEntity = authController.logout(accessToken, refreshToken);
+
+        verify(redisService, never()).removeUser(anyString());
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    }
 
-        when(jwtTokenProvider.validateToken(anyString())).thenReturn(false);
-        when(jwtTokenProvider.validateRefreshToken(anyString())).thenReturn(false);
+    @Test
+    void testLogoutWithExpiredTokensSkipsVerification() {
+        String accessToken = BEARER_PREFIX + token("access_token", -60);
+        String refreshToken = BEARER_PREFIX + "not-a-token";
 
         ResponseEntity<Void> responseEntity = authController.logout(accessToken, refreshToken);
 
+        verify(jwtTokenProvider, never()).parseAccessToken(anyString());
+        verify(jwtTokenProvider, never()).parseRefreshToken(anyString());
+        verify(redisService, never()).removeUser(anyString());
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     }
 
     @Test
     void testGetUserInfo() {
-        String accessToken = "Bearer accessToken";
-        String refreshToken = "Bearer refreshToken";
-        Map<String, Object> userInfo = new HashMap<>();
-        userInfo.put("user", "info");
+        String accessToken = BEARER_PREFIX + token("access_token", 60);
+        String refreshToken = BEARER_PREFIX + token("refresh_token", 60);
+        SessionRecord userInfo = new SessionRecord("testUser", "USER", 1L);
+
+        when(jwtTokenProvider.getUserInfoFromToken(anyString())).thenReturn(userInfo);
+
+        ResponseEntity<?> responseEntity = authController.getUserInfo(accessToken, refreshToken);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(userInfo, responseEntity.getBody());
+    }
+
+    @Test
+    void testGetUserInfoWithExpiredAccessToken() {
+        // 만료된 access token 도 기존과 같이 세션 조회까지 진행
+        String accessToken = BEARER_PREFIX + token("access_token", -60);
+        String refreshToken = BEARER_PREFIX + token("refresh_token", 60);
+        SessionRecord userInfo = new SessionRecord("testUser", "USER", 1L);
 
         when(jwtTokenProvider.getUserInfoFromToken(anyString())).thenReturn(userInfo);
 
-        ResponseEntity<Map<String, Object>> responseEntity = authController.getUserInfo(accessToken, refreshToken);
+        ResponseEntity<?> responseEntity = authController.getUserInfo(accessToken, refreshToken);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(userInfo, responseEntity.getBody());
     }
 
+    @Test
+    void testGetUserInfoRejectedByPrecheck() {
+        String refreshToken = BEARER_PREFIX + token("refresh_token", 60);
+
+        ResponseEntity<?> malformed = authController.getUserInfo(BEARER_PREFIX + "a.b", refreshToken);
+        ResponseEntity<?> wrongType = authController.getUserInfo(BEARER_PREFIX + token("refresh_token", 60),
+                refreshToken);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, malformed.getStatusCode());
+        assertEquals("MALFORMED", ((Map<?, ?>) malformed.getBody()).get("error"));
+        assertEquals(HttpStatus.UNAUTHORIZED, wrongType.getStatusCode());
+        assertEquals("WRONG_TYPE", ((Map<?, ?>) wrongType.getBody()).get("error"));
+        verify(jwtTokenProvider, never()).getUserInfoFromToken(anyString());
+    }
+
+    @Test
+    void testGetUserInfoWithExpiredRefreshToken() {
+        String refreshToken = BEARER_PREFIX + token("refresh_token", -60);
+
+        ResponseEntity<?> responseEntity = authController.getUserInfo(null, refreshToken);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, responseEntity.getStatusCode());
+        verify(jwtTokenProvider, never()).refreshAccessToken(anyString());
+    }
+
     @Test
     void testGetUserInfoWithRefreshToken() {
-        String refreshToken = "Bearer refreshToken";
+        String refreshToken = BEARER_PREFIX + token("refresh_token", 60);
         JwtResponse jwtResponse = new JwtResponse("Bearer", "newAccessToken", "newRefreshToken");
-        Map<String, Object> userInfo = new HashMap<>();
-        userInfo.put("user", "info");
+        SessionRecord userInfo = new SessionRecord("testUser", "USER", 1L);
 
         when(jwtTokenProvider.refreshAccessToken(anyString())).thenReturn(jwtResponse);
         when(jwtTokenProvider.getUserInfoFromToken(anyString())).thenReturn(userInfo);
 
-        ResponseEntity<Map<String, Object>> responseEntity = authController.getUserInfo(null, refreshToken);
+        ResponseEntity<?> responseEntity = authController.getUserInfo(null, refreshToken);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(userInfo, responseEntity.getBody());
@@ -157,10 +225,73 @@ class AuthControllerTest {
         String loginId = "testLoginId";
 
         when(redisService.checkDormantToken(anyString(), anyString())).thenReturn(loginId);
+        when(activationAttemptLimiter.tryAcquire(anyString(), anyString())).thenReturn(true);
 
-        ResponseEntity<String> responseEntity = authController.checkDormantToken(token, code);
+        ResponseEntity<String> responseEntity = authController.checkDormantToken(token, code,
+                new MockHttpServletRequest());
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(loginId, responseEntity.getBody());
     }
+
+    @Test
+    void testCheckDormantTokenTooManyAttempts() {
+        ReflectionTestUtils.setField(authController, "clientHeader", "X-Forwarded-For");
+        ReflectionTestUtils.setField(authController, "trustedProxies", 1);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        // 클라이언트가 넣은 앞의 값이 아니라 게이트웨이가 덧붙인 마지막 값으로 셈
+        request.addHeader("X-Forwarded-For", "10.0.0.1, 192.168.0.1");
+        when(activationAttemptLimiter.tryAcquire("dormantToken", "192.168.0.1")).thenReturn(false);
+
+        ResponseEntity<String> responseEntity = authController.checkDormantToken("dormantToken", "123456", request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+        verify(redisService, never()).checkDormantToken(anyString(), anyString());
+    }
+
+    @Test
+    void testCheckDormantTokenIgnoresForwardedHeaderByDefault() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("192.168.0.1");
+        request.addHeader("X-Forwarded-For", "10.0.0.1");
+        when(activationAttemptLimiter.tryAcquire("dormantToken", "192.168.0.1")).thenReturn(false);
+
+        ResponseEntity<String> responseEntity = authController.checkDormantToken("dormantToken", "123456", request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void testGetUserInfoBatch() {
+        ReflectionTestUtils.setField(authController, "batchMaxSize", 2);
+        List<TokenInfoResult> results = List.of(TokenInfoResult.ok(new SessionRecord("testUser", "USER", 1L)),
+                TokenInfoResult.loginAgain("MALFORMED"));
+        when(jwtTokenProvider.getUserInfoFromTokens(List.of("accessToken", "invalid"))).thenReturn(results);
+
+        ResponseEntity<?> responseEntity = authController.getUserInfoBatch(List.of("Bearer accessToken", "invalid"));
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(results, responseEntity.getBody());
+    }
+
+    @Test
+    void testGetUserInfoBatchTooManyTokens() {
+        ReflectionTestUtils.setField(authController, "batchMaxSize", 2);
+
+        ResponseEntity<?> responseEntity = authController.getUserInfoBatch(List.of("a", "b", "c"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        verify(jwtTokenProvider, never()).getUserInfoFromTokens(any());
+    }
+
+    /**
+     * 서명은 검증하지 않는 mock 을 위해 모양만 맞춘 토큰
+     */
+    private static String token(String type, long expiresInSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = String.format("{\"sub\":\"%s\",\"exp\":%d,\"userId\":\"uuid\"}", type,
+                System.currentTimeMillis() / 1000 + expiresInSeconds);
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".c2lnbmF0dXJl";
+    }
 }
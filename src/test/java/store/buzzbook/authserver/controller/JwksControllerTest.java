@@ -0,0 +1,48 @@
+package store.buzzbook.authserver.controller;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+import store.buzzbook.authserver.jwt.JwtSigningKey;
+
+class JwksControllerTest {
+
+    @Test
+    void jwksContainsPublicKeyWithCacheHeadersTest() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        JwtSigningKey keys = JwtSigningKey.ec(generator.generateKeyPair());
+        WebTestClient client = WebTestClient.bindToController(
+                new JwksController(new JwtKeyRing(keys, Duration.ZERO), Duration.ofHours(1))).build();
+
+        client.get().uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .expectBody()
+                .jsonPath("$.keys.length()").isEqualTo(1)
+                .jsonPath("$.keys[0].kid").isEqualTo(keys.getKeyId())
+                .jsonPath("$.keys[0].kty").isEqualTo("EC")
+                .jsonPath("$.keys[0].d").doesNotExist();
+    }
+
+    @Test
+    void jwksIsEmptyForHmacTest() {
+        WebTestClient client = WebTestClient.bindToController(
+                new JwksController(new JwtKeyRing(
+                        JwtSigningKey.hmac("access-1", "sampleTokenKey12345678901234567890123456789012"),
+                        Duration.ZERO), Duration.ofHours(1))).build();
+
+        client.get().uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.keys.length()").isEqualTo(0);
+    }
+}
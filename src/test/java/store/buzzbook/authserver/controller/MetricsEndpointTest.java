@@ -0,0 +1,68 @@
+package store.buzzbook.authserver.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import store.buzzbook.authserver.load.AuthServerNode;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 로그인과 /info 를 거친 뒤 토큰, Redis, 엔드포인트 단계의 지연 시간이 Prometheus 형식의 히스토그램으로 노출되는지 확인합니다.
+ */
+class MetricsEndpointTest {
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+    private static EmbeddedRedis redis;
+    private static AuthServerNode node;
+
+    @BeforeAll
+    static void start() {
+        redis = EmbeddedRedis.start();
+        node = AuthServerNode.start(redis, Map.of());
+    }
+
+    @AfterAll
+    static void stop() {
+        node.close();
+        redis.close();
+    }
+
+    @Test
+    void exposesStageLatencyHistogramsTest() throws Exception {
+        HttpResponse<Void> login = HTTP_CLIENT.send(HttpRequest.newBuilder(
+                        URI.create(node.getBaseUrl() + "/api/auth/token"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"loginId\":\"testUser\",\"role\":\"USER\",\"userId\":1}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(login.statusCode()).isEqualTo(200);
+
+        HttpResponse<String> info = HTTP_CLIENT.send(HttpRequest.newBuilder(
+                        URI.create(node.getBaseUrl() + "/api/auth/info"))
+                .header("Authorization", login.headers().firstValue("Authorization").orElseThrow())
+                .header("Refresh-Token", login.headers().firstValue("Refresh-Token").orElseThrow())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(info.statusCode()).isEqualTo(200);
+
+        String scrape = HTTP_CLIENT.send(HttpRequest.newBuilder(
+                        URI.create(node.getBaseUrl() + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+
+        assertThat(scrape)
+                .contains("auth_token_generate_seconds_bucket{outcome=\"ok\"")
+                .containsPattern("auth_token_parse_seconds_count\\{outcome=\"ok\",type=\"access\"} [1-9]")
+                .containsPattern("auth_redis_seconds_count\\{operation=\"saveUser\"} 1")
+                .containsPattern("auth_redis_seconds_count\\{operation=\"getUser\"} [1-9]")
+                .contains("auth_dooray_send_seconds_bucket{outcome=\"2xx\"")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/auth/info\"")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/auth/token\"");
+    }
+}
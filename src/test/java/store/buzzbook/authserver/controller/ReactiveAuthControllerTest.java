@@ -0,0 +1,166 @@
+package store.buzzbook.authserver.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import store.buzzbook.authserver.cache.RevokedSessionRegistry;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.jwt.HmacJwtEngine;
+import store.buzzbook.authserver.jwt.JwtKeyRing;
+import store.buzzbook.authserver.jwt.JwtSigningKey;
+import store.buzzbook.authserver.jwt.JwtTokenProvider;
+import store.buzzbook.authserver.service.RedisService;
+import store.buzzbook.authserver.service.ReactiveRedisService;
+
+class ReactiveAuthControllerTest {
+
+    private static final String TOKEN_HEADER = "Authorization";
+    private static final String REFRESH_HEADER = "Refresh-Token";
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 1L);
+
+    private JwtTokenProvider jwtTokenProvider;
+    private ReactiveRedisService reactiveRedisService;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(
+                new JwtKeyRing(JwtSigningKey.hmac("access-1", "testSecretKeyForJwtTokenProviderTest1234567890"),
+                        Duration.ZERO),
+                new JwtKeyRing(JwtSigningKey.hmac("refresh-1", "testRefreshSecretKeyForJwtTokenProviderTest1234567890"),
+                        Duration.ZERO),
+                mock(RedisService.class),
+                new VerifiedTokenCache(true, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new RevokedSessionRegistry(mock(RedisConnectionFactory.class), false, Duration.ofMinutes(30), 6,
+                        10_000, 0.01, Duration.ofSeconds(10)), false,
+                new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+        reactiveRedisService = mock(ReactiveRedisService.class);
+        webTestClient = WebTestClient.bindToController(new ReactiveAuthController(jwtTokenProvider, reactiveRedisService))
+                .build();
+    }
+
+    @Test
+    void generateTokenTest() {
+        when(reactiveRedisService.saveUser(anyString(), eq(SESSION))).thenReturn(Mono.empty());
+
+        webTestClient.post().uri("/api/auth/token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"loginId\":\"testUser\",\"role\":\"USER\",\"userId\":1}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(TOKEN_HEADER, value -> assertThat(value).startsWith("Bearer "))
+                .expectHeader().value(REFRESH_HEADER, value -> assertThat(value).startsWith("Bearer "));
+        verify(reactiveRedisService).saveUser(anyString(), eq(SESSION));
+    }
+
+    @Test
+    void getUserInfoTest() {
+        JwtResponse tokens = jwtTokenProvider.issueTokens(UUID.randomUUID(), SESSION);
+        when(reactiveRedisService.getUser(anyString())).thenReturn(Mono.just(SESSION));
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get().uri("/api/auth/info")
+                    .header(TOKEN_HEADER, "Bearer " + tokens.getAccessToken())
+                    .header(REFRESH_HEADER, "Bearer " + tokens.getRefreshToken())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(SessionRecord.class).isEqualTo(SESSION);
+        }
+        // 두 번째 요청은 검증된 토큰 캐시에서 응답
+        verify(reactiveRedisService, times(1)).getUser(anyString());
+    }
+
+    @Test
+    void getUserInfoWithoutSessionTest() {
+        JwtResponse tokens = jwtTokenProvider.issueTokens(UUID.randomUUID(), SESSION);
+        when(reactiveRedisService.getUser(anyString())).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/auth/info")
+                .header(TOKEN_HEADER, "Bearer " + tokens.getAccessToken())
+                .header(REFRESH_HEADER, "Bearer " + tokens.getRefreshToken())
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("User data not found");
+    }
+
+    @Test
+    void getUserInfoWithRefreshTokenTest() {
+        JwtResponse tokens = jwtTokenProvider.issueTokens(UUID.randomUUID(), SESSION);
+        when(reactiveRedisService.rotateUser(anyString(), anyString())).thenReturn(Mono.just(SESSION));
+
+        webTestClient.get().uri("/api/auth/info")
+                .header(REFRESH_HEADER, "Bearer " + tokens.getRefreshToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(TOKEN_HEADER, value -> assertThat(value).startsWith("Bearer "))
+                .expectBody()
+                .jsonPath("$.loginId").isEqualTo("testUser")
+                .jsonPath("$.userId").isEqualTo(1)
+                .jsonPath("$.complete").doesNotExist();
+    }
+
+    @Test
+    void getUserInfoWithRotatedRefreshTokenTest() {
+        JwtResponse tokens = jwtTokenProvider.issueTokens(UUID.randomUUID(), SESSION);
+        when(reactiveRedisService.rotateUser(anyString(), anyString())).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/auth/info")
+                .header(REFRESH_HEADER, "Bearer " + tokens.getRefreshToken())
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("User data not found");
+    }
+
+    @Test
+    void getUserInfoWithoutRefreshTokenTest() {
+        webTestClient.get().uri("/api/auth/info")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("다시 로그인해주세요.");
+    }
+
+    @Test
+    void logoutTest() {
+        JwtResponse tokens = jwtTokenProvider.issueTokens(UUID.randomUUID(), SESSION);
+        String uuid = jwtTokenProvider.getUUIDFromAccessToken(tokens.getAccessToken());
+        when(reactiveRedisService.removeUser(uuid)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/auth/logout")
+                .header(TOKEN_HEADER, "Bearer " + tokens.getAccessToken())
+                .exchange()
+                .expectStatus().isOk();
+        verify(reactiveRedisService).removeUser(uuid);
+    }
+
+    @Test
+    void logoutWithInvalidTokensTest() {
+        webTestClient.get().uri("/api/auth/logout")
+                .header(TOKEN_HEADER, "Bearer invalid")
+                .exchange()
+                .expectStatus().isOk();
+        verify(reactiveRedisService, never()).removeUser(any());
+    }
+}
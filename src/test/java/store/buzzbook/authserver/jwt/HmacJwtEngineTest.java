@@ -0,0 +1,208 @@
+package store.buzzbook.authserver.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.RevokedSessionRegistry;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.service.RedisService;
+
+/**
+ * HS256 엔진의 서명, 검증 결과가 jjwt 와 같은지 교차 확인합니다.
+ */
+class HmacJwtEngineTest {
+    private static final String SECRET = "engineTokenKey12345678901234567890123456789012";
+    private static final String REFRESH_SECRET = "engineRefreshKey123456789012345678901234567890";
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 1L);
+
+    private JwtKeyRing accessKeyRing;
+    private JwtKeyRing refreshKeyRing;
+    private HmacJwtEngine engine;
+    private JwtTokenProvider engineProvider;
+    private JwtTokenProvider jjwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        accessKeyRing = new JwtKeyRing(JwtSigningKey.hmac("access-1", SECRET), Duration.ofMinutes(30));
+        refreshKeyRing = new JwtKeyRing(JwtSigningKey.hmac("refresh-1", REFRESH_SECRET), Duration.ofMinutes(30));
+        engine = new HmacJwtEngine(true, 4);
+        engineProvider = provider(engine);
+        jjwtProvider = provider(new HmacJwtEngine(false, 0));
+    }
+
+    @Test
+    void engineTokensMatchJjwtTokensTest() {
+        UUID uuid = UUID.randomUUID();
+
+        String engineToken = engineProvider.issueTokens(uuid, SESSION).getAccessToken();
+        String jjwtToken = jjwtProvider.issueTokens(uuid, SESSION).getAccessToken();
+
+        Claims engineClaims = Jwts.parserBuilder().setSigningKeyResolver(accessKeyRing).build()
+                .parseClaimsJws(engineToken).getBody();
+        Claims jjwtClaims = engine.parse(jjwtToken, accessKeyRing).getClaims();
+        // 두 토큰의 발급 시각은 초 경계를 넘을 수 있으므로 iat, exp 는 간격만 비교
+        assertThat(engineClaims).usingRecursiveComparison().ignoringFields("iat", "exp").isEqualTo(jjwtClaims);
+        assertThat(jjwtClaims.getIssuedAt().getTime() - engineClaims.getIssuedAt().getTime()).isBetween(0L, 1000L);
+        assertThat(engineClaims.getExpiration().getTime() - engineClaims.getIssuedAt().getTime())
+                .isEqualTo(jjwtClaims.getExpiration().getTime() - jjwtClaims.getIssuedAt().getTime());
+        assertThat(engineClaims.getSubject()).isEqualTo("access_token");
+        assertThat(engineClaims.get("userId", String.class)).isEqualTo(uuid.toString());
+        assertThat(engineClaims.getExpiration()).isAfter(new Date());
+    }
+
+    @Test
+    void refreshTokensRoundTripTest() {
+        String engineToken = engineProvider.issueTokens(UUID.randomUUID(), SESSION).getRefreshToken();
+
+        assertThat(jjwtProvider.validateRefreshToken(engineToken)).isTrue();
+        assertThat(engineProvider.validateRefreshToken(engineToken)).isTrue();
+        assertThat(engineProvider.parseRefreshToken(engineToken).getClaims().getSubject()).isEqualTo("refresh_token");
+    }
+
+    @Test
+    void statusesMatchJjwtTest() {
+        String valid = jjwtProvider.issueTokens(UUID.randomUUID(), SESSION).getAccessToken();
+        String[] parts = valid.split("\\.");
+        String otherPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"access_token\",\"userId\":\"other\"}".getBytes(StandardCharsets.UTF_8));
+        String plainPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("not json".getBytes(StandardCharsets.UTF_8));
+
+        List<String> tokens = List.of(
+                valid,
+                legacyToken(new Date(System.currentTimeMillis() + 60_000)),
+                legacyToken(new Date(System.currentTimeMillis() - 1000)),
+                parts[0] + "." + otherPayload + "." + parts[2],
+                parts[0] + "." + parts[1] + "." + parts[2].substring(0, 42) + "A",
+                parts[0] + "." + parts[1] + "." + parts[2].substring(0, 40),
+                parts[0] + "." + parts[1] + "." + parts[2].substring(0, 42) + "*",
+                parts[0] + "." + parts[1],
+                parts[0] + "." + parts[1] + ".",
+                "%%%." + parts[1] + "." + parts[2],
+                signedWithEngineKey(plainPayload),
+                Jwts.builder().setSubject("access_token").signWith(Keys.secretKeyFor(SignatureAlgorithm.HS384))
+                        .compact(),
+                Jwts.builder().setHeaderParam("kid", "unknown").setSubject("access_token")
+                        .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256).compact(),
+                "",
+                "invalidToken");
+
+        for (String token : tokens) {
+            TokenParseResult expected = jjwtProvider.parseAccessToken(token);
+            TokenParseResult actual = engineProvider.parseAccessToken(token);
+            assertThat(actual.getStatus()).as(token).isEqualTo(expected.getStatus());
+            assertThat(actual.getClaims()).as(token).isEqualTo(expected.getClaims());
+        }
+    }
+
+    @Test
+    void concurrentSigningAndVerificationTest() {
+        List<String> tokens = IntStream.range(0, 2000).parallel()
+                .mapToObj(i -> engineProvider.issueTokens(UUID.randomUUID(), SESSION).getAccessToken())
+                .toList();
+
+        assertThat(tokens.parallelStream().allMatch(engineProvider::validateToken)).isTrue();
+        assertThat(tokens.parallelStream().allMatch(jjwtProvider::validateToken)).isTrue();
+    }
+
+    @Test
+    void forgedHeadersAreNotCachedTest() {
+        String valid = engineProvider.issueTokens(UUID.randomUUID(), SESSION).getAccessToken();
+        String[] parts = valid.split("\\.");
+        for (int i = 0; i < 32; i++) {
+            String header = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    ("{\"alg\":\"HS256\",\"kid\":\"forged-" + i + "\"}").getBytes(StandardCharsets.UTF_8));
+            assertThat(engineProvider.parseAccessToken(header + "." + parts[1] + "." + parts[2]).getStatus())
+                    .isEqualTo(TokenStatus.INVALID_SIGNATURE);
+        }
+
+        assertThat(engine.cachedHeaders()).isZero();
+        assertThat(engineProvider.parseAccessToken(valid).getStatus()).isEqualTo(TokenStatus.VALID);
+        assertThat(engine.cachedHeaders()).isEqualTo(1);
+    }
+
+    @Test
+    void retiredKeyReleasesItsMacPoolTest() {
+        JwtSigningKey first = accessKeyRing.current();
+        engineProvider.issueTokens(UUID.randomUUID(), SESSION);
+        assertThat(engine.hasPool(first)).isTrue();
+
+        accessKeyRing.rotate(JwtSigningKey.hmac("next", "engineNextKey123456789012345678901234567890123"));
+        accessKeyRing.retire(first.getKeyId());
+
+        assertThat(engine.hasPool(first)).isFalse();
+    }
+
+    @Test
+    void base64UrlMatchesJdkTest() {
+        for (int length = 0; length < 70; length++) {
+            byte[] source = new byte[length];
+            for (int i = 0; i < length; i++) {
+                source[i] = (byte) (i * 37 + length);
+            }
+            String jdk = Base64.getUrlEncoder().withoutPadding().encodeToString(source);
+            byte[] encoded = new byte[Base64Url.encodedLength(length) + 3];
+            int encodedLength = Base64Url.encode(source, 0, length, encoded, 3);
+            byte[] decoded = new byte[Base64Url.maxDecodedLength(jdk.length()) + 2];
+            int decodedLength = Base64Url.decode("x" + jdk, 1, jdk.length() + 1, decoded);
+
+            assertThat(new String(encoded, 3, encodedLength, StandardCharsets.US_ASCII)).isEqualTo(jdk);
+            assertThat(decodedLength).isEqualTo(length);
+            assertThat(java.util.Arrays.copyOf(decoded, decodedLength)).isEqualTo(source);
+        }
+        assertThat(Base64Url.decode("ab+c", 0, 4, new byte[3])).isEqualTo(-1);
+        assertThat(Base64Url.decode("abcde", 0, 5, new byte[4])).isEqualTo(-1);
+    }
+
+    private String legacyToken(Date expiration) {
+        return Jwts.builder()
+                .setSubject("access_token")
+                .setExpiration(expiration)
+                .claim("userId", "uuid")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private String signedWithEngineKey(String payload) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", "access_token");
+        String[] parts = engine.sign(accessKeyRing.current(), claims).split("\\.");
+        String signingInput = parts[0] + "." + payload;
+        try {
+            javax.crypto.Mac mac = javax.crypto.Mac.getInstance("HmacSHA256");
+            mac.init(Keys.hmacShaKeyFor(SECRET.getBytes()));
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JwtTokenProvider provider(HmacJwtEngine hmacJwtEngine) {
+        return new JwtTokenProvider(accessKeyRing, refreshKeyRing, mock(RedisService.class),
+                new VerifiedTokenCache(false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new RevokedSessionRegistry(mock(RedisConnectionFactory.class), true, Duration.ofMinutes(30), 6,
+                        10_000, 0.01, Duration.ofSeconds(10)), true,
+                hmacJwtEngine, new SimpleMeterRegistry());
+    }
+}
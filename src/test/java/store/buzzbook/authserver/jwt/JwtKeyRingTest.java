@@ -0,0 +1,151 @@
+package store.buzzbook.authserver.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+class JwtKeyRingTest {
+
+    private static final JwtSigningKey FIRST = JwtSigningKey.hmac("first",
+            "firstTokenKey12345678901234567890123456789012");
+    private static final JwtSigningKey SECOND = JwtSigningKey.hmac("second",
+            "secondTokenKey1234567890123456789012345678901");
+
+    @Test
+    void rotateKeepsPreviousKeyDuringOverlapTest() {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ofMinutes(30));
+
+        ring.rotate(SECOND);
+
+        assertThat(ring.current()).isSameAs(SECOND);
+        assertThat(ring.find("first")).isSameAs(FIRST);
+        assertThat(ring.find("second")).isSameAs(SECOND);
+        assertThat(ring.describe()).anySatisfy(key -> assertThat(key)
+                .containsEntry("kid", "first").containsEntry("current", false).containsKey("retireAt"));
+    }
+
+    @Test
+    void previousKeyExpiresAfterOverlapTest() {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ZERO);
+
+        ring.rotate(SECOND);
+
+        assertThat(ring.find("first")).isNull();
+        assertThat(ring.describe()).hasSize(1);
+    }
+
+    @Test
+    void tokenWithoutKidUsesInitialKeyTest() {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ofMinutes(30));
+        ring.rotate(SECOND);
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(ring).build();
+        String legacyToken = Jwts.builder()
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(FIRST.getSigningKey(), FIRST.getAlgorithm())
+                .compact();
+
+        assertThat(parser.parseClaimsJws(legacyToken).getBody().getExpiration()).isNotNull();
+    }
+
+    @Test
+    void unknownKidAndMismatchedAlgorithmAreRejectedTest() throws Exception {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ofMinutes(30));
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(ring).build();
+        String unknownKid = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "second")
+                .signWith(SECOND.getSigningKey(), SECOND.getAlgorithm())
+                .compact();
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        JwtSigningKey ecKey = JwtSigningKey.ec("first", generator.generateKeyPair());
+        String mismatched = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "first")
+                .signWith(ecKey.getSigningKey(), ecKey.getAlgorithm())
+                .compact();
+
+        assertThatThrownBy(() -> parser.parseClaimsJws(unknownKid)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> parser.parseClaimsJws(mismatched)).isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    void addPublishesKeyBeforeActivationTest() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        JwtSigningKey current = JwtSigningKey.ec(generator.generateKeyPair());
+        JwtSigningKey next = JwtSigningKey.ec(generator.generateKeyPair());
+        JwtKeyRing ring = new JwtKeyRing(current, Duration.ofMinutes(30));
+
+        ring.add(next);
+
+        assertThat(ring.current()).isSameAs(current);
+        assertThat(ring.getPublicJwks()).extracting(jwk -> jwk.get("kid"))
+                .containsExactly(current.getKeyId(), next.getKeyId());
+
+        ring.activate(next.getKeyId());
+
+        assertThat(ring.getPublicJwks()).extracting(jwk -> jwk.get("kid"))
+                .containsExactly(next.getKeyId(), current.getKeyId());
+    }
+
+    @Test
+    void invalidOperationsAreRejectedTest() {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ofMinutes(30));
+
+        assertThatThrownBy(() -> ring.retire("first")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ring.activate("second")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ring.add(FIRST)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void scheduledKeyIsVerifiedBeforeActivationTest() {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ofMinutes(30));
+        Instant activateAt = Instant.ofEpochMilli(System.currentTimeMillis() + 3_600_000);
+
+        ring.apply(List.of(new JwtKeyRing.ScheduledKey(SECOND, activateAt, null)));
+
+        assertThat(ring.current()).isSameAs(FIRST);
+        assertThat(ring.find("second")).isSameAs(SECOND);
+        assertThat(ring.describe()).anySatisfy(key -> assertThat(key)
+                .containsEntry("kid", "second").containsEntry("activateAt", activateAt.toString()));
+    }
+
+    @Test
+    void scheduledActivationRetiresPreviousKeyFromConfiguredTimeTest() {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ofMinutes(30));
+        Instant activateAt = Instant.ofEpochMilli(System.currentTimeMillis() - 60_000);
+
+        ring.apply(List.of(new JwtKeyRing.ScheduledKey(SECOND, activateAt, null)));
+
+        // 노드가 설정을 반영한 시점과 관계없이 설정의 전환 시각 + overlap 에 제거
+        assertThat(ring.current()).isSameAs(SECOND);
+        assertThat(ring.describe()).anySatisfy(key -> assertThat(key).containsEntry("kid", "first")
+                .containsEntry("retireAt", activateAt.plus(Duration.ofMinutes(30)).toString()));
+    }
+
+    @Test
+    void keyRemovedFromConfigIsRetiredTest() {
+        JwtKeyRing ring = new JwtKeyRing(FIRST, Duration.ofMinutes(30));
+        ring.apply(List.of(new JwtKeyRing.ScheduledKey(SECOND, null, null)));
+        assertThat(ring.find("second")).isSameAs(SECOND);
+        assertThat(ring.current()).isSameAs(FIRST);
+
+        ring.apply(List.of());
+
+        assertThat(ring.find("second")).isNull();
+        assertThat(ring.find("first")).isSameAs(FIRST);
+    }
+}
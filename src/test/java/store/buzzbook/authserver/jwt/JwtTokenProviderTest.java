@@ -4,28 +4,48 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
 import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.RevokedSessionRegistry;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
 import store.buzzbook.authserver.dto.AuthDTO;
 import store.buzzbook.authserver.dto.JwtResponse;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.dto.TokenInfoResult;
 import store.buzzbook.authserver.service.RedisService;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,7 +54,11 @@ class JwtTokenProviderTest {
     @Mock
     private RedisService redisService;
 
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
     private JwtTokenProvider jwtTokenProvider;
+    private SimpleMeterRegistry meterRegistry;
     private AuthDTO authDTO;
     private String tokenKey;
     private String refreshTokenKey;
@@ -43,7 +67,14 @@ class JwtTokenProviderTest {
     void setUp() {
         tokenKey = "sampleTokenKey12345678901234567890123456789012";
         refreshTokenKey = "sampleRefreshTokenKey12345678901234567890123456789012";
-        jwtTokenProvider = new JwtTokenProvider(tokenKey, refreshTokenKey, redisService);
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(true, 100, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenProvider = new JwtTokenProvider(keyRing(JwtSigningKey.hmac("access-1", tokenKey)), refreshKeyRing(),
+                redisService, verifiedTokenCache,
+                new RevokedSessionRegistry(redisConnectionFactory, false, Duration.ofMinutes(30), 6, 10_000, 0.01,
+                Duration.ofSeconds(10)), false,
+                new HmacJwtEngine(false, 0), meterRegistry);
 
         authDTO = new AuthDTO();
         authDTO.setLoginId("testUser");
@@ -53,7 +84,7 @@ class JwtTokenProviderTest {
 
     @Test
     void generateTokenTest() {
-        doNothing().when(redisService).saveUser(anyString(), any(Map.class));
+        doNothing().when(redisService).saveUser(anyString(), any(SessionRecord.class));
 
         JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
 
@@ -82,12 +113,9 @@ class JwtTokenProviderTest {
     void refreshAccessTokenTest() {
         JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
 
-        Map<String, Object> userData = new HashMap<>();
-        userData.put("loginId", authDTO.getLoginId());
-        userData.put("role", authDTO.getRole());
-        userData.put("userId", authDTO.getUserId());
-        when(redisService.getUser(anyString())).thenReturn(userData);
-        doNothing().when(redisService).removeUser(anyString());
+        SessionRecord userData = SessionRecord.from(authDTO);
+        String oldUuid = jwtTokenProvider.getUUIDFromRefreshToken(jwtResponse.getRefreshToken());
+        when(redisService.rotateUser(eq(oldUuid), anyString())).thenReturn(userData);
 
         JwtResponse newJwtResponse = jwtTokenProvider.refreshAccessToken(jwtResponse.getRefreshToken());
 
@@ -97,6 +125,22 @@ class JwtTokenProviderTest {
 
         boolean isValid = jwtTokenProvider.validateToken(newJwtResponse.getAccessToken());
         assertThat(isValid).isTrue();
+
+        String newUuid = jwtTokenProvider.getUUIDFromAccessToken(newJwtResponse.getAccessToken());
+        assertThat(newUuid).isNotEqualTo(oldUuid);
+        verify(redisService).rotateUser(oldUuid, newUuid);
+        verify(redisService, never()).getUser(anyString());
+        verify(redisService, never()).removeUser(anyString());
+    }
+
+    @Test
+    void refreshAccessTokenWithRotatedSessionTest() {
+        JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
+        when(redisService.rotateUser(anyString(), anyString())).thenReturn(null);
+
+        assertThatThrownBy(() -> jwtTokenProvider.refreshAccessToken(jwtResponse.getRefreshToken()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("User data not found");
     }
 
 
@@ -109,22 +153,217 @@ class JwtTokenProviderTest {
         assertThat(newJwtResponse).isNull();
     }
 
+    @Test
+    void recordsTokenStagesByOutcomeTest() {
+        JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
+        Key key = Keys.hmacShaKeyFor(tokenKey.getBytes());
+        String expiredToken = Jwts.builder()
+                .setSubject("testUser")
+                .signWith(key, SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .compact();
+
+        jwtTokenProvider.validateToken(jwtResponse.getAccessToken());
+        jwtTokenProvider.validateToken(expiredToken);
+        jwtTokenProvider.validateToken("invalidToken");
+        assertThat(jwtTokenProvider.refreshAccessToken("invalidRefreshToken")).isNull();
+
+        assertThat(meterRegistry.get("auth.token.generate").tag("outcome", "ok").timer().count()).isEqualTo(1);
+        assertThat(timerCount("auth.token.validate", "access", "ok")).isEqualTo(1);
+        assertThat(timerCount("auth.token.validate", "access", "expired")).isEqualTo(1);
+        assertThat(timerCount("auth.token.validate", "access", "malformed")).isEqualTo(1);
+        assertThat(timerCount("auth.token.parse", "access", "ok")).isEqualTo(1);
+        assertThat(timerCount("auth.token.parse", "refresh", "malformed")).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.token.refresh").tag("outcome", "malformed").timer().count()).isEqualTo(1);
+    }
+
+    private long timerCount(String name, String type, String outcome) {
+        return meterRegistry.get(name).tag("type", type).tag("outcome", outcome).timer().count();
+    }
+
     @Test
     void getUserInfoFromTokenTest() {
         JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
 
-        Map<String, Object> userData = new HashMap<>();
-        userData.put("loginId", authDTO.getLoginId());
-        userData.put("role", authDTO.getRole());
-        userData.put("userId", authDTO.getUserId());
+        SessionRecord userData = SessionRecord.from(authDTO);
         when(redisService.getUser(anyString())).thenReturn(userData);
 
-        Map<String, Object> userInfo = jwtTokenProvider.getUserInfoFromToken(jwtResponse.getAccessToken());
+        SessionRecord userInfo = jwtTokenProvider.getUserInfoFromToken(jwtResponse.getAccessToken());
 
         assertThat(userInfo).isNotNull();
-        assertThat(Optional.ofNullable(userInfo.get("loginId")).orElse("")).isEqualTo(authDTO.getLoginId());
-        assertThat(Optional.ofNullable(userInfo.get("role")).orElse("")).isEqualTo(authDTO.getRole());
-        assertThat(Optional.ofNullable(userInfo.get("userId")).orElse("")).isEqualTo(authDTO.getUserId());
+        assertThat(userInfo.loginId()).isEqualTo(authDTO.getLoginId());
+        assertThat(userInfo.role()).isEqualTo(authDTO.getRole());
+        assertThat(userInfo.userId()).isEqualTo(authDTO.getUserId());
+    }
+
+    @Test
+    void getUserInfoFromTokenUsesVerifiedTokenCacheTest() {
+        JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
+
+        SessionRecord userData = SessionRecord.from(authDTO);
+        when(redisService.getUser(anyString())).thenReturn(userData);
+
+        jwtTokenProvider.getUserInfoFromToken(jwtResponse.getAccessToken());
+        SessionRecord userInfo = jwtTokenProvider.getUserInfoFromToken(jwtResponse.getAccessToken());
+
+        assertThat(userInfo).isEqualTo(userData);
+        verify(redisService, times(1)).getUser(anyString());
+    }
+
+    @Test
+    void getUserInfoFromTokenWithoutSessionTest() {
+        JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
+        when(redisService.getUser(anyString())).thenReturn(null);
+
+        assertThatThrownBy(() -> jwtTokenProvider.getUserInfoFromToken(jwtResponse.getAccessToken()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("User data not found");
+    }
+
+    @Test
+    void getUserInfoFromTokensTest() {
+        SessionRecord session = SessionRecord.from(authDTO);
+        JwtResponse first = jwtTokenProvider.generateToken(authDTO);
+        JwtResponse second = jwtTokenProvider.generateToken(authDTO);
+        String firstUuid = jwtTokenProvider.getUUIDFromAccessToken(first.getAccessToken());
+        String secondUuid = jwtTokenProvider.getUUIDFromAccessToken(second.getAccessToken());
+        when(redisService.getUsers(List.of(firstUuid, secondUuid))).thenReturn(Arrays.asList(session, null));
+
+        List<TokenInfoResult> results = jwtTokenProvider.getUserInfoFromTokens(
+                List.of(first.getAccessToken(), "invalidToken", second.getAccessToken()));
+
+        assertThat(results).containsExactly(
+                TokenInfoResult.ok(session),
+                TokenInfoResult.loginAgain(TokenStatus.MALFORMED.name()),
+                TokenInfoResult.loginAgain("User data not found"));
+        // 성공한 토큰은 캐시되어 다음 배치에서는 Redis 를 조회하지 않음
+        assertThat(jwtTokenProvider.getUserInfoFromTokens(List.of(first.getAccessToken())))
+                .containsExactly(TokenInfoResult.ok(session));
+        verify(redisService).getUsers(List.of());
+    }
+
+    @Test
+    void es256AccessTokenVerifiesWithPublicKeyTest() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        JwtSigningKey signingKey = JwtSigningKey.ec(keyPair);
+        JwtTokenProvider es256Provider = new JwtTokenProvider(keyRing(signingKey), refreshKeyRing(), redisService,
+                new VerifiedTokenCache(false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new RevokedSessionRegistry(redisConnectionFactory, false, Duration.ofMinutes(30), 6, 10_000, 0.01,
+                Duration.ofSeconds(10)), false,
+                new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+
+        JwtResponse jwtResponse = es256Provider.generateToken(authDTO);
+
+        // 다른 서비스처럼 공개키만으로 검증
+        Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build()
+                .parseClaimsJws(jwtResponse.getAccessToken());
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("ES256");
+        assertThat(jws.getHeader().getKeyId()).isEqualTo(signingKey.getKeyId());
+        assertThat(es256Provider.validateToken(jwtResponse.getAccessToken())).isTrue();
+        assertThat(es256Provider.validateRefreshToken(jwtResponse.getRefreshToken())).isTrue();
+        // HS256 키로 서명된 토큰은 받지 않음
+        assertThat(es256Provider.parseAccessToken(jwtTokenProvider.generateToken(authDTO).getAccessToken()).isValid())
+                .isFalse();
+    }
+
+    @Test
+    void rotatedKeyKeepsIssuedTokensValidTest() {
+        JwtKeyRing accessKeyRing = keyRing(JwtSigningKey.hmac("access-1", tokenKey));
+        JwtKeyRing refreshKeyRing = refreshKeyRing();
+        JwtTokenProvider rotatingProvider = new JwtTokenProvider(accessKeyRing, refreshKeyRing, redisService,
+                new VerifiedTokenCache(false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                new RevokedSessionRegistry(redisConnectionFactory, false, Duration.ofMinutes(30), 6, 10_000, 0.01,
+                Duration.ofSeconds(10)), false,
+                new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+        JwtResponse before = rotatingProvider.generateToken(authDTO);
+
+        accessKeyRing.rotate(JwtSigningKey.hmac("access-2", "rotatedTokenKey1234567890123456789012345678901"));
+        refreshKeyRing.rotate(JwtSigningKey.hmac("refresh-2", "rotatedRefreshKey123456789012345678901234567890"));
+        JwtResponse after = rotatingProvider.generateToken(authDTO);
+
+        assertThat(Jwts.parserBuilder().setSigningKey(accessKeyRing.current().getVerificationKey()).build()
+                .parseClaimsJws(after.getAccessToken()).getHeader().getKeyId())
+                .isEqualTo(accessKeyRing.current().getKeyId());
+        assertThat(rotatingProvider.validateToken(before.getAccessToken())).isTrue();
+        assertThat(rotatingProvider.validateRefreshToken(before.getRefreshToken())).isTrue();
+        assertThat(rotatingProvider.validateToken(after.getAccessToken())).isTrue();
+        assertThat(rotatingProvider.validateRefreshToken(after.getRefreshToken())).isTrue();
+
+        // 이전 키를 제거하면 그 키로 서명된 토큰만 거부
+        accessKeyRing.retire("access-1");
+        assertThat(rotatingProvider.parseAccessToken(before.getAccessToken()).getStatus())
+                .isEqualTo(TokenStatus.INVALID_SIGNATURE);
+        assertThat(rotatingProvider.validateToken(after.getAccessToken())).isTrue();
+    }
+
+    @Test
+    void statelessAccessTokenSkipsRedisTest() {
+        RevokedSessionRegistry revokedSessionRegistry = new RevokedSessionRegistry(redisConnectionFactory, true,
+                Duration.ofMinutes(30), 6, 10_000, 0.01, Duration.ofSeconds(10));
+        JwtTokenProvider statelessProvider = new JwtTokenProvider(keyRing(JwtSigningKey.hmac("access-1", tokenKey)),
+                refreshKeyRing(), redisService,
+                new VerifiedTokenCache(false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                revokedSessionRegistry, true, new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+        JwtResponse jwtResponse = statelessProvider.generateToken(authDTO);
+
+        assertThat(statelessProvider.getUserInfoFromToken(jwtResponse.getAccessToken()))
+                .isEqualTo(SessionRecord.from(authDTO));
+        verify(redisService, never()).getUser(anyString());
+
+        revokedSessionRegistry.revoke(statelessProvider.getUUIDFromAccessToken(jwtResponse.getAccessToken()));
+
+        assertThatThrownBy(() -> statelessProvider.getUserInfoFromToken(jwtResponse.getAccessToken()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Revoked session");
+        assertThat(statelessProvider.getUserInfoFromTokens(List.of(jwtResponse.getAccessToken())))
+                .containsExactly(TokenInfoResult.loginAgain("Revoked session"));
+    }
+
+    @Test
+    void statelessBatchChecksRevocationsOnCallingThreadTest() {
+        RevokedSessionRegistry revokedSessionRegistry = spy(new RevokedSessionRegistry(redisConnectionFactory, true,
+                Duration.ofMinutes(30), 6, 10_000, 0.01, Duration.ofSeconds(10)));
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(revokedSessionRegistry).isRevoked(anyString());
+        JwtTokenProvider statelessProvider = new JwtTokenProvider(keyRing(JwtSigningKey.hmac("access-1", tokenKey)),
+                refreshKeyRing(), redisService,
+                new VerifiedTokenCache(false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                revokedSessionRegistry, true, new HmacJwtEngine(false, 0), new SimpleMeterRegistry());
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(statelessProvider.generateToken(authDTO).getAccessToken());
+        }
+
+        assertThat(statelessProvider.getUserInfoFromTokens(tokens))
+                .hasSize(50)
+                .allSatisfy(result -> assertThat(result).isEqualTo(TokenInfoResult.ok(SessionRecord.from(authDTO))));
+        // Redis 를 기다릴 수 있는 폐기 확인이 공용 ForkJoinPool 로 나가지 않음
+        assertThat(threads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void statelessModeRequiresRevocationListTest() {
+        RevokedSessionRegistry disabledRegistry = new RevokedSessionRegistry(redisConnectionFactory, false,
+                Duration.ofMinutes(30), 6, 10_000, 0.01, Duration.ofSeconds(10));
+
+        assertThatThrownBy(() -> new JwtTokenProvider(keyRing(JwtSigningKey.hmac("access-1", tokenKey)),
+                refreshKeyRing(), redisService,
+                new VerifiedTokenCache(false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()), disabledRegistry, true, new HmacJwtEngine(false, 0), new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void statefulAccessTokenHasNoUserClaimTest() {
+        JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
+
+        Claims claims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(tokenKey.getBytes())).build()
+                .parseClaimsJws(jwtResponse.getAccessToken()).getBody();
+        assertThat(claims).doesNotContainKey("user");
     }
 
     @Test
@@ -151,18 +390,15 @@ class JwtTokenProviderTest {
 
         String uuid = jwtTokenProvider.getUUIDFromAccessToken(jwtResponse.getAccessToken());
 
-        Map<String, Object> userData = new HashMap<>();
-        userData.put("loginId", authDTO.getLoginId());
-        userData.put("role", authDTO.getRole());
-        userData.put("userId", authDTO.getUserId());
+        SessionRecord userData = SessionRecord.from(authDTO);
         when(redisService.getUser(anyString())).thenReturn(userData);
 
-        Map<String, Object> userInfo = jwtTokenProvider.getUserInfoFromUUID(uuid);
+        SessionRecord userInfo = jwtTokenProvider.getUserInfoFromUUID(uuid);
 
         assertThat(userInfo).isNotNull();
-        assertThat(Optional.ofNullable(userInfo.get("loginId")).orElse("")).isEqualTo(authDTO.getLoginId());
-        assertThat(Optional.ofNullable(userInfo.get("role")).orElse("")).isEqualTo(authDTO.getRole());
-        assertThat(Optional.ofNullable(userInfo.get("userId")).orElse("")).isEqualTo(authDTO.getUserId());
+        assertThat(userInfo.loginId()).isEqualTo(authDTO.getLoginId());
+        assertThat(userInfo.role()).isEqualTo(authDTO.getRole());
+        assertThat(userInfo.userId()).isEqualTo(authDTO.getUserId());
 
     }
 
@@ -228,11 +464,61 @@ class JwtTokenProviderTest {
                 .compact();
 
         // 리플렉션을 사용하여 private 메서드 호출
-        Method parseClaimsMethod = JwtTokenProvider.class.getDeclaredMethod("parseClaims", String.class, Key.class);
+        JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+        Method parseClaimsMethod = JwtTokenProvider.class.getDeclaredMethod("parseClaims", String.class, JwtParser.class);
         parseClaimsMethod.setAccessible(true);
-        Claims claims = (Claims) parseClaimsMethod.invoke(jwtTokenProvider, expiredToken, key);
+        Claims claims = (Claims) parseClaimsMethod.invoke(jwtTokenProvider, expiredToken, parser);
 
         assertThat(claims).isNotNull();
         assertThat(claims.getSubject()).isEqualTo("testUser");
     }
+
+    @Test
+    void parseAccessTokenTest() {
+        JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
+
+        TokenParseResult result = jwtTokenProvider.parseAccessToken(jwtResponse.getAccessToken());
+
+        assertThat(result.getStatus()).isEqualTo(TokenStatus.VALID);
+        assertThat(result.getUuid()).isEqualTo(jwtTokenProvider.getUUIDFromAccessToken(jwtResponse.getAccessToken()));
+    }
+
+    @Test
+    void parseAccessTokenWithRefreshTokenTest() {
+        JwtResponse jwtResponse = jwtTokenProvider.generateToken(authDTO);
+
+        TokenParseResult result = jwtTokenProvider.parseAccessToken(jwtResponse.getRefreshToken());
+
+        assertThat(result.getStatus()).isEqualTo(TokenStatus.INVALID_SIGNATURE);
+        assertThat(result.getClaims()).isNull();
+    }
+
+    @Test
+    void parseAccessTokenWithExpiredTokenTest() {
+        Key key = Keys.hmacShaKeyFor(tokenKey.getBytes());
+        String expiredToken = Jwts.builder()
+                .claim("userId", "uuid")
+                .signWith(key, SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .compact();
+
+        TokenParseResult result = jwtTokenProvider.parseAccessToken(expiredToken);
+
+        assertThat(result.getStatus()).isEqualTo(TokenStatus.EXPIRED);
+        assertThat(result.getUuid()).isEqualTo("uuid");
+    }
+
+    @Test
+    void parseRefreshTokenWithMalformedAndEmptyTokenTest() {
+        assertThat(jwtTokenProvider.parseRefreshToken("invalidToken").getStatus()).isEqualTo(TokenStatus.MALFORMED);
+        assertThat(jwtTokenProvider.parseRefreshToken(null).getStatus()).isEqualTo(TokenStatus.EMPTY);
+    }
+
+    private JwtKeyRing keyRing(JwtSigningKey signingKey) {
+        return new JwtKeyRing(signingKey, Duration.ofMinutes(30));
+    }
+
+    private JwtKeyRing refreshKeyRing() {
+        return keyRing(JwtSigningKey.hmac("refresh-1", refreshTokenKey));
+    }
 }
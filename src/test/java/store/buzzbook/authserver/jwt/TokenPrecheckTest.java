@@ -0,0 +1,98 @@
+package store.buzzbook.authserver.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * 서명 검증 전의 토큰 모양 검사를 확인합니다.
+ */
+class TokenPrecheckTest {
+    private static final String SECRET = "precheckTokenKey123456789012345678901234567890";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Test
+    void jjwtTokensPassTest() {
+        String access = Jwts.builder().setSubject("access_token")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .claim("user", Map.of("loginId", "\"sub\":\"x\"", "role", "USER"))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        String refresh = Jwts.builder().setSubject("refresh_token")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(TokenPrecheck.checkAccessToken(access)).isEqualTo(PrecheckResult.PASSED);
+        assertThat(TokenPrecheck.checkRefreshToken(refresh)).isEqualTo(PrecheckResult.PASSED);
+    }
+
+    @Test
+    void shapeTest() {
+        String payload = payload("{\"sub\":\"access_token\"}");
+
+        assertThat(TokenPrecheck.checkAccessToken(null)).isEqualTo(PrecheckResult.EMPTY);
+        assertThat(TokenPrecheck.checkAccessToken("")).isEqualTo(PrecheckResult.EMPTY);
+        assertThat(TokenPrecheck.checkAccessToken("invalidToken")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(TokenPrecheck.checkAccessToken("e30." + payload)).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(TokenPrecheck.checkAccessToken("e30." + payload + ".")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(TokenPrecheck.checkAccessToken("e30." + payload + ".c2ln.c2ln")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(TokenPrecheck.checkAccessToken("e3=." + payload + ".c2ln")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(TokenPrecheck.checkAccessToken("e30." + payload + ".c2l+")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(TokenPrecheck.checkAccessToken("e30.a" + payload + ".c2ln")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(TokenPrecheck.checkAccessToken("e30." + payload + ".c2ln")).isEqualTo(PrecheckResult.PASSED);
+    }
+
+    @Test
+    void payloadTest() {
+        assertThat(check("plain text")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(check("{\"sub\":\"access_token\"")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(check("{\"sub\":\"access_token\"} {}")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(check("{\"sub\" \"access_token\"}")).isEqualTo(PrecheckResult.MALFORMED);
+        assertThat(check("{}")).isEqualTo(PrecheckResult.WRONG_TYPE);
+        assertThat(check("{\"sub\":\"refresh_token\"}")).isEqualTo(PrecheckResult.WRONG_TYPE);
+        assertThat(check("{\"sub\":1}")).isEqualTo(PrecheckResult.WRONG_TYPE);
+        // 중첩된 객체의 sub 는 토큰 종류가 아님
+        assertThat(check("{\"user\":{\"sub\":\"access_token\"}}")).isEqualTo(PrecheckResult.WRONG_TYPE);
+        assertThat(check("{\"user\":{\"sub\":\"x\"}, \"sub\" : \"access_token\"}")).isEqualTo(PrecheckResult.PASSED);
+        // escape 가 섞인 값은 서명 검증에 맡김
+        assertThat(check("{\"sub\":\"access\\u005ftoken\"}")).isEqualTo(PrecheckResult.PASSED);
+    }
+
+    @Test
+    void expirationTest() {
+        long now = System.currentTimeMillis();
+
+        assertThat(TokenPrecheck.check(token("{\"sub\":\"access_token\",\"exp\":100}"), "access_token", 100_000))
+                .isEqualTo(PrecheckResult.PASSED);
+        assertThat(TokenPrecheck.check(token("{\"sub\":\"access_token\",\"exp\":100}"), "access_token", 100_001))
+                .isEqualTo(PrecheckResult.EXPIRED);
+        assertThat(check("{\"exp\":" + (now / 1000 - 60) + ",\"sub\":\"access_token\"}"))
+                .isEqualTo(PrecheckResult.EXPIRED);
+        // 종류가 다르면 만료 여부와 관계없이 WRONG_TYPE
+        assertThat(check("{\"exp\":1,\"sub\":\"refresh_token\"}")).isEqualTo(PrecheckResult.WRONG_TYPE);
+        // 정수가 아닌 exp 는 판단하지 않음
+        assertThat(check("{\"exp\":1.5,\"sub\":\"access_token\"}")).isEqualTo(PrecheckResult.PASSED);
+        assertThat(check("{\"exp\":\"1\",\"sub\":\"access_token\"}")).isEqualTo(PrecheckResult.PASSED);
+    }
+
+    private static PrecheckResult check(String json) {
+        return TokenPrecheck.checkAccessToken(token(json));
+    }
+
+    private static String token(String json) {
+        return "e30." + payload(json) + ".c2ln";
+    }
+
+    private static String payload(String json) {
+        return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,177 @@
+package store.buzzbook.authserver.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.config.RedisConfig;
+import store.buzzbook.authserver.config.RedisScriptConfig;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+import store.buzzbook.authserver.support.MutableClock;
+
+/**
+ * 시도 횟수 제한이 로컬 Redis 에서 토큰별, 클라이언트별로 동작하고 노드 안에서 먼저 걸러지는지 확인합니다.
+ */
+class ActivationAttemptLimiterTest {
+    private static EmbeddedRedis redis;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+        connectionFactory = redis.connectionFactory();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        clock = MutableClock.ofEpochMilli(System.currentTimeMillis());
+    }
+
+    @Test
+    void rejectsTokenAfterLimitFromAnyClientTest() {
+        ActivationAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 3, 100);
+
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.2")).isTrue();
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.3")).isTrue();
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.4")).isFalse();
+
+        assertThat(limiter.tryAcquire("DH_2", "10.0.0.4")).isTrue();
+        assertThat(rejections("token")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsClientAfterLimitAcrossTokensTest() {
+        ActivationAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 100, 3);
+
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("DH_2", "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("DH_3", "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("DH_4", "10.0.0.1")).isFalse();
+
+        assertThat(limiter.tryAcquire("DH_4", "10.0.0.2")).isTrue();
+    }
+
+    @Test
+    void sharesCountsBetweenNodesTest() {
+        ActivationAttemptLimiter node1 = limiter(Duration.ofMinutes(1), 100, 4);
+        ActivationAttemptLimiter node2 = limiter(Duration.ofMinutes(1), 100, 4);
+
+        assertThat(node1.tryAcquire("DH_1", "10.0.0.1")).isTrue();
+        assertThat(node2.tryAcquire("DH_2", "10.0.0.1")).isTrue();
+        assertThat(node1.tryAcquire("DH_3", "10.0.0.1")).isTrue();
+        assertThat(node2.tryAcquire("DH_4", "10.0.0.1")).isTrue();
+
+        // 각 노드가 센 횟수는 한도 아래지만 Redis 에서 합산하여 거절
+        assertThat(node1.tryAcquire("DH_5", "10.0.0.1")).isFalse();
+        assertThat(node2.tryAcquire("DH_5", "10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void rejectsAbusiveClientWithoutRedisTest() {
+        ActivationAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 5, 10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("DH_" + i, "10.0.0.1")).isTrue();
+        }
+
+        long scriptCalls = scriptCalls();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(limiter.tryAcquire("DH_brute_" + i, "10.0.0.1")).isFalse();
+        }
+
+        assertThat(scriptCalls()).isEqualTo(scriptCalls);
+        assertThat(rejections("local")).isEqualTo(10_000);
+    }
+
+    @Test
+    void allowsAgainAfterWindowSlidesTest() {
+        ActivationAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 2, 100);
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isFalse();
+
+        // 거절을 유지하는 동안은 그대로 거절하고, 이전 시도가 sliding window 밖으로 나가면 다시 허용
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isFalse();
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void checksOnlyTokenWithoutClientTest() {
+        ActivationAttemptLimiter limiter = limiter(Duration.ofMinutes(1), 2, 1);
+
+        assertThat(limiter.tryAcquire("DH_1", null)).isTrue();
+        assertThat(limiter.tryAcquire("DH_1", null)).isTrue();
+        assertThat(limiter.tryAcquire("DH_1", null)).isFalse();
+        // 클라이언트를 모르는 요청끼리 함께 쓰는 클라이언트 카운터는 만들지 않음
+        assertThat(redisTemplate.keys(ActivationAttemptLimiter.KEY_PREFIX + "client:*")).isEmpty();
+    }
+
+    @Test
+    void disabledLimiterAllowsEverythingTest() {
+        ActivationAttemptLimiter limiter = new ActivationAttemptLimiter(redisTemplate,
+                new RedisScriptConfig().limitActivationAttemptScript(), false, Duration.ofMinutes(1), 1, 1, 100,
+                meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("DH_1", "10.0.0.1")).isTrue();
+        }
+        assertThat(redisTemplate.keys(ActivationAttemptLimiter.KEY_PREFIX + "*")).isEmpty();
+    }
+
+    private ActivationAttemptLimiter limiter(Duration window, int perToken, int perClient) {
+        return new ActivationAttemptLimiter(redisTemplate, new RedisScriptConfig().limitActivationAttemptScript(), true,
+                window, perToken, perClient, 100, meterRegistry, clock);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("auth.activation.rejections").tag("reason", reason).counter().count();
+    }
+
+    /**
+     * 스크립트 실행(EVALSHA, 캐시에 없을 때의 EVAL) 횟수
+     */
+    private long scriptCalls() {
+        Properties stats = redisTemplate.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+        return calls(stats, "cmdstat_evalsha") + calls(stats, "cmdstat_eval");
+    }
+
+    private static long calls(Properties stats, String command) {
+        String value = stats.getProperty(command);
+        if (value == null) {
+            return 0;
+        }
+        // calls=12,usec=345,usec_per_call=28.75,...
+        String calls = value.substring("calls=".length(), value.indexOf(','));
+        return Long.parseLong(calls);
+    }
+}
@@ -0,0 +1,52 @@
+package store.buzzbook.authserver.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+import store.buzzbook.authserver.support.MutableClock;
+
+class SlidingWindowCounterTest {
+    private final MutableClock clock = MutableClock.ofEpochMilli(10_000);
+
+    @Test
+    void countsWithinCurrentWindowTest() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, clock);
+
+        counter.increment();
+        clock.setMillis(10_100);
+        counter.increment();
+        clock.setMillis(10_200);
+
+        assertThat(counter.increment()).isEqualTo(3);
+    }
+
+    @Test
+    void weighsPreviousWindowByRemainingFractionTest() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, clock);
+        clock.setMillis(10_500);
+        for (int i = 0; i < 4; i++) {
+            counter.increment();
+        }
+
+        // 다음 window 의 1/4 지점에서는 직전 window 의 3/4 만 포함
+        clock.setMillis(11_250);
+        assertThat(counter.estimate()).isCloseTo(3, within(1e-9));
+        clock.setMillis(11_750);
+        assertThat(counter.increment()).isCloseTo(2, within(1e-9));
+    }
+
+    @Test
+    void forgetsWindowsOlderThanPreviousTest() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, clock);
+        clock.setMillis(10_500);
+        counter.increment();
+        clock.setMillis(10_600);
+        counter.increment();
+
+        clock.setMillis(12_000);
+        assertThat(counter.estimate()).isZero();
+        assertThat(counter.increment()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,75 @@
+package store.buzzbook.authserver.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 한 클라이언트가 휴면 해제 코드를 계속 대입할 때 처리량이 라운드가 지나도 떨어지지 않는지 확인합니다.
+ * 한도를 넘은 뒤의 시도는 노드 안에서 거절되므로 Redis 호출과 예외 없이 429 로 응답합니다.
+ * 모든 응답이 200 이 아니므로 결과의 errors 는 항상 100% 입니다.
+ * 기본 테스트에서는 제외되며 {@code mvn -Pload-test test -Dtest=ActivationBruteForceLoadTest} 로 실행합니다.
+ */
+@Slf4j
+@Tag("load")
+class ActivationBruteForceLoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final int ROUNDS = Integer.getInteger("load.rounds", 3);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT1S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT5S"));
+
+    private static EmbeddedRedis redis;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @Test
+    void bruteForceThroughputStaysFlatTest() throws Exception {
+        Map<String, Object> properties = Map.of(
+                "spring.threads.virtual.enabled", true,
+                "auth.activation-limit.window", "10m",
+                "server.tomcat.max-connections", CONCURRENCY * 2);
+        List<LoadResult> results = new ArrayList<>();
+        try (AuthServerNode node = AuthServerNode.start(redis, properties);
+             LoadGenerator generator = new LoadGenerator()) {
+            for (int round = 1; round <= ROUNDS; round++) {
+                results.add(generator.run("activate/round-" + round, CONCURRENCY, WARMUP, DURATION,
+                        caller -> attempt(node.getBaseUrl(), caller)));
+            }
+        }
+
+        log.warn("\n{}", String.join("\n", results.stream().map(LoadResult::toString).toList()));
+        double first = results.get(0).throughput();
+        for (LoadResult result : results) {
+            assertThat(result.throughput()).isGreaterThan(first * 0.5);
+        }
+    }
+
+    private HttpRequest attempt(String baseUrl, int caller) {
+        return HttpRequest.newBuilder(URI.create(
+                        baseUrl + "/api/auth/activate?token=DH_brute_" + caller + "&code=AAAAA"))
+                .header("X-Forwarded-For", "203.0.113.7")
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
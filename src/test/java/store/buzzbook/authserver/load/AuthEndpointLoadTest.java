@@ -0,0 +1,121 @@
+package store.buzzbook.authserver.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 로컬 Redis 에 띄운 노드 하나에 로그인 폭주, /info 정상 부하, 30분 시점의 재발급 폭주, 로그아웃 물결과 이들을 섞은 부하를 차례로 주고
+ * 시나리오와 호출자 수마다 처리량, p50/p99/p999 지연 시간, 오류 비율을 요청 종류별로 출력합니다.
+ * 호출자 수를 늘려도 처리량이 더 오르지 않는 지점을 포화 지점으로 함께 출력합니다.
+ *
+ * <p>기본 테스트에서는 제외되며 {@code mvn -Pload-test test -Dtest=AuthEndpointLoadTest} 로 실행합니다.
+ * <ul>
+ *     <li>{@code -Dload.scenarios=steady-info,refresh-storm}: 실행할 시나리오, 기본은 전체</li>
+ *     <li>{@code -Dload.concurrency=50,100,200,400}: 차례로 시험할 호출자 수</li>
+ *     <li>{@code -Dload.population=2000}: 시나리오 시작 전에 로그인해 둘 세션 수</li>
+ *     <li>{@code -Dload.warmup=PT2S}, {@code -Dload.duration=PT5S}: 측정 전 예열 시간과 측정 시간</li>
+ * </ul>
+ */
+@Slf4j
+@Tag("load")
+class AuthEndpointLoadTest {
+    private static final List<AuthScenario> SCENARIOS = scenarios(System.getProperty("load.scenarios", ""));
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("load.concurrency", "50,200").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private static final int POPULATION = Integer.getInteger("load.population", 2_000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT2S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT5S"));
+    // 호출자 수를 늘렸을 때 처리량이 이 비율보다 적게 오르면 포화로 봄
+    private static final double SATURATION_GAIN = 0.1;
+
+    private static EmbeddedRedis redis;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @Test
+    void authEndpointScenariosTest() throws Exception {
+        int maxConcurrency = Arrays.stream(CONCURRENCY).max().orElse(1);
+        Map<String, Object> properties = Map.of(
+                "spring.threads.virtual.enabled", true,
+                "server.tomcat.max-connections", maxConcurrency * 2,
+                "server.tomcat.accept-count", maxConcurrency);
+        List<String> lines = new ArrayList<>();
+        List<LoadReport> reports = new ArrayList<>();
+        try (AuthServerNode node = AuthServerNode.start(redis, properties);
+             LoadGenerator generator = new LoadGenerator()) {
+            for (AuthScenario scenario : SCENARIOS) {
+                List<LoadReport> levels = new ArrayList<>();
+                for (int concurrency : CONCURRENCY) {
+                    TokenPopulation population = scenario.usesPopulation()
+                            ? TokenPopulation.login(node.getBaseUrl(), POPULATION) : TokenPopulation.empty();
+                    LoadReport report = generator.runScript(scenario.label(), concurrency, WARMUP, DURATION,
+                            caller -> scenario.caller(node.getBaseUrl(), population, caller, concurrency));
+                    levels.add(report);
+                    lines.add(report.toString());
+                }
+                lines.add(saturation(scenario, levels));
+                reports.addAll(levels);
+            }
+        }
+
+        log.warn("\n{}", String.join("\n", lines));
+        for (LoadReport report : reports) {
+            assertThat(report.total().requests()).isPositive();
+            assertThat(report.total().errorRate()).isLessThan(0.01);
+        }
+    }
+
+    /**
+     * 처리량이 더 이상 SATURATION_GAIN 만큼 오르지 않는 첫 호출자 수
+     */
+    private static String saturation(AuthScenario scenario, List<LoadReport> levels) {
+        LoadResult saturated = levels.get(levels.size() - 1).total();
+        for (int i = 1; i < levels.size(); i++) {
+            LoadResult previous = levels.get(i - 1).total();
+            if (levels.get(i).total().throughput() < previous.throughput() * (1 + SATURATION_GAIN)) {
+                saturated = previous;
+                break;
+            }
+        }
+        boolean reached = levels.size() > 1 && saturated != levels.get(levels.size() - 1).total();
+        return String.format("%s %s concurrency=%d throughput=%.1f/s p99=%dus", scenario.label(),
+                reached ? "saturates at" : "not saturated up to", saturated.concurrency(), saturated.throughput(),
+                saturated.p99Micros());
+    }
+
+    private static List<AuthScenario> scenarios(String labels) {
+        if (labels.isBlank()) {
+            return List.of(AuthScenario.values());
+        }
+        return Arrays.stream(labels.split(","))
+                .map(String::trim)
+                .map(label -> Arrays.stream(AuthScenario.values())
+                        .filter(scenario -> scenario.label().equals(label))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("알 수 없는 시나리오: " + label)))
+                .toList();
+    }
+}
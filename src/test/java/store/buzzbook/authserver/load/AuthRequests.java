@@ -0,0 +1,66 @@
+package store.buzzbook.authserver.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * 부하 시나리오에서 보내는 인증 API 요청입니다.
+ * 토큰은 응답 헤더 값({@code Bearer ...}) 그대로 주고받습니다.
+ */
+final class AuthRequests {
+    static final String TOKEN_HEADER = "Authorization";
+    static final String REFRESH_HEADER = "Refresh-Token";
+
+    private AuthRequests() {
+    }
+
+    static HttpRequest login(String baseUrl, String loginId, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"loginId\":\"" + loginId + "\",\"role\":\"USER\",\"userId\":" + userId + "}"))
+                .build();
+    }
+
+    static HttpRequest info(String baseUrl, SessionTokens tokens) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/info"))
+                .header(TOKEN_HEADER, tokens.accessToken())
+                .header(REFRESH_HEADER, tokens.refreshToken())
+                .GET()
+                .build();
+    }
+
+    /**
+     * access token 없이 refresh token 만 보내면 /info 가 토큰을 재발급
+     */
+    static HttpRequest refresh(String baseUrl, SessionTokens tokens) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/info"))
+                .header(REFRESH_HEADER, tokens.refreshToken())
+                .GET()
+                .build();
+    }
+
+    static HttpRequest logout(String baseUrl, SessionTokens tokens) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/logout"))
+                .header(TOKEN_HEADER, tokens.accessToken())
+                .header(REFRESH_HEADER, tokens.refreshToken())
+                .GET()
+                .build();
+    }
+
+    /**
+     * 로그인, 재발급 응답에서 토큰을 꺼냄, 실패한 응답이면 null
+     */
+    static SessionTokens tokens(HttpResponse<?> response) {
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        String accessToken = response.headers().firstValue(TOKEN_HEADER).orElse(null);
+        String refreshToken = response.headers().firstValue(REFRESH_HEADER).orElse(null);
+        return accessToken != null && refreshToken != null ? new SessionTokens(accessToken, refreshToken) : null;
+    }
+
+    record SessionTokens(String accessToken, String refreshToken) {
+    }
+}
@@ -0,0 +1,140 @@
+package store.buzzbook.authserver.load;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+import store.buzzbook.authserver.load.AuthRequests.SessionTokens;
+
+/**
+ * 인증 API 부하 시나리오입니다.
+ * 호출자는 자기 몫의 세션을 돌아가며 쓰고, 세션이 없는 칸은 먼저 로그인하여 채웁니다.
+ */
+enum AuthScenario {
+    /**
+     * 매 요청마다 새 사용자로 로그인
+     */
+    LOGIN_BURST("login-burst", false) {
+        @Override
+        Action next(boolean hasSession) {
+            return Action.LOGIN;
+        }
+    },
+    /**
+     * 로그인해 둔 세션들로 /info 를 반복, 세션 수가 토큰 캐시와 Redis 의 작업 집합 크기
+     */
+    STEADY_INFO("steady-info", true) {
+        @Override
+        Action next(boolean hasSession) {
+            return hasSession ? Action.INFO : Action.LOGIN;
+        }
+    },
+    /**
+     * access token 이 한꺼번에 만료된 30분 시점처럼 모든 세션이 refresh token 으로 재발급, 받은 토큰으로 다시 재발급
+     */
+    REFRESH_STORM("refresh-storm", true) {
+        @Override
+        Action next(boolean hasSession) {
+            return hasSession ? Action.REFRESH : Action.LOGIN;
+        }
+    },
+    /**
+     * 로그인해 둔 세션을 차례로 로그아웃, 로그아웃한 칸은 다음 차례에 다시 로그인
+     */
+    LOGOUT_WAVE("logout-wave", true) {
+        @Override
+        Action next(boolean hasSession) {
+            return hasSession ? Action.LOGOUT : Action.LOGIN;
+        }
+    },
+    /**
+     * 한 사용자의 흐름처럼 /info 위주로 가끔 재발급과 로그아웃, 로그아웃 뒤에는 다시 로그인
+     */
+    MIXED("mixed", false) {
+        @Override
+        Action next(boolean hasSession) {
+            if (!hasSession) {
+                return Action.LOGIN;
+            }
+            int dice = ThreadLocalRandom.current().nextInt(100);
+            if (dice < 85) {
+                return Action.INFO;
+            }
+            return dice < 95 ? Action.REFRESH : Action.LOGOUT;
+        }
+    };
+
+    enum Action {
+        LOGIN, INFO, REFRESH, LOGOUT
+    }
+
+    private final String label;
+    private final boolean usesPopulation;
+
+    AuthScenario(String label, boolean usesPopulation) {
+        this.label = label;
+        this.usesPopulation = usesPopulation;
+    }
+
+    abstract Action next(boolean hasSession);
+
+    String label() {
+        return label;
+    }
+
+    /**
+     * 시작 전에 로그인해 둔 세션이 필요한지 여부
+     */
+    boolean usesPopulation() {
+        return usesPopulation;
+    }
+
+    CallerScript caller(String baseUrl, TokenPopulation population, int caller, int concurrency) {
+        return new SessionCaller(baseUrl, caller, population.share(caller, concurrency));
+    }
+
+    private final class SessionCaller implements CallerScript {
+        private final String baseUrl;
+        private final int caller;
+        private final SessionTokens[] sessions;
+        private int cursor;
+        private int current;
+        private Action pending;
+        private long logins;
+
+        SessionCaller(String baseUrl, int caller, SessionTokens[] sessions) {
+            this.baseUrl = baseUrl;
+            this.caller = caller;
+            this.sessions = sessions;
+        }
+
+        @Override
+        public Step next() {
+            current = cursor;
+            cursor = (cursor + 1) % sessions.length;
+            SessionTokens session = sessions[current];
+            pending = AuthScenario.this.next(session != null);
+            HttpRequest request = switch (pending) {
+                case LOGIN -> AuthRequests.login(baseUrl, "load-" + caller + "-" + logins,
+                        (long) caller * 1_000_000 + logins++);
+                case INFO -> AuthRequests.info(baseUrl, session);
+                case REFRESH -> AuthRequests.refresh(baseUrl, session);
+                case LOGOUT -> AuthRequests.logout(baseUrl, session);
+            };
+            return new Step(pending.name().toLowerCase(), request);
+        }
+
+        @Override
+        public void onResponse(HttpResponse<Void> response) {
+            switch (pending) {
+                case LOGIN, REFRESH -> sessions[current] = AuthRequests.tokens(response);
+                case LOGOUT -> sessions[current] = null;
+                case INFO -> {
+                    if (response != null && response.statusCode() == 401) {
+                        sessions[current] = null;
+                    }
+                }
+            }
+        }
+    }
+}
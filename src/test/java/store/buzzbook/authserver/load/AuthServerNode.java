@@ -0,0 +1,54 @@
+package store.buzzbook.authserver.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import store.buzzbook.authserver.BuzzBookAuthServerApplication;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 부하 테스트용으로 임의 포트에 띄운 auth-api 인스턴스입니다.
+ * Eureka 등록은 끄고 주어진 로컬 Redis 를 바라봅니다.
+ */
+public class AuthServerNode implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private AuthServerNode(ConfigurableApplicationContext context) {
+        this.context = context;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = "http://127.0.0.1:" + port;
+    }
+
+    public static AuthServerNode start(EmbeddedRedis redis, Map<String, Object> properties) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("server.port", 0);
+        defaults.put("spring.data.redis.host", "127.0.0.1");
+        defaults.put("spring.data.redis.port", redis.getPort());
+        defaults.put("eureka.client.enabled", false);
+        defaults.put("spring.devtools.restart.enabled", false);
+        defaults.put("logging.level.root", "WARN");
+        defaults.putAll(properties);
+
+        // application.yml 보다 우선하도록 커맨드라인 인자로 전달
+        String[] args = defaults.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BuzzBookAuthServerApplication.class)
+                .run(args);
+        return new AuthServerNode(context);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
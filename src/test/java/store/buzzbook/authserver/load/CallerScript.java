@@ -0,0 +1,26 @@
+package store.buzzbook.authserver.load;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * 호출자 하나가 다음에 보낼 요청을 정합니다.
+ * 응답을 보고 상태를 바꿀 수 있으므로 재발급받은 토큰을 이어 쓰거나 로그아웃 후 다시 로그인하는 흐름을 표현할 수 있습니다.
+ * 호출자마다 한 스레드에서만 호출되므로 구현은 thread-safe 하지 않아도 됩니다.
+ */
+public interface CallerScript {
+
+    Step next();
+
+    /**
+     * 응답을 받지 못하면 response 는 null
+     */
+    default void onResponse(HttpResponse<Void> response) {
+    }
+
+    /**
+     * @param action 결과를 나누어 집계할 이름
+     */
+    record Step(String action, HttpRequest request) {
+    }
+}
@@ -0,0 +1,134 @@
+package store.buzzbook.authserver.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * 가상 스레드로 지정한 수만큼의 호출자를 띄워 정해진 시간 동안 요청을 반복합니다.
+ * 호출자마다 요청이 끝나야 다음 요청을 보내므로 동시에 처리 중인 요청 수는 concurrency 로 고정됩니다.
+ */
+public class LoadGenerator implements AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(executor)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    /**
+     * @param requestFactory 호출자 번호를 받아 보낼 요청을 만드는 함수
+     */
+    public LoadResult run(String name, int concurrency, Duration warmup, Duration duration,
+                          IntFunction<HttpRequest> requestFactory) throws InterruptedException {
+        return runScript(name, concurrency, warmup, duration, caller -> {
+            CallerScript.Step step = new CallerScript.Step(name, requestFactory.apply(caller));
+            return () -> step;
+        }).total();
+    }
+
+    /**
+     * 호출자마다 스크립트를 따라 요청을 바꿔 가며 보내고, 전체와 요청 종류별 결과를 함께 반환
+     *
+     * @param scriptFactory 호출자 번호를 받아 그 호출자의 스크립트를 만드는 함수
+     */
+    public LoadReport runScript(String name, int concurrency, Duration warmup, Duration duration,
+                                IntFunction<CallerScript> scriptFactory) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        List<Map<String, LatencyRecorder>> recorders = new ArrayList<>(concurrency);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+
+        for (int caller = 0; caller < concurrency; caller++) {
+            Map<String, LatencyRecorder> byAction = new HashMap<>();
+            recorders.add(byAction);
+            int index = caller;
+            executor.execute(() -> {
+                try {
+                    CallerScript script = scriptFactory.apply(index);
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        CallerScript.Step step = script.next();
+                        HttpResponse<Void> response = send(step.request());
+                        long end = System.nanoTime();
+                        script.onResponse(response);
+                        if (now >= measureFrom) {
+                            byAction.computeIfAbsent(step.action(), action -> new LatencyRecorder())
+                                    .add((end - now) / 1_000, response != null && response.statusCode() == 200);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+
+        // done.await() 이후이므로 각 호출자가 기록한 값을 그대로 읽을 수 있음
+        Map<String, LatencyRecorder> merged = new TreeMap<>();
+        for (Map<String, LatencyRecorder> byAction : recorders) {
+            byAction.forEach((action, recorder) -> merged.merge(action, recorder, LatencyRecorder::merge));
+        }
+        LatencyRecorder all = merged.values().stream().reduce(new LatencyRecorder(), LatencyRecorder::merge);
+        List<LoadResult> actions = merged.entrySet().stream()
+                .map(entry -> entry.getValue().toResult(name + "/" + entry.getKey(), concurrency, duration))
+                .toList();
+        return new LoadReport(all.toResult(name, concurrency, duration), actions);
+    }
+
+    private HttpResponse<Void> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+
+    private static class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long value, boolean ok) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        LatencyRecorder merge(LatencyRecorder other) {
+            LatencyRecorder merged = new LatencyRecorder();
+            merged.values = Arrays.copyOf(values, size + other.size);
+            System.arraycopy(other.values, 0, merged.values, size, other.size);
+            merged.size = size + other.size;
+            merged.errors = errors + other.errors;
+            return merged;
+        }
+
+        LoadResult toResult(String name, int concurrency, Duration elapsed) {
+            return LoadResult.of(name, concurrency, errors, elapsed, Arrays.copyOf(values, size));
+        }
+    }
+}
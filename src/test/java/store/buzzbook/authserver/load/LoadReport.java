@@ -0,0 +1,20 @@
+package store.buzzbook.authserver.load;
+
+import java.util.List;
+
+/**
+ * 한 번의 부하 실행 전체 결과와 요청 종류별 결과
+ */
+public record LoadReport(LoadResult total, List<LoadResult> actions) {
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(total.toString());
+        if (actions.size() > 1) {
+            for (LoadResult action : actions) {
+                builder.append("\n  ").append(action);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package store.buzzbook.authserver.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 한 번의 부하 실행 결과, 지연 시간은 마이크로초 단위
+ */
+public record LoadResult(String name, int concurrency, long requests, long errors, Duration elapsed,
+                         long p50Micros, long p99Micros, long p999Micros) {
+
+    static LoadResult of(String name, int concurrency, long errors, Duration elapsed, long[] latenciesMicros) {
+        long[] sorted = latenciesMicros.clone();
+        Arrays.sort(sorted);
+        return new LoadResult(name, concurrency, sorted.length, errors, elapsed,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    public double throughput() {
+        return requests * 1000.0 / Math.max(1, elapsed.toMillis());
+    }
+
+    public double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s concurrency=%d requests=%d throughput=%.1f/s errors=%.2f%% p50=%dus p99=%dus p999=%dus",
+                name, concurrency, requests, throughput(), errorRate() * 100, p50Micros, p99Micros, p999Micros);
+    }
+}
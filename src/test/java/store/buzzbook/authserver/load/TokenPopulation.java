@@ -0,0 +1,78 @@
+package store.buzzbook.authserver.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import store.buzzbook.authserver.load.AuthRequests.SessionTokens;
+
+/**
+ * 시나리오를 시작하기 전에 로그인해 둔 세션들입니다.
+ * 호출자마다 겹치지 않는 몫을 나누어 주므로 한 세션을 두 호출자가 동시에 재발급하거나 로그아웃하지 않습니다.
+ */
+final class TokenPopulation {
+    private static final int LOGIN_PARALLELISM = 64;
+
+    private final SessionTokens[] sessions;
+
+    private TokenPopulation(SessionTokens[] sessions) {
+        this.sessions = sessions;
+    }
+
+    /**
+     * size 명의 사용자를 로그인시켜 세션을 만듦
+     */
+    static TokenPopulation login(String baseUrl, int size) throws Exception {
+        SessionTokens[] sessions = new SessionTokens[size];
+        Semaphore permits = new Semaphore(LOGIN_PARALLELISM);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            List<Future<?>> logins = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int index = i;
+                logins.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        HttpResponse<Void> response = client.send(
+                                AuthRequests.login(baseUrl, "population-" + index, index),
+                                HttpResponse.BodyHandlers.discarding());
+                        sessions[index] = AuthRequests.tokens(response);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> login : logins) {
+                login.get();
+            }
+        }
+        return new TokenPopulation(sessions);
+    }
+
+    static TokenPopulation empty() {
+        return new TokenPopulation(new SessionTokens[0]);
+    }
+
+    /**
+     * caller 번째 호출자의 몫, caller, caller + concurrency, ... 번째 세션
+     * 몫이 없으면 빈 칸 하나를 주어 첫 요청에서 로그인하게 함
+     */
+    SessionTokens[] share(int caller, int concurrency) {
+        int count = caller < sessions.length ? (sessions.length - caller - 1) / concurrency + 1 : 0;
+        SessionTokens[] share = new SessionTokens[Math.max(1, count)];
+        for (int i = 0; i < count; i++) {
+            share[i] = sessions[caller + i * concurrency];
+        }
+        return share;
+    }
+
+    int size() {
+        return sessions.length;
+    }
+}
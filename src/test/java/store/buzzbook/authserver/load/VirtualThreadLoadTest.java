@@ -0,0 +1,87 @@
+package store.buzzbook.authserver.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 플랫폼 스레드(Tomcat 스레드 풀)와 가상 스레드 모드에서 /info 처리량을 비교합니다.
+ * 기본 테스트에서는 제외되며 {@code mvn -Pload-test test -Dtest=VirtualThreadLoadTest} 로 실행합니다.
+ * 호출자 수와 측정 시간은 {@code -Dload.concurrency}, {@code -Dload.duration} 으로 바꿀 수 있습니다.
+ */
+@Slf4j
+@Tag("load")
+class VirtualThreadLoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 5_000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT3S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT10S"));
+
+    private static EmbeddedRedis redis;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @Test
+    void infoThroughputWithAndWithoutVirtualThreadsTest() throws Exception {
+        LoadResult platform = runInfoLoad(false);
+        LoadResult virtual = runInfoLoad(true);
+
+        log.warn("\n{}\n{}", platform, virtual);
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+    }
+
+    private LoadResult runInfoLoad(boolean virtualThreads) throws Exception {
+        // 매 요청이 Redis 를 거치도록 토큰 캐시는 끔
+        Map<String, Object> properties = Map.of(
+                "spring.threads.virtual.enabled", virtualThreads,
+                "auth.token-cache.enabled", false,
+                "server.tomcat.max-connections", CONCURRENCY * 2,
+                "server.tomcat.accept-count", CONCURRENCY);
+        try (AuthServerNode node = AuthServerNode.start(redis, properties);
+             LoadGenerator generator = new LoadGenerator()) {
+            HttpResponse<Void> login = login(node.getBaseUrl());
+            String accessToken = login.headers().firstValue("Authorization").orElseThrow();
+            String refreshToken = login.headers().firstValue("Refresh-Token").orElseThrow();
+            HttpRequest info = HttpRequest.newBuilder(URI.create(node.getBaseUrl() + "/api/auth/info"))
+                    .header("Authorization", accessToken)
+                    .header("Refresh-Token", refreshToken)
+                    .GET()
+                    .build();
+
+            String name = virtualThreads ? "info/virtual-threads" : "info/platform-threads";
+            return generator.run(name, CONCURRENCY, WARMUP, DURATION, caller -> info);
+        }
+    }
+
+    private HttpResponse<Void> login(String baseUrl) throws Exception {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"loginId\":\"loadUser\",\"role\":\"USER\",\"userId\":1}"))
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+}
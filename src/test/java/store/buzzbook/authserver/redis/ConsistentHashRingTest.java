@@ -0,0 +1,89 @@
+package store.buzzbook.authserver.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+    private static final int VIRTUAL_NODES = 160;
+    private static final List<String> KEYS = IntStream.range(0, 30_000)
+            .mapToObj(i -> UUID.nameUUIDFromBytes(("session-" + i).getBytes()).toString())
+            .toList();
+
+    @Test
+    void sameRingRegardlessOfNodeOrderTest() {
+        Map<String, String> forward = new LinkedHashMap<>();
+        Map<String, String> reverse = new LinkedHashMap<>();
+        List<String> nodes = List.of("10.0.0.1:6379", "10.0.0.2:6379", "10.0.0.3:6379");
+        nodes.forEach(node -> forward.put(node, node));
+        nodes.reversed().forEach(node -> reverse.put(node, node));
+
+        ConsistentHashRing<String> first = new ConsistentHashRing<>(forward, VIRTUAL_NODES);
+        ConsistentHashRing<String> second = new ConsistentHashRing<>(reverse, VIRTUAL_NODES);
+
+        for (String key : KEYS) {
+            assertThat(second.get(key)).isEqualTo(first.get(key));
+        }
+    }
+
+    @Test
+    void spreadsKeysEvenlyTest() {
+        ConsistentHashRing<String> ring = ring(3);
+
+        Map<String, Integer> counts = new HashMap<>();
+        KEYS.forEach(key -> counts.merge(ring.get(key), 1, Integer::sum));
+
+        assertThat(counts).hasSize(3);
+        int expected = KEYS.size() / 3;
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(
+                (int) (expected * 0.85), (int) (expected * 1.15)));
+    }
+
+    @Test
+    void addingNodeMovesOnlyItsShareTest() {
+        ConsistentHashRing<String> before = ring(3);
+        ConsistentHashRing<String> after = ring(4);
+
+        int moved = 0;
+        for (String key : KEYS) {
+            String owner = after.get(key);
+            if (!owner.equals(before.get(key))) {
+                // 옮겨 가는 키는 모두 새 노드로 가고 기존 노드끼리는 주고받지 않음
+                assertThat(owner).isEqualTo("shard-3");
+                moved++;
+            }
+        }
+        assertThat((double) moved / KEYS.size()).isBetween(0.25 * 0.8, 0.25 * 1.2);
+    }
+
+    @Test
+    void singleVirtualNodeStillAssignsEveryKeyTest() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(Map.of("a", "a", "b", "b"), 1);
+
+        assertThat(KEYS).allSatisfy(key -> assertThat(ring.get(key)).isIn("a", "b"));
+    }
+
+    @Test
+    void rejectsInvalidRingTest() {
+        assertThatThrownBy(() -> new ConsistentHashRing<>(Map.of(), VIRTUAL_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing<>(Map.of("a", "a"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ConsistentHashRing<String> ring(int size) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            nodes.put("shard-" + i, "shard-" + i);
+        }
+        return new ConsistentHashRing<>(nodes, VIRTUAL_NODES);
+    }
+}
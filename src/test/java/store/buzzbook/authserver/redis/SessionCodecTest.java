@@ -0,0 +1,119 @@
+package store.buzzbook.authserver.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import store.buzzbook.authserver.dto.SessionRecord;
+
+class SessionCodecTest {
+
+    private final SessionCodec sessionCodec = new SessionCodec(true);
+    private final GenericJackson2JsonRedisSerializer jackson = new GenericJackson2JsonRedisSerializer();
+
+    @Test
+    void encodeAndDecodeTest() {
+        SessionRecord session = new SessionRecord("테스트유저", "USER", 123L);
+
+        List<byte[]> encoded = sessionCodec.encode(session);
+
+        assertThat(encoded).hasSize(6);
+        assertThat(encoded.get(5)[0]).isEqualTo((byte) 0x01);
+        assertThat(new String(encoded.get(5), 1, 3, StandardCharsets.US_ASCII)).isEqualTo("123");
+        assertThat(sessionCodec.decodePairs(encoded)).isEqualTo(session);
+        assertThat(sessionCodec.decode(toHash(encoded))).isEqualTo(session);
+    }
+
+    @Test
+    void encodeSkipsNullFieldsTest() {
+        List<byte[]> encoded = sessionCodec.encode(new SessionRecord("testUser", null, null));
+
+        assertThat(encoded).hasSize(2);
+        assertThat(sessionCodec.decodePairs(encoded).isComplete()).isFalse();
+    }
+
+    @Test
+    void decodeLegacyJacksonValuesTest() {
+        Map<byte[], byte[]> hash = new LinkedHashMap<>();
+        hash.put(bytes("loginId"), jackson.serialize("12345"));
+        hash.put(bytes("role"), jackson.serialize("USER"));
+        hash.put(bytes("userId"), jackson.serialize(7));
+
+        assertThat(sessionCodec.decode(hash)).isEqualTo(new SessionRecord("12345", "USER", 7L));
+    }
+
+    @Test
+    void legacyReadingDisabledTest() {
+        SessionCodec strict = new SessionCodec(false);
+        byte[] typedLong = "[\"java.lang.Long\",123]".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> strict.decodePairs(List.of(bytes("loginId"), jackson.serialize("user"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> strict.decodePairs(List.of(bytes("userId"), typedLong)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(strict.decodePairs(strict.encode(new SessionRecord(null, null, 123L))).userId()).isEqualTo(123L);
+        assertThat(sessionCodec.decodePairs(List.of(bytes("userId"), typedLong)).userId()).isEqualTo(123L);
+    }
+
+    @Test
+    void valuesLookingLikeJsonAreNotReadAsLegacyTest() {
+        SessionRecord session = new SessionRecord("\"quoted", "[admin]", 1L);
+
+        assertThat(sessionCodec.decodePairs(sessionCodec.encode(session))).isEqualTo(session);
+    }
+
+    @Test
+    void parseLongRejectsMalformedValuesTest() {
+        assertThat(SessionCodec.parseLong(bytes(String.valueOf(Long.MAX_VALUE)), 0)).isEqualTo(Long.MAX_VALUE);
+        assertThat(SessionCodec.parseLong(bytes(String.valueOf(Long.MIN_VALUE)), 0)).isEqualTo(Long.MIN_VALUE);
+        assertThat(SessionCodec.parseLong(bytes("-42"), 0)).isEqualTo(-42L);
+
+        assertThatThrownBy(() -> SessionCodec.parseLong(bytes("-"), 0)).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> SessionCodec.parseLong(bytes(""), 0)).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> SessionCodec.parseLong(bytes("9223372036854775808"), 0))
+                .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> SessionCodec.parseLong(bytes("-9223372036854775809"), 0))
+                .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> SessionCodec.parseLong(bytes("99999999999999999999"), 0))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void decodeEmptyTest() {
+        assertThat(sessionCodec.decode(Map.of())).isNull();
+        assertThat(sessionCodec.decodePairs(List.of())).isNull();
+    }
+
+    @Test
+    void encodedSessionIsSmallerThanJacksonTest() {
+        SessionRecord session = new SessionRecord("testUser", "USER", 123L);
+        List<byte[]> encoded = sessionCodec.encode(session);
+        int codecBytes = 0;
+        for (int i = 1; i < encoded.size(); i += 2) {
+            codecBytes += encoded.get(i).length;
+        }
+        int jacksonBytes = jackson.serialize(session.loginId()).length + jackson.serialize(session.role()).length
+                + jackson.serialize(session.userId()).length;
+
+        assertThat(codecBytes).isLessThan(jacksonBytes);
+    }
+
+    private Map<byte[], byte[]> toHash(List<byte[]> pairs) {
+        Map<byte[], byte[]> hash = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            hash.put(pairs.get(i), pairs.get(i + 1));
+        }
+        return hash;
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+package store.buzzbook.authserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.config.ReactiveRedisConfig;
+import store.buzzbook.authserver.config.RedisScriptConfig;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.redis.SessionCodec;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 리액티브 세션 저장소가 블로킹 버전과 같은 형식으로 읽고 쓰는지 로컬 Redis 로 확인합니다.
+ */
+class ReactiveRedisServiceImplIntegrationTest {
+
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 1L);
+
+    private static EmbeddedRedis redis;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private ReactiveRedisTemplate<String, byte[]> sessionRedisTemplate;
+    private VerifiedTokenCache verifiedTokenCache;
+    private SessionInvalidationPublisher sessionInvalidationPublisher;
+    private ReactiveRedisServiceImpl reactiveRedisService;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+        connectionFactory = redis.connectionFactory();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        sessionRedisTemplate = new ReactiveRedisConfig().sessionRedisTemplate(connectionFactory,
+                SessionShards.single(router()));
+        sessionRedisTemplate.execute(connection -> connection.serverCommands().flushDb()).blockLast();
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        sessionInvalidationPublisher = mock(SessionInvalidationPublisher.class);
+        RedisScriptConfig scriptConfig = new RedisScriptConfig();
+        reactiveRedisService = new ReactiveRedisServiceImpl(sessionRedisTemplate, verifiedTokenCache,
+                sessionInvalidationPublisher, scriptConfig.saveSessionScript(), scriptConfig.rotateSessionScript(),
+                new SessionCodec(true), Duration.ofDays(7));
+    }
+
+    @Test
+    void refusesShardedSessionsTest() {
+        SessionShards sharded = new SessionShards(Map.of("a", router(), "b", router()), 1, List.of());
+
+        assertThatThrownBy(() -> new ReactiveRedisConfig().sessionRedisTemplate(connectionFactory, sharded))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void saveAndGetUserTest() {
+        reactiveRedisService.saveUser("uuid-save", SESSION).block();
+
+        assertThat(reactiveRedisService.getUser("uuid-save").block()).isEqualTo(SESSION);
+        assertThat(sessionRedisTemplate.getExpire("uuid-save").block())
+                .isBetween(Duration.ofDays(7).minusMinutes(1), Duration.ofDays(7));
+        assertThat(reactiveRedisService.getUser("uuid-missing").block()).isNull();
+    }
+
+    @Test
+    void rotateUserTest() {
+        reactiveRedisService.saveUser("uuid-old", SESSION).block();
+
+        assertThat(reactiveRedisService.rotateUser("uuid-old", "uuid-new").block()).isEqualTo(SESSION);
+        assertThat(reactiveRedisService.getUser("uuid-new").block()).isEqualTo(SESSION);
+        assertThat(sessionRedisTemplate.hasKey("uuid-old").block()).isFalse();
+        assertThat(reactiveRedisService.rotateUser("uuid-old", "uuid-other").block()).isNull();
+        verify(verifiedTokenCache).evictSession("uuid-old");
+        verify(sessionInvalidationPublisher).publish("uuid-old");
+    }
+
+    @Test
+    void removeUserTest() {
+        reactiveRedisService.saveUser("uuid-remove", SESSION).block();
+
+        reactiveRedisService.removeUser("uuid-remove").block();
+
+        assertThat(sessionRedisTemplate.hasKey("uuid-remove").block()).isFalse();
+        verify(verifiedTokenCache).evictSession("uuid-remove");
+        verify(sessionInvalidationPublisher).publish("uuid-remove");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SessionReadRouter router() {
+        return SessionReadRouter.primaryOnly(mock(RedisTemplate.class), new SimpleMeterRegistry());
+    }
+}
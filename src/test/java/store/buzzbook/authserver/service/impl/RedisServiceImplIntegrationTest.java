@@ -0,0 +1,224 @@
+package store.buzzbook.authserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.client.DoorayDispatcher;
+import store.buzzbook.authserver.config.RedisConfig;
+import store.buzzbook.authserver.config.RedisScriptConfig;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.exception.ActivateFailException;
+import store.buzzbook.authserver.redis.SessionCodec;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 실제 Redis 명령(스크립트 포함)이 의도대로 동작하는지 로컬 Redis 로 확인합니다.
+ */
+class RedisServiceImplIntegrationTest {
+
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 1L);
+
+    private static EmbeddedRedis redis;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisServiceImpl redisService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = EmbeddedRedis.start();
+        connectionFactory = redis.connectionFactory();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        RedisScriptConfig scriptConfig = new RedisScriptConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        redisService = new RedisServiceImpl(redisTemplate, mock(DoorayDispatcher.class), mock(VerifiedTokenCache.class),
+                mock(SessionInvalidationPublisher.class), scriptConfig.saveSessionScript(),
+                scriptConfig.rotateSessionScript(), scriptConfig.takeSessionScript(),
+                scriptConfig.checkDormantTokenScript(), new SessionCodec(true),
+                SessionShards.single(SessionReadRouter.primaryOnly(redisTemplate, meterRegistry)), Duration.ofDays(7),
+                meterRegistry);
+    }
+
+    @Test
+    void saveUserSetsFieldsAndTtlTogetherTest() {
+        redisService.saveUser("uuid-save", SESSION);
+
+        assertThat(redisService.getUser("uuid-save")).isEqualTo(SESSION);
+        assertThat(redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hashCommands()
+                .hGet("uuid-save".getBytes(StandardCharsets.UTF_8), "loginId".getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo("\u0001testUser".getBytes(StandardCharsets.UTF_8));
+        assertThat(redisTemplate.getExpire("uuid-save", TimeUnit.SECONDS))
+                .isBetween(Duration.ofDays(7).minusMinutes(1).toSeconds(), Duration.ofDays(7).toSeconds());
+    }
+
+    @Test
+    void getUserReadsLegacyJacksonSessionTest() {
+        // GenericJackson2JsonRedisSerializer 로 저장된 이전 형식의 세션
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("loginId", "testUser");
+        legacy.put("role", "USER");
+        legacy.put("userId", 1L);
+        redisTemplate.opsForHash().putAll("uuid-legacy", legacy);
+
+        assertThat(redisService.getUser("uuid-legacy")).isEqualTo(SESSION);
+        assertThat(redisService.rotateUser("uuid-legacy", "uuid-migrated")).isEqualTo(SESSION);
+    }
+
+    @Test
+    void getUsersReturnsSessionsInRequestOrderTest() {
+        SessionRecord other = new SessionRecord("otherUser", "ADMIN", 2L);
+        redisService.saveUser("uuid-1", SESSION);
+        redisService.saveUser("uuid-2", other);
+
+        assertThat(redisService.getUsers(List.of("uuid-2", "uuid-missing", "uuid-1")))
+                .containsExactly(other, null, SESSION);
+        assertThat(redisService.getUsers(List.of())).isEmpty();
+    }
+
+    @Test
+    void rotateUserMovesSessionToNewUuidTest() {
+        redisService.saveUser("uuid-old", SESSION);
+
+        SessionRecord rotated = redisService.rotateUser("uuid-old", "uuid-new");
+
+        assertThat(rotated).isEqualTo(SESSION);
+        assertThat(redisTemplate.hasKey("uuid-old")).isFalse();
+        assertThat(redisService.getUser("uuid-new")).isEqualTo(SESSION);
+        assertThat(redisTemplate.getExpire("uuid-new", TimeUnit.SECONDS)).isPositive();
+        assertThat(redisService.rotateUser("uuid-old", "uuid-other")).isNull();
+        assertThat(redisTemplate.hasKey("uuid-other")).isFalse();
+    }
+
+    @Test
+    void concurrentRotationSucceedsOnlyOnceTest() throws Exception {
+        redisService.saveUser("uuid-race", SESSION);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<SessionRecord>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String newUuid = "uuid-race-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return redisService.rotateUser("uuid-race", newUuid);
+            }));
+        }
+
+        start.countDown();
+        int succeeded = 0;
+        for (Future<SessionRecord> result : results) {
+            if (result.get() != null) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+    }
+
+    @Test
+    void isDormantTokenRequiresCodeAndLoginIdTest() {
+        redisTemplate.opsForHash().putAll("DH_full", Map.of("loginId", "testUser", "code", "123456"));
+        redisTemplate.opsForHash().put("DH_partial", "code", "123456");
+
+        assertThat(redisService.isDormantToken("DH_full")).isTrue();
+        assertThat(redisService.isDormantToken("DH_partial")).isFalse();
+        assertThat(redisService.isDormantToken("DH_missing")).isFalse();
+    }
+
+    @Test
+    void checkDormantTokenKeepsTokenOnWrongCodeTest() {
+        redisTemplate.opsForHash().putAll("DH_wrong", Map.of("loginId", "testUser", "code", "123456"));
+
+        assertThatThrownBy(() -> redisService.checkDormantToken("DH_wrong", "654321"))
+                .isInstanceOf(ActivateFailException.class);
+        assertThat(redisService.checkDormantToken("DH_wrong", "123456")).isEqualTo("testUser");
+        assertThat(redisTemplate.hasKey("DH_wrong")).isFalse();
+        assertThatThrownBy(() -> redisService.checkDormantToken("DH_wrong", "123456"))
+                .isInstanceOf(ActivateFailException.class)
+                .hasMessageContaining("이미 인증");
+    }
+
+    @Test
+    void concurrentActivationSucceedsOnlyOnceTest() throws Exception {
+        redisTemplate.opsForHash().putAll("DH_race", Map.of("loginId", "testUser", "code", "123456"));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return redisService.checkDormantToken("DH_race", "123456");
+                } catch (ActivateFailException e) {
+                    return null;
+                }
+            }));
+        }
+
+        start.countDown();
+        int succeeded = 0;
+        for (Future<String> result : results) {
+            if (result.get() != null) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+    }
+
+    @Test
+    void recordsLatencyPerOperationTest() {
+        redisService.saveUser("uuid-timed", SESSION);
+        redisService.getUser("uuid-timed");
+        redisService.getUser("uuid-missing");
+        assertThatThrownBy(() -> redisService.checkDormantToken("DH_missing", "123456"))
+                .isInstanceOf(ActivateFailException.class);
+
+        assertThat(meterRegistry.get("auth.redis").tag("operation", "saveUser").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.redis").tag("operation", "getUser").timer().count()).isEqualTo(2);
+        // 예외로 끝난 호출도 기록
+        assertThat(meterRegistry.get("auth.redis").tag("operation", "checkDormantToken").timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,278 @@
+package store.buzzbook.authserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.RevokedSessionRegistry;
+import store.buzzbook.authserver.cache.SessionInvalidationListener;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.client.DoorayDispatcher;
+import store.buzzbook.authserver.config.RedisConfig;
+import store.buzzbook.authserver.config.RedisScriptConfig;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.redis.SessionCodec;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * primary 와 복제본을 로컬 Redis 로 띄워 조회는 복제본으로 가고, 복제가 늦을 때는 primary 에서 읽는지 확인합니다.
+ * 복제 지연은 복제본을 쓰기 가능하게 바꾼 뒤 복제본에서만 키를 지우거나 되살려 재현합니다.
+ */
+class RedisServiceImplReplicaTest {
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 1L);
+    private static final SessionRecord OTHER = new SessionRecord("otherUser", "ADMIN", 2L);
+
+    private static EmbeddedRedis primary;
+    private static EmbeddedRedis replica;
+    private static LettuceConnectionFactory primaryFactory;
+    private static LettuceConnectionFactory replicaDirectFactory;
+    private static LettuceConnectionFactory replicaFactory;
+    private static RedisTemplate<String, Object> primaryTemplate;
+    private static RedisTemplate<String, Object> replicaTemplate;
+
+    // 같은 Redis 를 바라보는 서로 다른 두 노드
+    private RedisServiceImpl nodeA;
+    private RedisServiceImpl nodeB;
+    private SessionShards nodeBShards;
+    private SimpleMeterRegistry nodeBMetrics;
+
+    @BeforeAll
+    static void start() {
+        primary = EmbeddedRedis.start();
+        replica = EmbeddedRedis.replicaOf(primary);
+        primaryFactory = primary.connectionFactory();
+        replicaDirectFactory = replica.connectionFactory();
+        awaitReplicationLink();
+        replicaDirect(connection -> {
+            connection.serverCommands().setConfig("replica-read-only", "no");
+            return null;
+        });
+
+        RedisConfig config = new RedisConfig();
+        ReflectionTestUtils.setField(config, "host", "127.0.0.1");
+        ReflectionTestUtils.setField(config, "port", primary.getPort());
+        ReflectionTestUtils.setField(config, "replicaNodes", List.of("127.0.0.1:" + replica.getPort()));
+        // 복제본이 있으면 반드시 복제본에서 읽도록 하여 어느 쪽에서 읽었는지 확인할 수 있게 함
+        ReflectionTestUtils.setField(config, "readFrom", "replica");
+        replicaFactory = config.replicaConnectionFactory();
+        replicaFactory.afterPropertiesSet();
+        replicaFactory.start();
+
+        primaryTemplate = config.redisTemplate(primaryFactory);
+        primaryTemplate.afterPropertiesSet();
+        replicaTemplate = config.redisTemplate(replicaFactory);
+        replicaTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stop() {
+        replicaFactory.destroy();
+        replicaDirectFactory.destroy();
+        primaryFactory.destroy();
+        replica.close();
+        primary.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        primaryTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        // 복제본에만 되살린 키는 primary 가 비어 있으면 FLUSHDB 가 복제되지 않으므로 직접 지움
+        replicaDirect(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+
+        nodeA = service(shards(new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        nodeBMetrics = new SimpleMeterRegistry();
+        nodeBShards = shards(nodeBMetrics);
+        nodeB = service(nodeBShards, nodeBMetrics);
+    }
+
+    @Test
+    void readsSessionFromReplicaTest() {
+        nodeA.saveUser("uuid-replicated", SESSION);
+        awaitReplicated("uuid-replicated");
+        long primaryReads = hGetAllCalls(primaryFactory);
+        long replicaReads = hGetAllCalls(replicaDirectFactory);
+
+        assertThat(nodeB.getUser("uuid-replicated")).isEqualTo(SESSION);
+
+        assertThat(hGetAllCalls(primaryFactory)).isEqualTo(primaryReads);
+        assertThat(hGetAllCalls(replicaDirectFactory)).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLagsTest() {
+        nodeA.saveUser("uuid-lagging", SESSION);
+        primaryTemplate.opsForHash().putAll("DH_lagging", Map.of("loginId", "testUser", "code", "123456"));
+        dropFromReplica("uuid-lagging");
+        dropFromReplica("DH_lagging");
+
+        assertThat(nodeB.getUser("uuid-lagging")).isEqualTo(SESSION);
+        assertThat(nodeB.isDormantToken("DH_lagging")).isTrue();
+        assertThat(fallbacks()).isEqualTo(2);
+    }
+
+    @Test
+    void readsOwnWritesFromPrimaryTest() {
+        long replicaReads = hGetAllCalls(replicaDirectFactory);
+
+        nodeB.saveUser("uuid-own", SESSION);
+        assertThat(nodeB.getUser("uuid-own")).isEqualTo(SESSION);
+
+        // 재발급 직후 새 세션 조회도 복제본을 거치지 않음
+        assertThat(nodeB.rotateUser("uuid-own", "uuid-rotated")).isEqualTo(SESSION);
+        assertThat(nodeB.getUser("uuid-rotated")).isEqualTo(SESSION);
+        assertThat(nodeB.getUser("uuid-own")).isNull();
+
+        assertThat(hGetAllCalls(replicaDirectFactory)).isEqualTo(replicaReads);
+        assertThat(fallbacks()).isZero();
+    }
+
+    @Test
+    void doesNotReadRemovedSessionFromReplicaTest() {
+        nodeB.saveUser("uuid-logout", SESSION);
+        awaitReplicated("uuid-logout");
+
+        nodeB.removeUser("uuid-logout");
+        reviveOnReplica("uuid-logout");
+
+        assertThat(nodeB.getUser("uuid-logout")).isNull();
+    }
+
+    @Test
+    void doesNotReadSessionRemovedByOtherNodeFromReplicaTest() {
+        nodeA.saveUser("uuid-other-logout", SESSION);
+        awaitReplicated("uuid-other-logout");
+
+        nodeA.removeUser("uuid-other-logout");
+        reviveOnReplica("uuid-other-logout");
+        // 노드 A 가 발행한 무효화 메시지를 노드 B 가 받음
+        new SessionInvalidationListener(mock(VerifiedTokenCache.class), mock(RevokedSessionRegistry.class),
+                nodeBShards).onMessage(new DefaultMessage(SessionInvalidationPublisher.CHANNEL.getBytes(
+                StandardCharsets.UTF_8), "uuid-other-logout".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(nodeB.getUser("uuid-other-logout")).isNull();
+    }
+
+    @Test
+    void getUsersRereadsOnlyStaleSessionsFromPrimaryTest() {
+        nodeA.saveUser("uuid-1", SESSION);
+        nodeA.saveUser("uuid-2", OTHER);
+        awaitReplicated("uuid-1");
+        dropFromReplica("uuid-2");
+
+        List<SessionRecord> sessions = nodeB.getUsers(List.of("uuid-1", "uuid-2", "uuid-none"));
+
+        assertThat(sessions).containsExactly(SESSION, OTHER, null);
+        assertThat(fallbacks()).isEqualTo(2);
+    }
+
+    private static SessionShards shards(SimpleMeterRegistry meterRegistry) {
+        return SessionShards.single(new SessionReadRouter(primaryTemplate, replicaTemplate, Duration.ofSeconds(30),
+                1000, meterRegistry));
+    }
+
+    private RedisServiceImpl service(SessionShards shards, SimpleMeterRegistry meterRegistry) {
+        RedisScriptConfig scriptConfig = new RedisScriptConfig();
+        return new RedisServiceImpl(primaryTemplate, mock(DoorayDispatcher.class), mock(VerifiedTokenCache.class),
+                mock(SessionInvalidationPublisher.class), scriptConfig.saveSessionScript(),
+                scriptConfig.rotateSessionScript(), scriptConfig.takeSessionScript(),
+                scriptConfig.checkDormantTokenScript(), new SessionCodec(true), shards,
+                Duration.ofDays(7), meterRegistry);
+    }
+
+    private double fallbacks() {
+        return nodeBMetrics.get("auth.redis.replica.fallbacks").counter().count();
+    }
+
+    /**
+     * 삭제가 아직 복제되지 않은 것처럼 삭제가 복제된 뒤 복제본에만 세션을 되살림
+     */
+    private static void reviveOnReplica(String key) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> !isReplicated(key));
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> fields = new SessionCodec(true).encode(SESSION);
+        replicaDirect(connection -> {
+            for (int i = 0; i < fields.size(); i += 2) {
+                connection.hashCommands().hSet(rawKey, fields.get(i), fields.get(i + 1));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 복제가 끝난 키를 복제본에서만 지워 아직 복제되지 않은 상태로 만듦
+     */
+    private static void dropFromReplica(String key) {
+        awaitReplicated(key);
+        replicaDirect(connection -> connection.keyCommands().del(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void awaitReplicated(String key) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> isReplicated(key));
+    }
+
+    private static boolean isReplicated(String key) {
+        return Boolean.TRUE.equals(replicaDirect(
+                connection -> connection.keyCommands().exists(key.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static void awaitReplicationLink() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> "up".equals(
+                replicaDirect(connection -> connection.serverCommands().info("replication"))
+                        .getProperty("master_link_status")));
+    }
+
+    private static <T> T replicaDirect(RedisCallback<T> callback) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(replicaDirectFactory);
+        template.afterPropertiesSet();
+        return template.execute(callback);
+    }
+
+    /**
+     * 해당 Redis 가 받은 HGETALL 횟수
+     */
+    private static long hGetAllCalls(LettuceConnectionFactory factory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.afterPropertiesSet();
+        Properties stats = template.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+        String value = stats.getProperty("cmdstat_hgetall");
+        if (value == null) {
+            return 0;
+        }
+        // calls=12,usec=345,usec_per_call=28.75,...
+        return Arrays.stream(value.split(","))
+                .filter(entry -> entry.startsWith("calls="))
+                .mapToLong(entry -> Long.parseLong(entry.substring("calls=".length())))
+                .findFirst()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,224 @@
+package store.buzzbook.authserver.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.client.DoorayClient;
+import store.buzzbook.authserver.client.DoorayDispatcher;
+import store.buzzbook.authserver.config.RedisConfig;
+import store.buzzbook.authserver.config.RedisScriptConfig;
+import store.buzzbook.authserver.config.RedisScriptLoader;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.redis.SessionCodec;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+import store.buzzbook.authserver.support.EmbeddedRedis;
+
+/**
+ * 로컬 Redis 세 개를 shard 로 두고 세션과 휴면 토큰이 맡은 shard 에만 저장되고 조회되는지 확인합니다.
+ */
+class RedisServiceImplShardTest {
+    private static final SessionRecord SESSION = new SessionRecord("testUser", "USER", 1L);
+    private static final int SHARDS = 3;
+
+    private static final List<EmbeddedRedis> redis = new ArrayList<>();
+    private static final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+    private static final Map<SessionReadRouter, RedisTemplate<String, Object>> templates = new HashMap<>();
+    private static SessionShards sessionShards;
+
+    private RedisServiceImpl redisService;
+
+    @BeforeAll
+    static void start() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Map<String, SessionReadRouter> shards = new LinkedHashMap<>();
+        for (int i = 0; i < SHARDS; i++) {
+            EmbeddedRedis shardRedis = EmbeddedRedis.start();
+            LettuceConnectionFactory connectionFactory = shardRedis.connectionFactory();
+            RedisTemplate<String, Object> template = new RedisConfig().redisTemplate(connectionFactory);
+            template.afterPropertiesSet();
+            SessionReadRouter router = SessionReadRouter.primaryOnly(template, meterRegistry);
+            redis.add(shardRedis);
+            connectionFactories.add(connectionFactory);
+            templates.put(router, template);
+            shards.put("127.0.0.1:" + shardRedis.getPort(), router);
+        }
+        sessionShards = new SessionShards(shards, 160, connectionFactories);
+    }
+
+    @AfterAll
+    static void stop() {
+        sessionShards.close();
+        redis.forEach(EmbeddedRedis::close);
+    }
+
+    @BeforeEach
+    void setUp() {
+        templates.values().forEach(template -> template.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }));
+        RedisScriptConfig scriptConfig = new RedisScriptConfig();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DoorayDispatcher doorayDispatcher = new DoorayDispatcher(mock(DoorayClient.class), sessionShards,
+                scriptConfig.createDormantTokenScript(), scriptConfig.recordDeliveryScript(), "test", 1, 10, 1000, 3,
+                Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofMillis(50),
+                Duration.ofSeconds(60), 5, Duration.ofSeconds(1), meterRegistry);
+        RedisTemplate<String, Object> anyShard = templates.values().iterator().next();
+        redisService = new RedisServiceImpl(anyShard, doorayDispatcher, mock(VerifiedTokenCache.class),
+                mock(SessionInvalidationPublisher.class), scriptConfig.saveSessionScript(),
+                scriptConfig.rotateSessionScript(), scriptConfig.takeSessionScript(),
+                scriptConfig.checkDormantTokenScript(), new SessionCodec(true), sessionShards, Duration.ofDays(7),
+                meterRegistry);
+    }
+
+    @Test
+    void storesEachSessionOnlyOnItsShardTest() {
+        List<String> userIds = userIds(60);
+
+        userIds.forEach(userId -> redisService.saveUser(userId, SESSION));
+
+        for (String userId : userIds) {
+            SessionReadRouter owner = sessionShards.forKey(userId);
+            templates.forEach((router, template) ->
+                    assertThat(template.hasKey(userId)).isEqualTo(router == owner));
+            assertThat(redisService.getUser(userId)).isEqualTo(SESSION);
+        }
+        assertThat(templates.values()).allSatisfy(template -> assertThat(dbSize(template)).isPositive());
+    }
+
+    @Test
+    void getUsersReadsEachShardOnceInOrderTest() {
+        List<String> userIds = userIds(30);
+        userIds.forEach(userId -> redisService.saveUser(userId, SESSION));
+        List<String> requested = new ArrayList<>(userIds);
+        requested.add(5, "uuid-none");
+        Map<SessionReadRouter, Long> before = new HashMap<>();
+        templates.forEach((router, template) -> before.put(router, hGetAllCalls(template)));
+
+        List<SessionRecord> sessions = redisService.getUsers(requested);
+
+        assertThat(sessions).hasSize(requested.size());
+        for (int i = 0; i < requested.size(); i++) {
+            assertThat(sessions.get(i)).isEqualTo(i == 5 ? null : SESSION);
+        }
+        // 각 shard 는 자기가 맡은 키만 조회
+        Map<SessionReadRouter, List<Integer>> groups = sessionShards.groupByShard(requested);
+        templates.forEach((router, template) -> assertThat(hGetAllCalls(template) - before.get(router))
+                .isEqualTo(groups.getOrDefault(router, List.of()).size()));
+    }
+
+    @Test
+    void rotatesSessionAcrossShardsTest() {
+        String oldUuid = UUID.randomUUID().toString();
+        String newUuid = UUID.randomUUID().toString();
+        while (sessionShards.forKey(newUuid) == sessionShards.forKey(oldUuid)) {
+            newUuid = UUID.randomUUID().toString();
+        }
+        redisService.saveUser(oldUuid, SESSION);
+
+        assertThat(redisService.rotateUser(oldUuid, newUuid)).isEqualTo(SESSION);
+
+        RedisTemplate<String, Object> newShard = templates.get(sessionShards.forKey(newUuid));
+        assertThat(templates.get(sessionShards.forKey(oldUuid)).hasKey(oldUuid)).isFalse();
+        assertThat(newShard.getExpire(newUuid)).isPositive();
+        assertThat(redisService.getUser(newUuid)).isEqualTo(SESSION);
+        // 기존 refresh token 은 한 번만 쓸 수 있음
+        assertThat(redisService.rotateUser(oldUuid, UUID.randomUUID().toString())).isNull();
+    }
+
+    @Test
+    void keepsDormantTokenWithItsOutboxTest() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tokens.add(redisService.createDormantToken("testUser"));
+        }
+
+        Map<SessionReadRouter, Long> expected = new HashMap<>();
+        tokens.forEach(token -> expected.merge(sessionShards.forKey(token), 1L, Long::sum));
+        templates.forEach((router, template) -> assertThat(outboxSize(template))
+                .isEqualTo(expected.getOrDefault(router, 0L)));
+
+        String token = tokens.get(0);
+        Object code = templates.get(sessionShards.forKey(token)).opsForHash()
+                .get(token, RedisServiceImpl.DORMANT_CODE_KEY);
+        assertThat(redisService.isDormantToken(token)).isTrue();
+        assertThat(redisService.checkDormantToken(token, code.toString())).isEqualTo("testUser");
+        assertThat(redisService.isDormantToken(token)).isFalse();
+    }
+
+    @Test
+    void preloadsScriptsOnEveryShardTest() {
+        RedisScriptConfig scriptConfig = new RedisScriptConfig();
+        List<RedisScript<?>> scripts = List.of(scriptConfig.saveSessionScript(), scriptConfig.rotateSessionScript());
+        templates.values().forEach(template -> template.execute((RedisCallback<Void>) connection -> {
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        }));
+
+        new RedisScriptLoader(connectionFactories.get(0), scripts, sessionShards)
+                .run(new DefaultApplicationArguments());
+
+        String[] shas = scripts.stream().map(RedisScript::getSha1).toArray(String[]::new);
+        templates.values().forEach(template -> assertThat(template.execute((RedisCallback<List<Boolean>>)
+                connection -> connection.scriptingCommands().scriptExists(shas))).containsOnly(true));
+    }
+
+    private static List<String> userIds(int count) {
+        List<String> userIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            userIds.add(UUID.randomUUID().toString());
+        }
+        return userIds;
+    }
+
+    private static long dbSize(RedisTemplate<String, Object> template) {
+        return template.execute((RedisCallback<Long>) connection -> connection.serverCommands().dbSize());
+    }
+
+    private static long outboxSize(RedisTemplate<String, Object> template) {
+        return template.execute((RedisCallback<Long>) connection -> connection.streamCommands()
+                .xLen(DoorayDispatcher.STREAM.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 해당 Redis 가 받은 HGETALL 횟수
+     */
+    private static long hGetAllCalls(RedisTemplate<String, Object> template) {
+        Properties stats = template.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+        String value = stats.getProperty("cmdstat_hgetall");
+        if (value == null) {
+            return 0;
+        }
+        return Arrays.stream(value.split(","))
+                .filter(entry -> entry.startsWith("calls="))
+                .mapToLong(entry -> Long.parseLong(entry.substring("calls=".length())))
+                .findFirst()
+                .orElse(0);
+    }
+}
@@ -2,18 +2,35 @@ package store.buzzbook.authserver.service.impl;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
-
-import org.springframework.http.ResponseEntity;
-import store.buzzbook.authserver.client.DoorayClient;
-import store.buzzbook.authserver.dto.DoorayMessagePayload;
-
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import store.buzzbook.authserver.cache.SessionInvalidationPublisher;
+import store.buzzbook.authserver.cache.VerifiedTokenCache;
+import store.buzzbook.authserver.client.DeliveryStatus;
+import store.buzzbook.authserver.client.DoorayDispatcher;
+import store.buzzbook.authserver.dto.SessionRecord;
+import store.buzzbook.authserver.exception.DoorayException;
+import store.buzzbook.authserver.redis.SessionCodec;
+import store.buzzbook.authserver.redis.SessionReadRouter;
+import store.buzzbook.authserver.redis.SessionShards;
+import store.buzzbook.authserver.service.RedisService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -27,7 +44,13 @@ class RedisServiceImplTest {
     private RedisTemplate<String, Object> redisTemplate;
 
     @Mock
-    private DoorayClient doorayClient;
+    private DoorayDispatcher doorayDispatcher;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private SessionInvalidationPublisher sessionInvalidationPublisher;
 
     @Mock
     private HashOperations<String, Object, Object> hashOperations;
@@ -35,7 +58,20 @@ class RedisServiceImplTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
-    @InjectMocks
+    @Mock
+    private RedisScript<Long> saveSessionScript;
+
+    @Mock
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> rotateSessionScript;
+
+    @Mock
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> takeSessionScript;
+
+    @Mock
+    private RedisScript<byte[]> checkDormantTokenScript;
+
     private RedisServiceImpl redisService;
 
     @BeforeEach
@@ -43,46 +79,99 @@ class RedisServiceImplTest {
         MockitoAnnotations.openMocks(this);
         when(redisTemplate.opsForHash()).thenReturn(hashOperations);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        redisService.init(); // @PostConstruct 메서드 수동 호출
+        doReturn(new StringRedisSerializer()).when(redisTemplate).getHashKeySerializer();
+        doReturn(new GenericJackson2JsonRedisSerializer()).when(redisTemplate).getHashValueSerializer();
+        redisService = new RedisServiceImpl(redisTemplate, doorayDispatcher, verifiedTokenCache,
+                sessionInvalidationPublisher, saveSessionScript, rotateSessionScript, takeSessionScript,
+                checkDormantTokenScript, new SessionCodec(true),
+                SessionShards.single(SessionReadRouter.primaryOnly(redisTemplate, new SimpleMeterRegistry())),
+                Duration.ofDays(7), new SimpleMeterRegistry());
     }
 
     @Test
     void testSaveUser() {
-        Map<String, Object> data = new HashMap<>();
+        SessionRecord session = new SessionRecord("12345", "USER", 123L);
         UUID uuid = UUID.randomUUID();
-        data.put("userId", 123);
-        data.put("loginId", "12345");
-        data.put("role", "USER");
 
-        redisService.saveUser(uuid.toString(), data);
-        verify(hashOperations).putAll(uuid.toString(), data);
-        verify(redisTemplate).expire(uuid.toString(), 7, TimeUnit.DAYS);
+        redisService.saveUser(uuid.toString(), session);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(eq(saveSessionScript), any(), isNull(), eq(List.of(uuid.toString())),
+                args.capture());
+        assertEquals(1 + 3 * 2, args.getValue().length);
+        assertArrayEquals(String.valueOf(Duration.ofDays(7).toMillis()).getBytes(StandardCharsets.UTF_8),
+                (byte[]) args.getValue()[0]);
+        verify(hashOperations, never()).putAll(anyString(), anyMap());
+        verify(redisTemplate, never()).expire(anyString(), anyLong(), any(TimeUnit.class));
     }
 
     @Test
     void testGetUser() {
-        Map<Object, Object> data = new HashMap<>();
-        data.put("key", "value");
-        when(hashOperations.entries("userId")).thenReturn(data);
-        Map<String, Object> result = redisService.getUser("userId");
-        assertEquals(data, result);
+        Map<byte[], byte[]> hash = new HashMap<>();
+        hash.put("loginId".getBytes(StandardCharsets.UTF_8), "\u0001testUser".getBytes(StandardCharsets.UTF_8));
+        hash.put("userId".getBytes(StandardCharsets.UTF_8), "\u0001123".getBytes(StandardCharsets.UTF_8));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(hash);
+
+        SessionRecord result = redisService.getUser("userId");
+
+        assertEquals(new SessionRecord("testUser", null, 123L), result);
+        verify(hashOperations, never()).entries(anyString());
     }
 
     @Test
     void testRemoveUser() {
         redisService.removeUser("userId");
         verify(redisTemplate).delete("userId");
+        verify(verifiedTokenCache).evictSession("userId");
+        verify(sessionInvalidationPublisher).publish("userId");
+    }
+
+    @Test
+    void testRemoveUserDoesNotPublishWhenDeleteFails() {
+        when(redisTemplate.delete("userId")).thenThrow(new IllegalStateException("connection refused"));
+
+        redisService.removeUser("userId");
+
+        verify(verifiedTokenCache, never()).evictSession(anyString());
+        verify(sessionInvalidationPublisher, never()).publish(anyString());
     }
 
     @Test
     void testCreateDormantToken() {
         String loginId = "12345";
 
-        when(doorayClient.sendMessage(any(DoorayMessagePayload.class))).thenReturn(ResponseEntity.ok("Success"));
+        when(doorayDispatcher.dispatch(anyString(), anyMap(), anyLong())).thenReturn(true);
 
         String hashKey = redisService.createDormantToken(loginId);
 
         assertNotNull(hashKey);
+        verify(doorayDispatcher).dispatch(eq(hashKey), argThat(fields -> loginId.equals(fields.get("loginId"))
+                && "QUEUED".equals(fields.get("delivery"))), eq(RedisService.DEFAULT_EXPIRATION));
+    }
+
+    @Test
+    void testCreateDormantTokenRejected() {
+        when(doorayDispatcher.dispatch(anyString(), anyMap(), anyLong())).thenReturn(false);
+
+        assertThrows(DoorayException.class, () -> redisService.createDormantToken("12345"));
+    }
+
+    @Test
+    void testGetDormantDeliveryStatus() {
+        when(hashOperations.get("token", "delivery")).thenReturn("SENT");
+
+        assertEquals(DeliveryStatus.SENT, redisService.getDormantDeliveryStatus("token"));
+        assertNull(redisService.getDormantDeliveryStatus("missing"));
+    }
+
+    @Test
+    void testIsDormantToken() {
+        when(hashOperations.multiGet("token", List.of("code", "loginId"))).thenReturn(List.of("123456", "12345"));
+        when(hashOperations.multiGet("missing", List.of("code", "loginId"))).thenReturn(Arrays.asList(null, null));
+
+        assertTrue(redisService.isDormantToken("token"));
+        assertFalse(redisService.isDormantToken("missing"));
+        verify(hashOperations, never()).hasKey(anyString(), any());
     }
 
 }
@@ -0,0 +1,78 @@
+package store.buzzbook.authserver.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import redis.embedded.RedisServer;
+
+/**
+ * 테스트용으로 빈 포트에 띄우는 로컬 Redis 입니다.
+ */
+public class EmbeddedRedis implements AutoCloseable {
+    private final RedisServer server;
+    private final int port;
+
+    private EmbeddedRedis(int port, RedisServer server) throws IOException {
+        this.port = port;
+        this.server = server;
+        this.server.start();
+    }
+
+    public static EmbeddedRedis start() {
+        try {
+            int port = freePort();
+            return new EmbeddedRedis(port, new RedisServer(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * primary 를 복제하는 읽기 전용 복제본
+     */
+    public static EmbeddedRedis replicaOf(EmbeddedRedis primary) {
+        try {
+            int port = freePort();
+            return new EmbeddedRedis(port, RedisServer.newRedisServer()
+                    .port(port)
+                    .slaveOf("127.0.0.1", primary.getPort())
+                    .build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * 이 Redis 에 연결된, 초기화가 끝난 커넥션 팩토리
+     */
+    public LettuceConnectionFactory connectionFactory() {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("127.0.0.1", port));
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.stop();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}